@@ -0,0 +1,59 @@
+#!/bin/sh
+# AppCDS 학습 실행.
+# mock 프로필로 앱을 AOT 모드로 띄워 탐색 요청을 받아 본 뒤 정상 종료하고, 그동안 읽힌 클래스를 아카이브로 남긴다.
+# 아카이브는 만들 때와 같은 JDK, 같은 jar 경로로 실행해야 쓰이므로 실행할 이미지(환경) 안에서 돌린다.
+#
+# 사용법: scripts/cds-training.sh /app/app.jar /app/app.jsa [추가 JVM 옵션...]
+set -eu
+
+JAR=$(realpath "$1")
+ARCHIVE=$(realpath -m "$2")
+shift 2
+
+PORT=${TRAINING_PORT:-18180}
+MOCK_PORT=${TRAINING_MOCK_PORT:-18199}
+BASE="http://127.0.0.1:$PORT/api/explore"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# 학습 중 만들어지는 응답 파일/세그먼트는 임시 디렉터리에 버린다
+cd "$WORK"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true "$@" -jar "$JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active=mock \
+    --krx.mock.port="$MOCK_PORT" \
+    --krx.prefetch.enabled=false \
+    --krx.transport.warmup-connections=0 > training.log 2>&1 &
+PID=$!
+
+i=0
+until curl -sf -o /dev/null "$BASE/health"; do
+    i=$((i + 1))
+    if [ "$i" -gt 240 ] || ! kill -0 "$PID" 2>/dev/null; then
+        echo "Training run did not come up:" >&2
+        tail -50 training.log >&2
+        kill "$PID" 2>/dev/null || true
+        exit 1
+    fi
+    sleep 0.5
+done
+
+# 기동 직후 첫 요청들이 지나가는 경로(전체 탐색, 개별/원문/스트림, 통계)를 한 번씩 밟는다
+curl -sf -o /dev/null "$BASE/all"
+curl -sf -o /dev/null "$BASE/single/stk_bydd_trd"
+curl -sf -o /dev/null "$BASE/single/stk_bydd_trd/raw"
+curl -sf -o /dev/null "$BASE/single/stk_bydd_trd/raw?passthrough=true"
+curl -sf -o /dev/null "$BASE/single/stk_bydd_trd/records"
+curl -sf -o /dev/null "$BASE/throttle"
+curl -sf -o /dev/null "http://127.0.0.1:$PORT/actuator/prometheus"
+
+# 정상 종료해야 아카이브가 기록된다
+kill -TERM "$PID"
+wait "$PID" || true
+
+if [ ! -s "$ARCHIVE" ]; then
+    echo "CDS archive was not written: $ARCHIVE" >&2
+    tail -50 training.log >&2
+    exit 1
+fi
+echo "CDS archive written: $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"
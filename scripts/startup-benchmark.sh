@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# 기동 시간 비교: 프로세스 시작부터 첫 요청(/api/explore/health)이 200 으로 응답되기까지의 시간을 모드별로 잰다.
+# mock 프로필로 띄우므로 KRX 인증키나 네트워크가 필요 없다.
+#
+# 준비: ./gradlew bootJar fastStart -Paot
+#       scripts/cds-training.sh build/fast-start/app.jar build/fast-start/app.jsa
+# 사용법: scripts/startup-benchmark.sh [반복 횟수]
+set -euo pipefail
+
+RUNS=${1:-5}
+FAT_JAR=${FAT_JAR:-build/libs/krx-api-explorer-1.0.0.jar}
+FAST_DIR=${FAST_DIR:-build/fast-start}
+PORT=${BENCH_PORT:-18180}
+MOCK_PORT=${BENCH_MOCK_PORT:-18199}
+URL="http://127.0.0.1:$PORT/api/explore/health"
+APP_ARGS=(--server.port="$PORT" --spring.profiles.active=mock --krx.mock.port="$MOCK_PORT"
+          --krx.prefetch.enabled=false --krx.transport.warmup-connections=0)
+
+measure() {
+    local label=$1
+    shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        local work start end pid
+        work=$(mktemp -d)
+        start=$(date +%s%N)
+        (cd "$work" && exec java "$@" "${APP_ARGS[@]}" > app.log 2>&1) &
+        pid=$!
+        until curl -sf -o /dev/null "$URL"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: process exited before serving, log kept in $work/app.log" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        end=$(date +%s%N)
+        samples+=($(( (end - start) / 1000000 )))
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        rm -rf "$work"
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+    printf '%-16s median %6d ms   min %6d ms   max %6d ms   (%s)\n' \
+        "$label" "${sorted[$((RUNS / 2))]}" "${sorted[0]}" "${sorted[$((RUNS - 1))]}" "${samples[*]}"
+}
+
+if [ -f "$FAT_JAR" ]; then
+    measure "bootJar" -jar "$(realpath "$FAT_JAR")"
+fi
+if [ -f "$FAST_DIR/app.jar" ]; then
+    app=$(realpath "$FAST_DIR/app.jar")
+    measure "thin" -jar "$app"
+    measure "thin+AOT" -Dspring.aot.enabled=true -jar "$app"
+    if [ -f "$FAST_DIR/app.jsa" ]; then
+        measure "thin+AOT+CDS" -XX:SharedArchiveFile="$(realpath "$FAST_DIR/app.jsa")" -Dspring.aot.enabled=true -jar "$app"
+    fi
+fi
@@ -0,0 +1,41 @@
+package com.trading.explorer.benchmark;
+
+import com.trading.explorer.client.dto.ApiRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호출마다 실행되는 요청 파라미터 조립 비용.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ApiRequestBenchmark {
+    
+    @Param({"1", "4"})
+    private int additionalParams;
+    
+    private ApiRequest request;
+    
+    @Setup
+    public void setUp() {
+        Map<String, String> params = new HashMap<>();
+        params.put("bizdate", "20240115");
+        for (int i = 1; i < additionalParams; i++) {
+            params.put("param" + i, "value" + i);
+        }
+        request = ApiRequest.builder()
+                .apiId("stk_bydd_trd")
+                .format("json")
+                .additionalParams(params)
+                .build();
+    }
+    
+    @Benchmark
+    public Map<String, String> toParameterMap() {
+        return request.toParameterMap();
+    }
+}
@@ -0,0 +1,45 @@
+package com.trading.explorer.benchmark;
+
+import com.trading.explorer.mock.KrxFixtures;
+import com.trading.explorer.util.JsonFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonFormatter 단독 비용. prettyPrint/analyzeStructure 는 String 입력이라 매번 파싱을 포함하므로
+ * parse 와의 차이가 직렬화/구조 분석(analyzeFields, calculateDepth) 자체의 비용이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonFormatterBenchmark {
+    
+    @Param({"INDEX", "STOCK", "ELW"})
+    private KrxFixtures fixture;
+    
+    private JsonFormatter jsonFormatter;
+    private String body;
+    
+    @Setup
+    public void setUp() {
+        jsonFormatter = new JsonFormatter();
+        body = fixture.body();
+    }
+    
+    @Benchmark
+    public Object parse() {
+        return jsonFormatter.parse(body);
+    }
+    
+    @Benchmark
+    public String prettyPrint() {
+        return jsonFormatter.prettyPrint(body);
+    }
+    
+    @Benchmark
+    public Map<String, Object> analyzeStructure() {
+        return jsonFormatter.analyzeStructure(body);
+    }
+}
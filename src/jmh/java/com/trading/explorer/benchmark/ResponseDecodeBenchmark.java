@@ -0,0 +1,67 @@
+package com.trading.explorer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.explorer.client.KrxRecordStreamDecoder;
+import com.trading.explorer.mock.KrxFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KrxApiClient 의 두 수신 경로 비교.
+ * string: 본문 전체를 String 으로 받은 뒤 트리로 파싱 (callApi),
+ * streaming: 네트워크 청크 단위로 OutBlock_1 행을 하나씩 디코딩 (streamRecords).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseDecodeBenchmark {
+    
+    private static final int CHUNK_SIZE = 8 * 1024;
+    
+    @Param({"INDEX", "STOCK", "ELW"})
+    private KrxFixtures fixture;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final KrxRecordStreamDecoder decoder = new KrxRecordStreamDecoder();
+    private byte[] body;
+    private List<byte[]> chunks;
+    
+    @Setup
+    public void setUp() {
+        body = fixture.body().getBytes(StandardCharsets.UTF_8);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + CHUNK_SIZE)));
+        }
+        
+        // 두 경로가 같은 행 수를 내야 비교가 의미 있다
+        if (string() != streaming()) {
+            throw new IllegalStateException("String and streaming decode returned different row counts");
+        }
+    }
+    
+    @Benchmark
+    public int string() {
+        try {
+            JsonNode root = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+            return root.path("OutBlock_1").size();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    @Benchmark
+    public int streaming() {
+        Flux<DataBuffer> buffers = Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+        return decoder.decode(buffers).count().block().intValue();
+    }
+}
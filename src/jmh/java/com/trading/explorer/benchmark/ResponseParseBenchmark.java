@@ -0,0 +1,65 @@
+package com.trading.explorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.mock.KrxFixtures;
+import com.trading.explorer.util.JsonFormatter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성공 응답 한 건을 처리하는 비용 비교.
+ * legacy: 구조 분석 2회 + pretty-print 2회 (요청마다 4번 파싱), parseOnce: ParsedResponse 재사용.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseParseBenchmark {
+    
+    @Param({"50", "1000", "10000"})
+    private int rows;
+    
+    private JsonFormatter jsonFormatter;
+    private ObjectMapper legacyMapper;
+    private String body;
+    
+    @Setup
+    public void setUp() throws Exception {
+        jsonFormatter = new JsonFormatter();
+        legacyMapper = new ObjectMapper();
+        legacyMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        body = KrxFixtures.STOCK.body(rows);
+        
+        // 재사용 경로의 출력이 기존 경로와 바이트 단위로 같아야 한다
+        ApiResponse response = ApiResponse.success("stk_bydd_trd", body, 0);
+        if (!legacyPrettyPrint(body).equals(jsonFormatter.prettyPrint(response))) {
+            throw new IllegalStateException("Pretty-printed payload differs from legacy output");
+        }
+    }
+    
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws Exception {
+        // createApiResult -> saveToFile -> controller 순서로 매번 다시 파싱하던 기존 흐름
+        blackhole.consume(jsonFormatter.analyzeStructure(body));
+        blackhole.consume(legacyPrettyPrint(body));
+        blackhole.consume(legacyPrettyPrint(body));
+        blackhole.consume(jsonFormatter.analyzeStructure(body));
+    }
+    
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        ApiResponse response = ApiResponse.success("stk_bydd_trd", body, 0);
+        blackhole.consume(jsonFormatter.analyzeStructure(response));
+        blackhole.consume(jsonFormatter.prettyPrint(response));
+        blackhole.consume(jsonFormatter.prettyPrint(response));
+        blackhole.consume(jsonFormatter.analyzeStructure(response));
+    }
+    
+    private String legacyPrettyPrint(String json) throws Exception {
+        Object jsonObject = legacyMapper.readValue(json, Object.class);
+        return legacyMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonObject);
+    }
+}
@@ -0,0 +1,60 @@
+package com.trading.explorer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.explorer.mock.KrxFixtures;
+import com.trading.explorer.record.KrxRecordDecoder;
+import com.trading.explorer.record.KrxRecordDecoders;
+import com.trading.explorer.util.KrxNumbers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 하루치 응답을 두 방식으로 읽는다.
+ * tree: JsonNode 트리로 읽고 거래대금 하나만 asText() 후 파싱 (기존 소비자들의 방식),
+ * typed: 모든 필드를 타입 레코드로 디코딩 (토큰 버퍼에서 바로 long).
+ * -prof gc 로 행당 할당량을 비교한다. 행/초는 (행 수 / 평균 시간) 으로 환산.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TypedDecodeBenchmark {
+    
+    @Param({"kospi_dd_trd", "ksq_bydd_trd", "elw_bydd_trd", "ksq_isu_base_info", "bnd_bydd_trd"})
+    private String apiId;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private KrxRecordDecoder<?> decoder;
+    private byte[] body;
+    
+    @Setup
+    public void setUp() {
+        KrxFixtures.Fixture fixture = KrxFixtures.forApi(apiId);
+        body = fixture.shape().body(fixture.rows()).getBytes(StandardCharsets.UTF_8);
+        decoder = KrxRecordDecoders.newDecoder(apiId);
+        
+        if (decoder.decodeAll(body).size() != fixture.rows()) {
+            throw new IllegalStateException("Typed decoder returned unexpected row count for " + apiId);
+        }
+    }
+    
+    @Benchmark
+    public long tree() throws Exception {
+        long total = 0;
+        for (JsonNode row : objectMapper.readTree(body).path("OutBlock_1")) {
+            long value = KrxNumbers.parseScaled(row.path("ACC_TRDVAL").asText(), 0);
+            if (value != KrxNumbers.NULL) {
+                total += value;
+            }
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public int typed(Blackhole blackhole) {
+        return decoder.decode(body, blackhole::consume);
+    }
+}
@@ -0,0 +1,360 @@
+package com.trading.explorer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 중인 KRX API Explorer 에 목표 RPS 로 요청을 보내는 open-loop 부하 발생기.
+ * 요청은 예정 시각에 맞춰 나가며(응답을 기다리지 않음), 지연은 예정 시각부터 측정해 coordinated omission 을 피한다.
+ * 서비스 쪽 힙/GC 는 actuator 지표로 수집한다.
+ *
+ * <pre>
+ * ./gradlew loadTest --args='--target=http://localhost:8080 --rps=100 --duration=60s --mix=all:1,category:4,single:15'
+ * </pre>
+ * 옵션: target, rps, duration, warmup, drain-timeout, max-in-flight, dates(single 요청에 쓸 최근 영업일 수), mix
+ */
+public class LoadDriver {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final String target;
+    private final double rps;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration drainTimeout;
+    private final int maxInFlight;
+    private final int dates;
+    private final Map<String, Integer> mix;
+    
+    private final HttpClient client;
+    private final List<String> categories = new ArrayList<>();
+    private final List<String> apiIds = new ArrayList<>();
+    private final List<String> bizDates = new ArrayList<>();
+    
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile boolean recording;
+    
+    LoadDriver(Map<String, String> options) {
+        this.target = options.getOrDefault("target", "http://localhost:8080");
+        this.rps = Double.parseDouble(options.getOrDefault("rps", "50"));
+        this.duration = parseDuration(options.getOrDefault("duration", "30s"));
+        this.warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+        this.drainTimeout = parseDuration(options.getOrDefault("drain-timeout", "10s"));
+        this.maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        this.dates = Integer.parseInt(options.getOrDefault("dates", "20"));
+        this.mix = parseMix(options.getOrDefault("mix", "all:1,category:4,single:15"));
+        this.client = HttpClient.create(ConnectionProvider.builder("load-driver")
+                        .maxConnections(maxInFlight)
+                        .pendingAcquireMaxCount(-1)
+                        .build())
+                .baseUrl(target)
+                .responseTimeout(Duration.ofSeconds(60));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadDriver(options).run();
+    }
+    
+    void run() throws Exception {
+        discoverTargets();
+        System.out.printf("Target %s, %.1f rps for %s (warm-up %s), mix=%s, bizdates=%d%n",
+                target, rps, duration, warmup, mix, bizDates.size());
+        
+        if (!warmup.isZero()) {
+            drive(warmup);
+        }
+        recorders.clear();
+        shed.set(0);
+        
+        Map<String, Double> gcBefore = serviceMetrics();
+        HeapSampler heapSampler = new HeapSampler();
+        Disposable sampling = Flux.interval(Duration.ZERO, Duration.ofSeconds(1))
+                .flatMap(tick -> heapSampler.sample(), 1)
+                .subscribe();
+        
+        recording = true;
+        long start = System.nanoTime();
+        drive(duration);
+        long elapsed = System.nanoTime() - start;
+        recording = false;
+        sampling.dispose();
+        
+        report(elapsed, gcBefore, serviceMetrics(), heapSampler);
+    }
+    
+    /** 지정 시간 동안 예정 시각에 맞춰 요청을 보내고, 마지막 응답까지 기다린다. */
+    private void drive(Duration period) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + period.toNanos();
+        double intervalNanos = 1_000_000_000.0 / rps;
+        long sent = 0;
+        
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= end) {
+                break;
+            }
+            long due = (long) ((now - start) / intervalNanos);
+            for (; sent <= due; sent++) {
+                fire(start + (long) (sent * intervalNanos));
+            }
+            long next = start + (long) (sent * intervalNanos);
+            long sleepNanos = next - System.nanoTime();
+            if (sleepNanos > 0) {
+                Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+            }
+        }
+        // 포화 상태면 응답이 끝없이 밀리므로 drain 시간을 제한하고 남은 요청은 미완료로 보고한다
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still in flight after %s drain%n", inFlight.get(), drainTimeout);
+        }
+    }
+    
+    private void fire(long scheduledNanos) {
+        String kind = pickKind();
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            shed.incrementAndGet();
+            return;
+        }
+        
+        client.get()
+                .uri(uriFor(kind))
+                .responseSingle((response, body) -> body.asByteArray()
+                        .map(bytes -> new long[]{response.status().code(), bytes.length})
+                        .defaultIfEmpty(new long[]{response.status().code(), 0}))
+                .onErrorResume(ex -> Mono.just(new long[]{-1, 0}))
+                .subscribeOn(Schedulers.parallel())
+                .subscribe(result -> {
+                    inFlight.decrementAndGet();
+                    if (recording) {
+                        recorders.computeIfAbsent(kind, k -> new Recorder())
+                                .record(System.nanoTime() - scheduledNanos, (int) result[0], result[1]);
+                    }
+                });
+    }
+    
+    private String uriFor(String kind) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case "all" -> "/api/explore/all";
+            case "category" -> "/api/explore/category/" + categories.get(random.nextInt(categories.size()));
+            default -> "/api/explore/single/" + apiIds.get(random.nextInt(apiIds.size()))
+                    + (bizDates.isEmpty() ? "" : "?bizDate=" + bizDates.get(random.nextInt(bizDates.size())));
+        };
+    }
+    
+    private String pickKind() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return "single";
+    }
+    
+    private void discoverTargets() throws Exception {
+        JsonNode root = getJson("/api/explore/categories");
+        if (root == null) {
+            throw new IllegalStateException("Cannot reach " + target + "/api/explore/categories");
+        }
+        root.path("apis").fields().forEachRemaining(entry -> {
+            categories.add(entry.getKey());
+            entry.getValue().forEach(api -> apiIds.add(api.path("id").asText()));
+        });
+        
+        // 주말을 뺀 최근 영업일들 (휴장일은 서비스가 빈 응답으로 처리)
+        LocalDate day = LocalDate.now().minusDays(1);
+        while (bizDates.size() < dates) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                bizDates.add(day.format(DATE_FORMAT));
+            }
+            day = day.minusDays(1);
+        }
+    }
+    
+    private Map<String, Double> serviceMetrics() {
+        Map<String, Double> metrics = new HashMap<>();
+        JsonNode gc = getJson("/actuator/metrics/jvm.gc.pause");
+        if (gc != null) {
+            gc.path("measurements").forEach(m -> metrics.put("gc." + m.path("statistic").asText(), m.path("value").asDouble()));
+        }
+        JsonNode allocated = getJson("/actuator/metrics/jvm.gc.memory.allocated");
+        if (allocated != null) {
+            metrics.put("allocated", allocated.path("measurements").path(0).path("value").asDouble());
+        }
+        return metrics;
+    }
+    
+    private JsonNode getJson(String path) {
+        return client.get()
+                .uri(path)
+                .responseSingle((response, body) -> response.status().code() == 200
+                        ? body.asByteArray() : Mono.empty())
+                .map(bytes -> {
+                    try {
+                        return MAPPER.readTree(bytes);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .block(Duration.ofSeconds(10));
+    }
+    
+    private void report(long elapsedNanos, Map<String, Double> before, Map<String, Double> after, HeapSampler heap) {
+        double seconds = elapsedNanos / 1e9;
+        Recorder overall = new Recorder();
+        recorders.values().forEach(overall::merge);
+        
+        System.out.println();
+        System.out.printf("%-10s %8s %8s %9s %9s %9s %9s %9s %9s %10s%n",
+                "endpoint", "count", "errors", "rps", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "MB/s", "statuses");
+        recorders.forEach((kind, recorder) -> recorder.print(kind, seconds));
+        overall.print("total", seconds);
+        System.out.printf("target %.1f rps, shed (max-in-flight %d): %d, incomplete: %d%n",
+                rps, maxInFlight, shed.get(), inFlight.get());
+        
+        double gcCount = after.getOrDefault("gc.COUNT", 0.0) - before.getOrDefault("gc.COUNT", 0.0);
+        double gcTime = after.getOrDefault("gc.TOTAL_TIME", 0.0) - before.getOrDefault("gc.TOTAL_TIME", 0.0);
+        double allocated = after.getOrDefault("allocated", 0.0) - before.getOrDefault("allocated", 0.0);
+        System.out.printf("service GC: %.0f pauses, %.1f ms total (%.2f%% of wall), max pause %.1f ms%n",
+                gcCount, gcTime * 1000, gcTime / seconds * 100, after.getOrDefault("gc.MAX", 0.0) * 1000);
+        System.out.printf("service allocation: %.1f MB/s, per request %.1f KB%n",
+                allocated / seconds / 1e6, overall.count > 0 ? allocated / overall.count / 1e3 : 0.0);
+        System.out.printf("service heap used: min %.0f MB, max %.0f MB, last %.0f MB%n",
+                heap.min / 1e6, heap.max / 1e6, heap.last / 1e6);
+    }
+    
+    private final class HeapSampler {
+        
+        private volatile double min = Double.MAX_VALUE;
+        private volatile double max;
+        private volatile double last;
+        
+        Mono<Void> sample() {
+            return Mono.fromCallable(() -> getJson("/actuator/metrics/jvm.memory.used?tag=area:heap"))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(node -> {
+                        double used = node.path("measurements").path(0).path("value").asDouble();
+                        last = used;
+                        min = Math.min(min, used);
+                        max = Math.max(max, used);
+                    })
+                    .then();
+        }
+    }
+    
+    /** 지연 샘플을 모아 두었다가 정렬해 백분위를 구한다. */
+    private static final class Recorder {
+        
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private long bytes;
+        private final Map<Integer, Integer> statuses = new HashMap<>();
+        
+        synchronized void record(long latencyNanos, int status, long size) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            bytes += size;
+            statuses.merge(status, 1, Integer::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+        
+        synchronized void merge(Recorder other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = other.latencies[i];
+                }
+                errors += other.errors;
+                bytes += other.bytes;
+                other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+            }
+        }
+        
+        synchronized void print(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.2f %10s%n",
+                    name, count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0,
+                    bytes / seconds / 1e6, statuses);
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+    
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+    
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            mix.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,257 @@
+package com.trading.explorer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 구독 부하 발생기. SSE/WebSocket 구독을 여러 개 열어 둔 채 서로 다른 영업일을 조회해 수집 이벤트를 만들고,
+ * 이벤트가 발행된 시각(publishedAt)부터 각 구독자가 받기까지의 지연과 서비스의 직렬화/유실 수를 출력한다.
+ * slow 개수만큼은 요청만 보내고 읽지 않는 소켓을 열어 느린 구독자를 흉내 낸다.
+ *
+ * <pre>
+ * ./gradlew subscriptionLoadTest --args='--target=http://localhost:8080 --subscribers=2000 --events=20 --transport=sse'
+ * </pre>
+ * 옵션: target, subscribers, slow, events, interval, transport(sse|ws), payload(summary|full), api,
+ * days-back(며칠 전 영업일부터 조회할지 - 같은 인스턴스에 다시 돌릴 때 이미 수집된 날을 피한다)
+ */
+public class SubscriptionLoadDriver {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern PUBLISHED_AT = Pattern.compile("\"publishedAt\":(\\d+)");
+    
+    private final String target;
+    private final int subscribers;
+    private final int slow;
+    private final int events;
+    private final Duration interval;
+    private final String transport;
+    private final String payload;
+    private final String apiId;
+    private final int daysBack;
+    
+    private final HttpClient client;
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount;
+    
+    SubscriptionLoadDriver(Map<String, String> options) {
+        this.target = options.getOrDefault("target", "http://localhost:8080");
+        this.subscribers = Integer.parseInt(options.getOrDefault("subscribers", "1000"));
+        this.slow = Integer.parseInt(options.getOrDefault("slow", "0"));
+        this.events = Integer.parseInt(options.getOrDefault("events", "10"));
+        this.interval = parseDuration(options.getOrDefault("interval", "1s"));
+        this.transport = options.getOrDefault("transport", "sse");
+        this.payload = options.getOrDefault("payload", "summary");
+        this.apiId = options.getOrDefault("api", "stk_bydd_trd");
+        this.daysBack = Integer.parseInt(options.getOrDefault("days-back", "1"));
+        this.client = HttpClient.create(ConnectionProvider.builder("subscription-driver")
+                        .maxConnections(subscribers + 16)
+                        .pendingAcquireMaxCount(-1)
+                        .build())
+                .runOn(LoopResources.create("subscription-driver", 2, true))
+                .baseUrl(target);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new SubscriptionLoadDriver(options).run();
+    }
+    
+    void run() throws Exception {
+        String query = "?apis=" + apiId + "&payload=" + payload;
+        List<Disposable> connections = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            connections.add(transport.equals("ws") ? openWebSocket(query) : openSse(query));
+        }
+        List<Socket> slowSockets = new ArrayList<>();
+        for (int i = 0; i < slow; i++) {
+            slowSockets.add(openSlowSse(query));
+        }
+        
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (connected.get() < subscribers && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        System.out.printf("Target %s, %d %s subscribers connected (+%d not reading), payload=%s, %d events on %s every %s%n",
+                target, connected.get(), transport, slow, payload, events, apiId, interval);
+        JsonNode before = getJson("/api/subscriptions");
+        
+        // 서로 다른 영업일을 조회하면 각각 새 수집 이벤트가 된다
+        LocalDate day = LocalDate.now().minusDays(daysBack);
+        long start = System.nanoTime();
+        for (int sent = 0; sent < events; day = day.minusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            getJson("/api/explore/single/" + apiId + "?bizDate=" + day.format(DATE_FORMAT));
+            sent++;
+            Thread.sleep(interval.toMillis());
+        }
+        // 이미 같은 내용으로 수집된 영업일은 알림이 나가지 않으므로 기대 수신 수는 서비스가 발행한 수로 센다
+        JsonNode after = getJson("/api/subscriptions");
+        long expected = (long) connected.get() * (after != null && before != null ? delta(before, after, "published") : events);
+        deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (received.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        after = getJson("/api/subscriptions");
+        
+        report(expected, seconds, before, after);
+        connections.forEach(Disposable::dispose);
+        for (Socket socket : slowSockets) {
+            socket.close();
+        }
+        System.exit(0);
+    }
+    
+    private Disposable openSse(String query) {
+        StringBuilder pending = new StringBuilder();
+        return client.get()
+                .uri("/api/subscriptions/stream" + query)
+                .response((response, body) -> {
+                    connected.incrementAndGet();
+                    return body.asString(StandardCharsets.UTF_8);
+                })
+                .subscribe(chunk -> {
+                    // 청크 경계와 이벤트 경계가 다를 수 있다
+                    pending.append(chunk);
+                    int end;
+                    while ((end = pending.indexOf("\n\n")) >= 0) {
+                        String frame = pending.substring(0, end);
+                        pending.delete(0, end + 2);
+                        if (frame.contains("event: collected")) {
+                            onEvent(frame);
+                        }
+                    }
+                }, error -> System.out.println("SSE subscription failed: " + error.getMessage()));
+    }
+    
+    private Disposable openWebSocket(String query) {
+        return client.websocket()
+                .uri(target.replaceFirst("^http", "ws") + "/ws/subscriptions" + query)
+                .handle((inbound, outbound) -> {
+                    connected.incrementAndGet();
+                    return inbound.receive().asString(StandardCharsets.UTF_8).doOnNext(this::onEvent);
+                })
+                .subscribe(message -> { }, error -> System.out.println("WebSocket subscription failed: " + error.getMessage()));
+    }
+    
+    /** 요청만 보내고 읽지 않는다 - 서비스 쪽 송신 버퍼와 구독자 버퍼가 차면 이벤트가 버려져야 한다 */
+    private Socket openSlowSse(String query) throws Exception {
+        URI uri = URI.create(target);
+        Socket socket = new Socket();
+        // 연결 전에 줄여야 수신 창이 커지지 않는다
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/subscriptions/stream" + query + " HTTP/1.1\r\nHost: " + uri.getHost()
+                + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+    
+    private void onEvent(String frame) {
+        long now = System.currentTimeMillis();
+        received.incrementAndGet();
+        receivedBytes.addAndGet(frame.length());
+        Matcher matcher = PUBLISHED_AT.matcher(frame);
+        if (matcher.find()) {
+            record(now - Long.parseLong(matcher.group(1)));
+        }
+    }
+    
+    private synchronized void record(long latencyMillis) {
+        if (latencyCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+        latencies[latencyCount++] = latencyMillis;
+    }
+    
+    private synchronized void report(long expected, double seconds, JsonNode before, JsonNode after) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        System.out.println();
+        System.out.printf("received %d / %d events (%.1f%%), %.1f MB in %.1fs%n",
+                received.get(), expected, expected > 0 ? received.get() * 100.0 / expected : 0.0,
+                receivedBytes.get() / 1e6, seconds);
+        System.out.printf("publish -> receive latency: p50 %d ms, p99 %d ms, p999 %d ms, max %d ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+        if (before != null && after != null) {
+            System.out.printf("service: published %d, serializations %d, delivered %d, dropped %d, subscribers %d%n",
+                    delta(before, after, "published"), delta(before, after, "serializations"),
+                    delta(before, after, "delivered"), delta(before, after, "dropped"),
+                    after.path("subscribers").asLong());
+        }
+    }
+    
+    private static long delta(JsonNode before, JsonNode after, String field) {
+        return after.path(field).asLong() - before.path(field).asLong();
+    }
+    
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+    
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+    
+    private JsonNode getJson(String path) {
+        return client.get()
+                .uri(path)
+                .responseSingle((response, body) -> response.status().code() == 200
+                        ? body.asByteArray() : Mono.empty())
+                .map(bytes -> {
+                    try {
+                        return MAPPER.readTree(bytes);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .block(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,26 @@
+package com.trading.explorer.archive;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 인덱스 한 건: (apiId, bizdate, 수집 시각) -> 본문 해시와 세그먼트 내 위치.
+ * 같은 해시의 응답은 모두 처음 기록된 위치를 가리킨다.
+ */
+public record ArchiveEntry(String apiId, String bizDate, long fetchedAtMillis, String sha256,
+                           int segment, long offset, int length, int rawLength) {
+    
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("apiId", apiId);
+        result.put("bizDate", bizDate);
+        result.put("fetchedAt", Instant.ofEpochMilli(fetchedAtMillis));
+        result.put("sha256", sha256);
+        result.put("segment", segment);
+        result.put("offset", offset);
+        result.put("compressedBytes", length);
+        result.put("rawBytes", rawLength);
+        return result;
+    }
+}
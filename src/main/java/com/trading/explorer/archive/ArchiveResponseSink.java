@@ -0,0 +1,51 @@
+package com.trading.explorer.archive;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.persistence.ResponseSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ArchiveResponseSink implements ResponseSink {
+    
+    private final ResponseArchive archive;
+    private final boolean fsync;
+    private final KrxApiProperties.Reference reference;
+    
+    public ArchiveResponseSink(ResponseArchive archive, KrxApiProperties properties) {
+        this.archive = archive;
+        this.fsync = properties.getPersistence().isFsync();
+        this.reference = properties.getReference();
+    }
+    
+    @Override
+    public boolean accepts(ApiResponse response) {
+        return archive.isEnabled() && !reference.isDeltaApi(response.getApiId())
+                && ResponseArchive.isArchivable(response.getBizDate());
+    }
+    
+    @Override
+    public void write(List<ApiResponse> batch) throws IOException {
+        for (ApiResponse response : batch) {
+            LocalDateTime fetchedAt = response.getTimestamp() != null ? response.getTimestamp() : LocalDateTime.now();
+            ArchiveEntry entry = archive.store(response.getApiId(), response.getBizDate(),
+                    fetchedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                    response.getRawResponse().getBytes(StandardCharsets.UTF_8));
+            log.debug("Archived {} {}: {} ({} -> {} bytes)", entry.apiId(), entry.bizDate(),
+                    entry.sha256(), entry.rawLength(), entry.length());
+        }
+        
+        // 압축 본문과 인덱스 모두 배치마다 한 번만 내린다
+        if (fsync) {
+            archive.flush();
+        }
+    }
+}
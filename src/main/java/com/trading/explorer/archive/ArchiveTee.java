@@ -0,0 +1,97 @@
+package com.trading.explorer.archive;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 클라이언트로 흘려보내는 응답 버퍼를 복사하지 않고 아카이브에도 넘긴다.
+ * 버퍼마다 참조를 하나 더 잡아 두고 별도 worker 에서 순서대로 해시/압축한 뒤 놓으므로,
+ * 응답 쓰기는 압축을 기다리지 않고 String 변환도 없다.
+ */
+@Slf4j
+@Component
+public class ArchiveTee {
+    
+    private final ResponseArchive archive;
+    private final KrxApiProperties.Reference reference;
+    
+    public ArchiveTee(ResponseArchive archive, KrxApiProperties properties) {
+        this.archive = archive;
+        this.reference = properties.getReference();
+    }
+    
+    public boolean accepts(String apiId) {
+        // ArchiveResponseSink 와 같은 기준 - 기준정보 API 는 delta 스냅숏으로 따로 저장된다
+        return archive.isEnabled() && !reference.isDeltaApi(apiId);
+    }
+    
+    public Flux<DataBuffer> tee(String apiId, String bizDate, Flux<DataBuffer> body) {
+        if (!accepts(apiId)) {
+            return body;
+        }
+        
+        return Flux.defer(() -> {
+            ResponseArchive.Writer writer = archive.newWriter(apiId, bizDate, System.currentTimeMillis());
+            Scheduler.Worker worker = Schedulers.boundedElastic().createWorker();
+            AtomicBoolean failed = new AtomicBoolean();
+            
+            return body
+                    .doOnNext(buffer -> {
+                        DataBufferUtils.retain(buffer);
+                        worker.schedule(() -> {
+                            try {
+                                if (!failed.get()) {
+                                    write(writer, buffer);
+                                }
+                            } catch (Exception e) {
+                                failed.set(true);
+                                log.warn("Archive tee failed for {} {}: {}", apiId, bizDate, e.getMessage());
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        });
+                    })
+                    .doOnComplete(() -> worker.schedule(() -> {
+                        try {
+                            if (!failed.get()) {
+                                ArchiveEntry entry = writer.commit();
+                                log.debug("Archived passthrough {} {}: {} ({} -> {} bytes)", apiId, bizDate,
+                                        entry.sha256(), entry.rawLength(), entry.length());
+                            }
+                        } catch (Exception e) {
+                            log.warn("Archive tee commit failed for {} {}: {}", apiId, bizDate, e.getMessage());
+                        } finally {
+                            worker.dispose();
+                        }
+                    }))
+                    // 끝까지 받지 못한 본문은 보관하지 않는다
+                    .doOnError(error -> abort(worker, writer))
+                    .doOnCancel(() -> abort(worker, writer));
+        });
+    }
+    
+    private static void write(ResponseArchive.Writer writer, DataBuffer buffer) throws Exception {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                writer.write(byteBuffer);
+            }
+        }
+    }
+    
+    private static void abort(Scheduler.Worker worker, ResponseArchive.Writer writer) {
+        worker.schedule(() -> {
+            writer.abort();
+            worker.dispose();
+        });
+    }
+}
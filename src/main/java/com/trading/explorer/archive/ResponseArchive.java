@@ -0,0 +1,496 @@
+package com.trading.explorer.archive;
+
+import com.trading.explorer.config.KrxApiProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 원문을 gzip 으로 압축해 내용 해시(SHA-256) 단위로 한 번만 저장하는 아카이브.
+ * <ul>
+ *   <li>{directory}/segments/{n}.gz - 압축 본문을 이어 붙인 세그먼트 (gzip 멤버의 연결이라 zcat 으로 바로 풀린다)</li>
+ *   <li>{directory}/index.bin - (apiId, bizdate, 수집 시각, 해시, 위치) 고정 형식 레코드를 덧붙이는 인덱스</li>
+ * </ul>
+ * 인덱스는 기동 시 메모리에 올린다. 더 이상 쓰지 않는 세그먼트는 한 번만 mmap 해 두고 읽으며,
+ * 쓰는 중인 세그먼트는 커지므로 매핑하지 않고 채널에서 위치 지정 읽기를 한다. 쓰기는 한 스레드씩만 한다.
+ */
+@Slf4j
+@Component
+public class ResponseArchive {
+    
+    private static final String INDEX_FILE = "index.bin";
+    private static final String SEGMENT_DIR = "segments";
+    private static final String SEGMENT_SUFFIX = ".gz";
+    private static final int HASH_BYTES = 32;
+    private static final Pattern BIZ_DATE = Pattern.compile("\\d{8}");
+    
+    private final KrxApiProperties.Archive config;
+    private final Path baseDir;
+    private final Path segmentDir;
+    
+    /** 해시 -> 본문이 처음 기록된 인덱스 항목 */
+    private final Map<String, ArchiveEntry> blobs = new ConcurrentHashMap<>();
+    /** apiId -> bizdate -> 수집 시각순 항목 */
+    private final Map<String, NavigableMap<String, List<ArchiveEntry>>> entries = new ConcurrentHashMap<>();
+    /** 닫힌 세그먼트 -> 전체 매핑. 닫힌 세그먼트는 크기가 바뀌지 않으므로 한 번만 매핑한다 */
+    private final Map<Integer, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+    
+    private final AtomicLong entryCount = new AtomicLong();
+    private final AtomicLong dedupHits = new AtomicLong();
+    private final AtomicLong logicalBytes = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    
+    private FileChannel indexChannel;
+    private FileChannel activeChannel;
+    private volatile int activeSegment;
+    private long activeSize;
+    
+    public ResponseArchive(KrxApiProperties properties) {
+        this.config = properties.getArchive();
+        this.baseDir = Paths.get(config.getDirectory());
+        this.segmentDir = baseDir.resolve(SEGMENT_DIR);
+        if (config.getSegmentSize().toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("krx.archive.segment-size must be below 2GB (mmap limit)");
+        }
+    }
+    
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(segmentDir);
+        
+        Path indexFile = baseDir.resolve(INDEX_FILE);
+        long validLength = loadIndex(indexFile);
+        indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (indexChannel.size() > validLength) {
+            // 기록 도중 중단된 마지막 레코드는 버린다
+            log.warn("Truncating torn archive index tail: {} -> {} bytes", indexChannel.size(), validLength);
+            indexChannel.truncate(validLength);
+        }
+        indexChannel.position(validLength);
+        
+        activeSegment = blobs.values().stream().mapToInt(ArchiveEntry::segment).max().orElse(0);
+        deleteUnindexedSegments();
+        long indexedEnd = blobs.values().stream()
+                .filter(entry -> entry.segment() == activeSegment)
+                .mapToLong(entry -> entry.offset() + entry.length())
+                .max().orElse(0L);
+        activeChannel = FileChannel.open(segmentPath(activeSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (activeChannel.size() > indexedEnd) {
+            // 인덱스에 오르지 못한 본문은 읽을 방법이 없으므로 잘라 낸다
+            activeChannel.truncate(indexedEnd);
+        }
+        activeSize = indexedEnd;
+        
+        log.info("Response archive opened: {} entries, {} blobs, {} segments, {} -> {} bytes",
+                entryCount.get(), blobs.size(), activeSegment + 1, rawBytes.get(), storedBytes.get());
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+        mappedSegments.clear();
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 본문을 기록한다. 같은 내용이 이미 있으면 본문은 쓰지 않고 인덱스 항목만 추가한다.
+     */
+    public ArchiveEntry store(String apiId, String bizDate, long fetchedAtMillis, byte[] raw) throws IOException {
+        // 이미 있는 내용이면 압축하지 않는다
+        return append(apiId, bizDate, fetchedAtMillis, sha256(raw), raw.length, () -> gzip(raw));
+    }
+    
+    /**
+     * 본문을 조각 단위로 받아 해시와 gzip 을 이어서 계산하는 writer. 원문 전체를 한 번에 들고 있지 않는다.
+     * 한 스레드에서만 쓰고, 끝나면 {@link Writer#commit()} 또는 {@link Writer#abort()} 를 부른다.
+     */
+    public Writer newWriter(String apiId, String bizDate, long fetchedAtMillis) {
+        return new Writer(apiId, bizDate, fetchedAtMillis);
+    }
+    
+    private synchronized ArchiveEntry append(String apiId, String bizDate, long fetchedAtMillis, byte[] hash,
+                                             int rawLength, CompressedBody body) throws IOException {
+        bizDate = bizDate != null ? bizDate : "";
+        // 인덱스에는 int 로 기록하므로 본문을 쓰기 전에 형식을 확인한다
+        if (!isArchivable(bizDate)) {
+            throw new IllegalArgumentException("bizDate must be empty or yyyyMMdd: " + bizDate);
+        }
+        String hex = HexFormat.of().formatHex(hash);
+        
+        // 캐시에서 다시 제출된 같은 응답(같은 수집 시각, 같은 내용)은 인덱스에도 다시 쓰지 않는다
+        Optional<ArchiveEntry> last = latest(apiId, bizDate);
+        if (last.isPresent() && last.get().fetchedAtMillis() == fetchedAtMillis && last.get().sha256().equals(hex)) {
+            return last.get();
+        }
+        
+        ArchiveEntry existing = blobs.get(hex);
+        ArchiveEntry entry;
+        if (existing != null) {
+            entry = new ArchiveEntry(apiId, bizDate, fetchedAtMillis, hex,
+                    existing.segment(), existing.offset(), existing.length(), existing.rawLength());
+            dedupHits.incrementAndGet();
+        } else {
+            byte[] compressed = body.get();
+            if (activeSize > 0 && activeSize + compressed.length > config.getSegmentSize().toBytes()) {
+                rollSegment();
+            }
+            writeFully(activeChannel, ByteBuffer.wrap(compressed), activeSize);
+            entry = new ArchiveEntry(apiId, bizDate, fetchedAtMillis, hex,
+                    activeSegment, activeSize, compressed.length, rawLength);
+            activeSize += compressed.length;
+        }
+        
+        // 본문을 먼저 쓰고 인덱스를 쓴다 - 중간에 죽으면 본문만 남고 다음 기동 때 잘린다
+        writeFully(indexChannel, encode(entry, hash), indexChannel.position());
+        add(entry);
+        return entry;
+    }
+    
+    /** 인덱스에 기록할 수 있는 bizdate 인지 (없거나 yyyyMMdd). */
+    public static boolean isArchivable(String bizDate) {
+        return bizDate == null || bizDate.isEmpty() || BIZ_DATE.matcher(bizDate).matches();
+    }
+    
+    /** 배치 단위 fsync. */
+    public synchronized void flush() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(false);
+            indexChannel.force(false);
+        }
+    }
+    
+    public Optional<ArchiveEntry> latest(String apiId, String bizDate) {
+        List<ArchiveEntry> versions = versions(apiId, bizDate);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(versions.size() - 1));
+    }
+    
+    public List<ArchiveEntry> versions(String apiId, String bizDate) {
+        NavigableMap<String, List<ArchiveEntry>> dates = entries.get(apiId);
+        List<ArchiveEntry> versions = dates != null ? dates.get(bizDate) : null;
+        return versions != null ? List.copyOf(versions) : List.of();
+    }
+    
+    public Map<String, Integer> listDates(String apiId) {
+        NavigableMap<String, List<ArchiveEntry>> dates = entries.get(apiId);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (dates != null) {
+            dates.forEach((bizDate, versions) -> result.put(bizDate, versions.size()));
+        }
+        return result;
+    }
+    
+    /** 본문 원문을 돌려준다. */
+    public byte[] read(ArchiveEntry entry) {
+        ByteBuffer compressed = compressed(entry);
+        try (InputStream in = new GZIPInputStream(new ByteBufferInputStream(compressed), 8192)) {
+            return in.readNBytes(entry.rawLength());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived response " + entry.sha256(), e);
+        }
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("directory", baseDir.toString());
+        stats.put("entries", entryCount.get());
+        stats.put("blobs", blobs.size());
+        stats.put("dedupHits", dedupHits.get());
+        stats.put("segments", config.isEnabled() ? activeSegment + 1 : 0);
+        stats.put("logicalBytes", logicalBytes.get());
+        stats.put("rawBytes", rawBytes.get());
+        stats.put("storedBytes", storedBytes.get());
+        stats.put("compressionRatio", storedBytes.get() > 0 ? (double) rawBytes.get() / storedBytes.get() : 0.0);
+        stats.put("savingRatio", storedBytes.get() > 0 ? (double) logicalBytes.get() / storedBytes.get() : 0.0);
+        return stats;
+    }
+    
+    private void add(ArchiveEntry entry) {
+        if (blobs.putIfAbsent(entry.sha256(), entry) == null) {
+            rawBytes.addAndGet(entry.rawLength());
+            storedBytes.addAndGet(entry.length());
+        }
+        entries.computeIfAbsent(entry.apiId(), key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(entry.bizDate(), key -> new CopyOnWriteArrayList<>())
+                .add(entry);
+        entryCount.incrementAndGet();
+        logicalBytes.addAndGet(entry.rawLength());
+    }
+    
+    private void rollSegment() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        activeSegment++;
+        activeSize = 0;
+        // 새 세그먼트에는 인덱스에 오른 본문이 없으므로 남아 있던 내용은 비운다
+        activeChannel = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log.info("Response archive rolled to segment {}", activeSegment);
+    }
+    
+    /**
+     * 새 세그먼트로 넘어가 본문을 쓴 직후, 인덱스를 쓰기 전에 중단되면 인덱스에 없는 세그먼트가 남는다.
+     * 그대로 두면 다음 세그먼트 전환 때 새 본문 뒤에 그 바이트가 남으므로 기동 시 지운다.
+     */
+    private void deleteUnindexedSegments() throws IOException {
+        for (int segment = activeSegment + 1; Files.exists(segmentPath(segment)); segment++) {
+            log.warn("Deleting unindexed archive segment {}", segmentPath(segment));
+            Files.delete(segmentPath(segment));
+        }
+    }
+    
+    private ByteBuffer compressed(ArchiveEntry entry) {
+        if (entry.segment() < activeSegment) {
+            return mapped(entry.segment()).slice((int) entry.offset(), entry.length());
+        }
+        // 쓰는 중인 세그먼트는 커지므로 매핑하지 않고 필요한 구간만 읽는다.
+        // 쓰기 채널을 같이 쓰면 읽던 스레드가 인터럽트될 때 채널이 닫히므로 읽기용으로 따로 연다
+        try (FileChannel channel = FileChannel.open(segmentPath(entry.segment()), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, entry.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Archive segment " + entry.segment() + " ends before " + entry.sha256());
+                }
+            }
+            return buffer.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private MappedByteBuffer mapped(int segment) {
+        return mappedSegments.computeIfAbsent(segment, key -> {
+            try (FileChannel channel = FileChannel.open(segmentPath(key), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private long loadIndex(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return 0;
+        }
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), 1 << 16))) {
+            while (true) {
+                ArchiveEntry entry;
+                int recordLength;
+                try {
+                    int apiIdLength = in.readUnsignedShort();
+                    String apiId = new String(in.readNBytes(apiIdLength), StandardCharsets.UTF_8);
+                    int bizDate = in.readInt();
+                    long fetchedAt = in.readLong();
+                    byte[] hash = in.readNBytes(HASH_BYTES);
+                    int segment = in.readInt();
+                    long offset = in.readLong();
+                    int length = in.readInt();
+                    int rawLength = in.readInt();
+                    if (hash.length < HASH_BYTES) {
+                        throw new EOFException();
+                    }
+                    entry = new ArchiveEntry(apiId, bizDate == 0 ? "" : String.valueOf(bizDate), fetchedAt,
+                            HexFormat.of().formatHex(hash), segment, offset, length, rawLength);
+                    recordLength = recordLength(apiIdLength);
+                } catch (EOFException e) {
+                    break;
+                }
+                add(entry);
+                position += recordLength;
+            }
+        }
+        return position;
+    }
+    
+    private static ByteBuffer encode(ArchiveEntry entry, byte[] hash) {
+        byte[] apiId = entry.apiId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(recordLength(apiId.length));
+        buffer.putShort((short) apiId.length).put(apiId);
+        buffer.putInt(entry.bizDate() == null || entry.bizDate().isEmpty() ? 0 : Integer.parseInt(entry.bizDate()));
+        buffer.putLong(entry.fetchedAtMillis());
+        buffer.put(hash);
+        buffer.putInt(entry.segment()).putLong(entry.offset()).putInt(entry.length()).putInt(entry.rawLength());
+        return buffer.flip();
+    }
+    
+    private static int recordLength(int apiIdLength) {
+        // apiId 길이 + apiId + bizdate + 수집 시각 + 해시 + 세그먼트 + 오프셋 + 압축 길이 + 원문 길이
+        return 2 + apiIdLength + 4 + 8 + HASH_BYTES + 4 + 8 + 4 + 4;
+    }
+    
+    private byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 6));
+        try (GZIPOutputStream gzip = gzipStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+    
+    private GZIPOutputStream gzipStream(ByteArrayOutputStream out) throws IOException {
+        return new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(config.getCompressionLevel());
+            }
+        };
+    }
+    
+    private static byte[] sha256(byte[] raw) {
+        return sha256().digest(raw);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        if (channel.position() < position + written) {
+            channel.position(position + written);
+        }
+    }
+    
+    private Path segmentPath(int segment) {
+        return segmentDir.resolve(String.format("%06d%s", segment, SEGMENT_SUFFIX));
+    }
+    
+    /** 이미 있는 내용이면 부르지 않도록 늦게 만드는 압축 본문. */
+    @FunctionalInterface
+    private interface CompressedBody {
+        byte[] get() throws IOException;
+    }
+    
+    public final class Writer {
+        
+        private final String apiId;
+        private final String bizDate;
+        private final long fetchedAtMillis;
+        private final MessageDigest digest = sha256();
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(64 * 1024);
+        private final GZIPOutputStream gzip;
+        private final byte[] chunk = new byte[16 * 1024];
+        private long rawLength;
+        
+        private Writer(String apiId, String bizDate, long fetchedAtMillis) {
+            this.apiId = apiId;
+            this.bizDate = bizDate;
+            this.fetchedAtMillis = fetchedAtMillis;
+            try {
+                this.gzip = gzipStream(compressed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        public void write(ByteBuffer buffer) throws IOException {
+            // direct 버퍼는 Deflater 에 바로 줄 수 없으므로 작은 조각으로 나눠 넘긴다
+            digest.update(buffer.duplicate());
+            ByteBuffer source = buffer.duplicate();
+            while (source.hasRemaining()) {
+                int length = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, length);
+                gzip.write(chunk, 0, length);
+            }
+            rawLength += buffer.remaining();
+        }
+        
+        public ArchiveEntry commit() throws IOException {
+            gzip.close();
+            if (rawLength > Integer.MAX_VALUE) {
+                throw new IOException("Response too large to archive: " + rawLength + " bytes");
+            }
+            return append(apiId, bizDate, fetchedAtMillis, digest.digest(), (int) rawLength, compressed::toByteArray);
+        }
+        
+        public void abort() {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                // 메모리 버퍼라 실패하지 않는다
+            }
+        }
+    }
+    
+    /** 매핑된 버퍼 구간을 복사 없이 읽는 InputStream. */
+    private static final class ByteBufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+        
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+        
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
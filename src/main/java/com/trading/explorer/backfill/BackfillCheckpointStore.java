@@ -0,0 +1,140 @@
+package com.trading.explorer.backfill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trading.explorer.config.KrxApiProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * (apiId, bizdate) 단위 완료 체크포인트와 백필 작업 정의를 디스크에 보관한다.
+ * 체크포인트는 append-only 파일이라 재시작 시 한 번 읽어 들이기만 하면 이어서 진행할 수 있다.
+ */
+@Slf4j
+@Component
+public class BackfillCheckpointStore {
+    
+    private final Path directory;
+    private final Path jobDirectory;
+    private final Set<String> completedUnits = ConcurrentHashMap.newKeySet();
+    private final ObjectMapper objectMapper;
+    private FileChannel checkpointChannel;
+    
+    public BackfillCheckpointStore(KrxApiProperties properties) {
+        this.directory = Paths.get(properties.getBackfill().getDirectory());
+        this.jobDirectory = directory.resolve("jobs");
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+    
+    public boolean isDone(String apiId, LocalDate bizDate) {
+        return completedUnits.contains(unitKey(apiId, bizDate));
+    }
+    
+    public synchronized void markDone(String apiId, LocalDate bizDate) {
+        String key = unitKey(apiId, bizDate);
+        if (!completedUnits.add(key)) {
+            return;
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((key + "\n").getBytes(StandardCharsets.UTF_8));
+            FileChannel channel = checkpointChannel();
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } catch (IOException e) {
+            completedUnits.remove(key);
+            throw new UncheckedIOException("Failed to write backfill checkpoint " + key, e);
+        }
+    }
+    
+    public int getCompletedCount() {
+        return completedUnits.size();
+    }
+    
+    public synchronized void saveJob(BackfillJob job) {
+        try {
+            Files.createDirectories(jobDirectory);
+            JobSpec spec = new JobSpec(job.getId(), job.getApiIds(), job.getFrom(), job.getTo(),
+                    job.getParallelism(), job.getCreatedAt(), job.getStatus());
+            objectMapper.writeValue(jobDirectory.resolve(job.getId() + ".json").toFile(), spec);
+        } catch (IOException e) {
+            log.error("Failed to save backfill job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+    
+    public List<JobSpec> loadJobs() {
+        List<JobSpec> jobs = new ArrayList<>();
+        if (!Files.isDirectory(jobDirectory)) {
+            return jobs;
+        }
+        try (Stream<Path> files = Files.list(jobDirectory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".json")).toList()) {
+                try {
+                    jobs.add(objectMapper.readValue(file.toFile(), JobSpec.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable backfill job file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list backfill jobs in {}: {}", jobDirectory, e.getMessage());
+        }
+        return jobs;
+    }
+    
+    public synchronized void load() throws IOException {
+        Path checkpointFile = directory.resolve("checkpoints.log");
+        if (Files.exists(checkpointFile)) {
+            try (Stream<String> lines = Files.lines(checkpointFile, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isBlank()).forEach(completedUnits::add);
+            }
+        }
+        log.info("Loaded {} backfill checkpoints from {}", completedUnits.size(), checkpointFile);
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (checkpointChannel != null) {
+            checkpointChannel.force(true);
+            checkpointChannel.close();
+            checkpointChannel = null;
+        }
+    }
+    
+    private FileChannel checkpointChannel() throws IOException {
+        if (checkpointChannel == null) {
+            Files.createDirectories(directory);
+            checkpointChannel = FileChannel.open(directory.resolve("checkpoints.log"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return checkpointChannel;
+    }
+    
+    private static String unitKey(String apiId, LocalDate bizDate) {
+        return apiId + " " + bizDate;
+    }
+    
+    public record JobSpec(String id, List<String> apiIds, LocalDate from, LocalDate to,
+                          int parallelism, LocalDateTime createdAt, BackfillJob.Status status) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.trading.explorer.backfill;
+
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.Disposable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+public class BackfillJob {
+    
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+    
+    private final String id;
+    private final List<String> apiIds;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int parallelism;
+    private final LocalDateTime createdAt;
+    
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    /** 달력상 영업일인데 OutBlock_1 이 빈 단위 (체크포인트 없음) */
+    private final AtomicInteger empty = new AtomicInteger();
+    
+    @Setter
+    private volatile Status status = Status.RUNNING;
+    @Setter
+    private volatile int totalUnits;
+    @Setter
+    private volatile String lastError;
+    @Setter
+    private volatile LocalDateTime finishedAt;
+    @Setter
+    private volatile Disposable subscription;
+    /** 휴장일 목록이 없는 연도 - 이 해의 휴장일은 영업일로 잘못 잡혀 빈 응답이 된다 */
+    @Setter
+    private volatile List<Integer> uncalendaredYears = List.of();
+    
+    public BackfillJob(String id, List<String> apiIds, LocalDate from, LocalDate to,
+                       int parallelism, LocalDateTime createdAt) {
+        this.id = id;
+        this.apiIds = List.copyOf(apiIds);
+        this.from = from;
+        this.to = to;
+        this.parallelism = parallelism;
+        this.createdAt = createdAt;
+    }
+    
+    public Map<String, Object> toMap() {
+        int done = completed.get() + skipped.get();
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("jobId", id);
+        result.put("apiIds", apiIds);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("parallelism", parallelism);
+        result.put("status", status);
+        result.put("totalUnits", totalUnits);
+        result.put("completed", completed.get());
+        result.put("skipped", skipped.get());
+        result.put("failed", failed.get());
+        result.put("empty", empty.get());
+        result.put("uncalendaredYears", uncalendaredYears);
+        result.put("progress", totalUnits > 0 ? (double) done / totalUnits : 0.0);
+        result.put("createdAt", createdAt);
+        result.put("finishedAt", finishedAt);
+        result.put("lastError", lastError);
+        return result;
+    }
+}
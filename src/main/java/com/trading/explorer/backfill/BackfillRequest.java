@@ -0,0 +1,14 @@
+package com.trading.explorer.backfill;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BackfillRequest {
+    
+    private List<String> apiIds;
+    private String from;
+    private String to;
+    private Integer parallelism;
+}
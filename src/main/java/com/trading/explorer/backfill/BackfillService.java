@@ -0,0 +1,237 @@
+package com.trading.explorer.backfill;
+
+import com.trading.explorer.calendar.KrxTradingCalendar;
+import com.trading.explorer.client.KrxApiClient;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.cluster.ClusterCoordinator;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.persistence.ResponsePersistenceService;
+import com.trading.explorer.util.KrxResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillService {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    
+    private final KrxApiClient krxApiClient;
+    private final KrxApiProperties properties;
+    private final KrxTradingCalendar tradingCalendar;
+    private final BackfillCheckpointStore checkpointStore;
+    private final ResponsePersistenceService responsePersistence;
+    private final ClusterCoordinator clusterCoordinator;
+    
+    private final Map<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() throws IOException {
+        checkpointStore.load();
+        if (!properties.getBackfill().isResumeOnStartup()) {
+            return;
+        }
+        
+        for (BackfillCheckpointStore.JobSpec spec : checkpointStore.loadJobs()) {
+            BackfillJob job = new BackfillJob(spec.id(), spec.apiIds(), spec.from(), spec.to(),
+                    spec.parallelism(), spec.createdAt());
+            job.setStatus(spec.status());
+            jobs.put(job.getId(), job);
+            
+            if (spec.status() == BackfillJob.Status.RUNNING) {
+                log.info("Resuming backfill job {} ({} ~ {}, {} APIs)",
+                        job.getId(), job.getFrom(), job.getTo(), job.getApiIds().size());
+                run(job);
+            }
+        }
+    }
+    
+    public BackfillJob start(BackfillRequest request) {
+        LocalDate from = parseDate("from", request.getFrom());
+        LocalDate to = parseDate("to", request.getTo());
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to: " + request.getFrom() + " > " + request.getTo());
+        }
+        
+        List<String> apiIds = request.getApiIds() == null || request.getApiIds().isEmpty()
+                ? allApiIds()
+                : request.getApiIds();
+        List<String> unknown = apiIds.stream().filter(apiId -> !allApiIds().contains(apiId)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown API ids: " + unknown);
+        }
+        
+        if (request.getParallelism() != null && request.getParallelism() < 0) {
+            throw new IllegalArgumentException("parallelism must not be negative: " + request.getParallelism());
+        }
+        int parallelism = request.getParallelism() != null && request.getParallelism() > 0
+                ? request.getParallelism()
+                : properties.getBackfill().getParallelism();
+        
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), apiIds, from, to,
+                parallelism, LocalDateTime.now());
+        jobs.put(job.getId(), job);
+        checkpointStore.saveJob(job);
+        
+        log.info("Starting backfill job {}: {} APIs, {} ~ {}, parallelism {}",
+                job.getId(), apiIds.size(), from, to, parallelism);
+        run(job);
+        return job;
+    }
+    
+    public Optional<BackfillJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    
+    public Collection<BackfillJob> getJobs() {
+        return jobs.values();
+    }
+    
+    public Optional<BackfillJob> cancel(String jobId) {
+        BackfillJob job = jobs.get(jobId);
+        if (job != null && job.getStatus() == BackfillJob.Status.RUNNING) {
+            if (job.getSubscription() != null) {
+                job.getSubscription().dispose();
+            }
+            finish(job, BackfillJob.Status.CANCELLED, null);
+        }
+        return Optional.ofNullable(job);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("jobs", jobs.size());
+        stats.put("running", jobs.values().stream()
+                .filter(job -> job.getStatus() == BackfillJob.Status.RUNNING).count());
+        stats.put("checkpoints", checkpointStore.getCompletedCount());
+        return stats;
+    }
+    
+    private void run(BackfillJob job) {
+        List<LocalDate> tradingDays = tradingCalendar.tradingDays(job.getFrom(), job.getTo());
+        job.setTotalUnits(tradingDays.size() * job.getApiIds().size());
+        job.setUncalendaredYears(tradingCalendar.uncoveredYears(job.getFrom(), job.getTo()));
+        if (!job.getUncalendaredYears().isEmpty()) {
+            log.warn("Backfill job {} covers years without holiday data {}: empty responses on those days are not checkpointed",
+                    job.getId(), job.getUncalendaredYears());
+        }
+        
+        job.setSubscription(Flux.fromIterable(tradingDays)
+                .concatMapIterable(day -> job.getApiIds().stream().map(apiId -> new Unit(apiId, day)).toList())
+                .filter(unit -> {
+                    if (checkpointStore.isDone(unit.apiId(), unit.bizDate())
+                            || clusterCoordinator.isDone(unit.apiId(), unit.bizDate().format(DATE_FORMAT))) {
+                        job.getSkipped().incrementAndGet();
+                        return false;
+                    }
+                    return true;
+                })
+                .flatMap(unit -> fetch(job, unit), job.getParallelism())
+                .then()
+                .subscribe(
+                        ignored -> { },
+                        error -> finish(job, BackfillJob.Status.FAILED, error.getMessage()),
+                        () -> finish(job, BackfillJob.Status.COMPLETED, null)));
+    }
+    
+    private Mono<Void> fetch(BackfillJob job, Unit unit) {
+        Map<String, String> params = params(unit);
+        
+        // 과거 데이터가 대시보드용 캐시를 밀어내지 않도록 캐시를 거치지 않는다
+        Mono<ApiResponse> work = krxApiClient.callApiUncached(unit.apiId(), params)
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(response -> record(job, unit, response).thenReturn(response));
+        
+        // 같은 작업을 여러 인스턴스에 걸면 임대를 먼저 잡은 쪽이 받고, 나머지는 건너뛴다
+        return clusterCoordinator.claim(unit.apiId(), params.get("bizdate"), work,
+                        response -> checkpointStore.isDone(unit.apiId(), unit.bizDate()))
+                .switchIfEmpty(Mono.fromRunnable(() -> job.getSkipped().incrementAndGet()))
+                .then();
+    }
+    
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || !value.matches("\\d{8}")) {
+            throw new IllegalArgumentException(name + " must be a yyyyMMdd date: " + value);
+        }
+        return LocalDate.parse(value, DATE_FORMAT);
+    }
+    
+    private Map<String, String> params(Unit unit) {
+        Map<String, String> params = new HashMap<>();
+        params.put("bizdate", unit.bizDate().format(DATE_FORMAT));
+        return params;
+    }
+    
+    /**
+     * 체크포인트는 응답이 든 배치가 모든 sink 에 기록된 뒤에만 남긴다. 큐에 넣지 못했거나 기록에 실패하면
+     * 체크포인트 없이 실패로 세어 다음 실행 때 다시 받는다.
+     * OutBlock_1 이 빈 응답도 체크포인트를 남기지 않는다 - 달력은 이 날을 영업일로 보므로 달력에 없는 휴장일이거나
+     * 일시적인 빈 응답이다. 휴장일이면 krx.calendar.holidays 에 추가해야 다음 실행에서 빠진다.
+     */
+    Mono<Void> record(BackfillJob job, Unit unit, ApiResponse response) {
+        if (!response.isSuccess()) {
+            job.getFailed().incrementAndGet();
+            job.setLastError(unit.apiId() + " " + unit.bizDate() + ": " + response.getErrorMessage());
+            return Mono.empty();
+        }
+        if (KrxResponses.hasEmptyRecordBlock(response.getRawResponse())) {
+            job.getEmpty().incrementAndGet();
+            log.warn("Backfill {} {}: no rows on a calendar trading day, not checkpointed", unit.apiId(), unit.bizDate());
+            return Mono.empty();
+        }
+        
+        return responsePersistence.persist(response)
+                .doOnSuccess(ignored -> {
+                    checkpointStore.markDone(unit.apiId(), unit.bizDate());
+                    job.getCompleted().incrementAndGet();
+                })
+                .onErrorResume(ex -> {
+                    job.getFailed().incrementAndGet();
+                    job.setLastError(unit.apiId() + " " + unit.bizDate() + ": " + ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+    
+    private void finish(BackfillJob job, BackfillJob.Status status, String error) {
+        synchronized (job) {
+            if (job.getStatus() != BackfillJob.Status.RUNNING) {
+                return;
+            }
+            job.setStatus(status);
+            job.setLastError(error != null ? error : job.getLastError());
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        checkpointStore.saveJob(job);
+        log.info("Backfill job {} finished: status={}, completed={}, skipped={}, failed={}",
+                job.getId(), status, job.getCompleted().get(), job.getSkipped().get(), job.getFailed().get());
+    }
+    
+    private List<String> allApiIds() {
+        return properties.getApis().values().stream()
+                .flatMap(List::stream)
+                .map(KrxApiProperties.ApiDefinition::getId)
+                .toList();
+    }
+    
+    record Unit(String apiId, LocalDate bizDate) {
+    }
+}
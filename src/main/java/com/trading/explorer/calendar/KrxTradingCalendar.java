@@ -0,0 +1,61 @@
+package com.trading.explorer.calendar;
+
+import com.trading.explorer.config.KrxApiProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class KrxTradingCalendar {
+    
+    private final Set<LocalDate> holidays;
+    private final Set<Integer> coveredYears = new HashSet<>();
+    
+    public KrxTradingCalendar(KrxApiProperties properties) {
+        this.holidays = new HashSet<>(properties.getCalendar().getHolidays());
+        holidays.forEach(holiday -> coveredYears.add(holiday.getYear()));
+    }
+    
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY
+                && dayOfWeek != DayOfWeek.SUNDAY
+                && !holidays.contains(date);
+    }
+    
+    public LocalDate previousTradingDay(LocalDate date) {
+        LocalDate candidate = date.minusDays(1);
+        while (!isTradingDay(candidate)) {
+            candidate = candidate.minusDays(1);
+        }
+        return candidate;
+    }
+    
+    /**
+     * from ~ to 중 휴장일이 하나도 등록되지 않은 연도. 이 해는 주말만 빼고 모두 영업일로 본다.
+     */
+    public List<Integer> uncoveredYears(LocalDate from, LocalDate to) {
+        List<Integer> years = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            if (!coveredYears.contains(year)) {
+                years.add(year);
+            }
+        }
+        return years;
+    }
+    
+    public List<LocalDate> tradingDays(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (isTradingDay(date)) {
+                days.add(date);
+            }
+        }
+        return days;
+    }
+}
@@ -1,20 +1,33 @@
 package com.trading.explorer.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.calendar.KrxTradingCalendar;
 import com.trading.explorer.client.dto.ApiRequest;
 import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.client.resilience.KrxResilience;
+import com.trading.explorer.client.throttle.KrxRequestThrottle;
 import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxCallTiming;
+import com.trading.explorer.metrics.KrxMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
@@ -23,70 +36,66 @@ public class KrxApiClient {
     
     private final WebClient webClient;
     private final KrxApiProperties properties;
+    private final KrxRecordStreamDecoder recordStreamDecoder;
+    private final KrxResponseCache responseCache;
+    private final KrxRequestThrottle requestThrottle;
+    private final KrxResilience resilience;
+    private final KrxTradingCalendar tradingCalendar;
+    private final KrxMetrics krxMetrics;
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     
     public Mono<ApiResponse> callApi(String apiId, Map<String, String> parameters) {
-        long startTime = System.currentTimeMillis();
-        
-        ApiRequest request = ApiRequest.builder()
-                .apiId(apiId)
-                .format(properties.getApi().getDefaultFormat())
-                .additionalParams(parameters != null ? parameters : new HashMap<>())
-                .build();
-        
-        String uri = "/api/" + apiId;
+        return responseCache.get(apiId, parameters, () -> callApiUncached(apiId, parameters));
+    }
+    
+    public Mono<ApiResponse> callApiUncached(String apiId, Map<String, String> parameters) {
+        // 헤지 요청도 스로틀 슬롯과 토큰을 따로 받는다
+        return resilience.execute(apiId, onSent -> requestThrottle.execute(permit -> {
+                    onSent.run();
+                    return fetch(apiId, parameters)
+                            .doOnNext(response -> permit.recordStatus(response.getHttpStatus()));
+                }))
+                .doOnNext(response -> response.setBizDate(parameters != null ? parameters.get("bizdate") : null));
+    }
+    
+    private Mono<ApiResponse> fetch(String apiId, Map<String, String> parameters) {
+        ApiRequest request = buildRequest(apiId, parameters);
         
-        log.debug("Calling KRX API: {} with parameters: {}", uri, request.toParameterMap());
+        log.debug("Calling KRX API: /api/{} with parameters: {}", apiId, request.toParameterMap());
         
-        return webClient.get()
-                .uri(uriBuilder -> {
-                    var builder = uriBuilder.path(uri);
-                    
-                    // API Key가 있으면 헤더에 추가
-                    if (properties.getApi().getKey() != null && !properties.getApi().getKey().isEmpty()) {
-                        // KRX API 키 방식에 따라 조정 필요
-                        request.getAdditionalParams().put("key", properties.getApi().getKey());
-                    }
-                    
-                    // 쿼리 파라미터 추가
-                    request.toParameterMap().forEach(builder::queryParam);
-                    
-                    return builder.build();
-                })
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, response -> 
-                    response.bodyToMono(String.class)
-                        .map(errorBody -> new WebClientResponseException(
-                            response.statusCode().value(),
-                            "KRX API Error",
-                            null,
-                            errorBody.getBytes(),
-                            null
-                        ))
-                )
-                .bodyToMono(String.class)
-                .map(responseBody -> {
-                    long responseTime = System.currentTimeMillis() - startTime;
-                    log.debug("KRX API response received for {}: {} chars in {}ms", 
-                             apiId, responseBody.length(), responseTime);
-                    return ApiResponse.success(apiId, responseBody, responseTime);
-                })
-                .onErrorResume(WebClientResponseException.class, ex -> {
-                    long responseTime = System.currentTimeMillis() - startTime;
-                    String errorBody = ex.getResponseBodyAsString();
-                    log.error("KRX API error for {}: {} - {}", apiId, ex.getStatusCode(), errorBody);
-                    return Mono.just(ApiResponse.failure(apiId, 
-                        "HTTP " + ex.getStatusCode() + ": " + errorBody, 
-                        ex.getStatusCode().value(), responseTime));
-                })
-                .onErrorResume(Exception.class, ex -> {
-                    long responseTime = System.currentTimeMillis() - startTime;
-                    log.error("Unexpected error calling KRX API {}: ", apiId, ex);
-                    return Mono.just(ApiResponse.failure(apiId, 
-                        "Unexpected error: " + ex.getMessage(), 
-                        500, responseTime));
-                });
+        return Mono.defer(() -> {
+            KrxCallTiming timing = krxMetrics.startCall(apiId);
+            
+            return webClient.get()
+                    .uri(uriBuilder -> buildUri(uriBuilder, request))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, this::toResponseException)
+                    .bodyToMono(byte[].class)
+                    .map(body -> {
+                        long responseTime = timing.bodyReceived(body.length);
+                        String responseBody = new String(body, StandardCharsets.UTF_8);
+                        log.debug("KRX API response received for {}: {} bytes in {}ms", 
+                                 apiId, body.length, responseTime);
+                        return ApiResponse.success(apiId, responseBody, responseTime);
+                    })
+                    .onErrorResume(WebClientResponseException.class, ex -> {
+                        long responseTime = timing.failed(ex.getStatusCode().value());
+                        String errorBody = ex.getResponseBodyAsString();
+                        log.error("KRX API error for {}: {} - {}", apiId, ex.getStatusCode(), errorBody);
+                        return Mono.just(ApiResponse.failure(apiId, 
+                            "HTTP " + ex.getStatusCode() + ": " + errorBody, 
+                            ex.getStatusCode().value(), responseTime));
+                    })
+                    .onErrorResume(Exception.class, ex -> {
+                        long responseTime = timing.failed(500);
+                        log.error("Unexpected error calling KRX API {}: ", apiId, ex);
+                        return Mono.just(ApiResponse.failure(apiId, 
+                            "Unexpected error: " + ex.getMessage(), 
+                            500, responseTime));
+                    })
+                    .contextWrite(timing::attach);
+        });
     }
     
     public Mono<ApiResponse> callApi(String apiId) {
@@ -94,11 +103,8 @@ public class KrxApiClient {
     }
     
     public Mono<ApiResponse> callApiWithDefaultDate(String apiId) {
-        // 어제 날짜 사용 (오늘 데이터가 없을 가능성이 높음)
-        String yesterday = LocalDate.now().minusDays(1).format(DATE_FORMAT);
-        
         Map<String, String> params = new HashMap<>();
-        params.put("bizdate", yesterday);
+        params.put("bizdate", defaultBizDate());
         
         return callApi(apiId, params);
     }
@@ -109,4 +115,121 @@ public class KrxApiClient {
         
         return callApi(apiId, params);
     }
+    
+    public Flux<JsonNode> streamRecords(String apiId, Map<String, String> parameters) {
+        ApiRequest request = buildRequest(apiId, parameters);
+        
+        log.debug("Streaming KRX API records: /api/{} with parameters: {}", apiId, request.toParameterMap());
+        
+        // DataBuffer 단위로 흘려보내므로 maxInMemorySize 제한을 받지 않는다
+        return resilience.guard(apiId, requestThrottle.executeMany(permit -> Flux.defer(() -> {
+                    KrxCallTiming timing = krxMetrics.startCall(apiId);
+                    AtomicLong bytes = new AtomicLong();
+                    
+                    return recordStreamDecoder.decode(webClient.get()
+                                    .uri(uriBuilder -> buildUri(uriBuilder, request))
+                                    .retrieve()
+                                    .onStatus(HttpStatusCode::isError, this::toResponseException)
+                                    .bodyToFlux(DataBuffer.class)
+                                    .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())))
+                            .doOnComplete(() -> {
+                                timing.bodyReceived(bytes.get());
+                                permit.recordStatus(200);
+                            })
+                            .doOnError(ex -> {
+                                int status = ex instanceof WebClientResponseException responseException
+                                        ? responseException.getStatusCode().value() : 500;
+                                timing.failed(status);
+                                permit.recordStatus(status);
+                            })
+                            .contextWrite(timing::attach);
+                })))
+                .doOnError(ex -> log.error("KRX API record stream failed for {}: {}", apiId, ex.getMessage()));
+    }
+    
+    public Flux<JsonNode> streamRecordsWithDate(String apiId, String bizDate) {
+        Map<String, String> params = new HashMap<>();
+        params.put("bizdate", bizDate != null && !bizDate.isEmpty() ? bizDate : defaultBizDate());
+        
+        return streamRecords(apiId, params);
+    }
+    
+    /**
+     * 응답 본문을 받은 그대로 DataBuffer 로 흘려보낸다. String/ApiResponse 를 거치지 않으며 캐시에도 넣지 않는다.
+     * 버퍼 해제는 구독자 몫이다. HTTP 오류는 본문을 보내기 전에 WebClientResponseException 으로 끝난다.
+     */
+    public Flux<DataBuffer> streamRaw(String apiId, Map<String, String> parameters) {
+        ApiRequest request = buildRequest(apiId, parameters);
+        
+        log.debug("Streaming raw KRX API body: /api/{} with parameters: {}", apiId, request.toParameterMap());
+        
+        return resilience.guard(apiId, requestThrottle.executeMany(permit -> Flux.defer(() -> {
+            KrxCallTiming timing = krxMetrics.startCall(apiId);
+            AtomicLong bytes = new AtomicLong();
+            
+            return webClient.get()
+                    .uri(uriBuilder -> buildUri(uriBuilder, request))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, this::toResponseException)
+                    .bodyToFlux(DataBuffer.class)
+                    .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                    .doOnComplete(() -> {
+                        timing.bodyReceived(bytes.get());
+                        permit.recordStatus(200);
+                    })
+                    .doOnError(ex -> {
+                        int status = ex instanceof WebClientResponseException responseException
+                                ? responseException.getStatusCode().value() : 500;
+                        timing.failed(status);
+                        permit.recordStatus(status);
+                    })
+                    .contextWrite(timing::attach);
+        })));
+    }
+    
+    public String resolveBizDate(String bizDate) {
+        return bizDate != null && !bizDate.isEmpty() ? bizDate : defaultBizDate();
+    }
+    
+    private ApiRequest buildRequest(String apiId, Map<String, String> parameters) {
+        return ApiRequest.builder()
+                .apiId(apiId)
+                .format(properties.getApi().getDefaultFormat())
+                .additionalParams(parameters != null ? new HashMap<>(parameters) : new HashMap<>())
+                .build();
+    }
+    
+    private URI buildUri(UriBuilder uriBuilder, ApiRequest request) {
+        var builder = uriBuilder.path("/api/" + request.getApiId());
+        // 헤지 요청이 같은 request 로 동시에 URI 를 만들므로 요청 객체는 고치지 않고 시도마다 복사본을 쓴다
+        Map<String, String> params = request.toParameterMap();
+        
+        // API Key가 있으면 헤더에 추가
+        if (properties.getApi().getKey() != null && !properties.getApi().getKey().isEmpty()) {
+            // KRX API 키 방식에 따라 조정 필요
+            params.put("key", properties.getApi().getKey());
+        }
+        
+        // 쿼리 파라미터 추가
+        params.forEach(builder::queryParam);
+        
+        return builder.build();
+    }
+    
+    private Mono<? extends Throwable> toResponseException(ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(errorBody -> new WebClientResponseException(
+                    response.statusCode().value(),
+                    "KRX API Error",
+                    null,
+                    errorBody.getBytes(),
+                    null
+                ));
+    }
+    
+    private String defaultBizDate() {
+        // 직전 영업일 사용 (오늘 데이터가 없을 가능성이 높고, 주말/휴장일에는 데이터가 없음)
+        return tradingCalendar.previousTradingDay(LocalDate.now()).format(DATE_FORMAT);
+    }
 }
\ No newline at end of file
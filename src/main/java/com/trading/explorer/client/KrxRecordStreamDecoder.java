@@ -0,0 +1,138 @@
+package com.trading.explorer.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KRX 응답 본문을 통째로 String 으로 버퍼링하지 않고 Jackson non-blocking 파서로 흘려보내며
+ * {@code OutBlock_1} 배열의 각 행을 하나씩 JsonNode 로 방출한다.
+ * 한 번에 힙에 올라가는 것은 현재 청크와 완성 중인 한 행뿐이다.
+ */
+@Slf4j
+@Component
+public class KrxRecordStreamDecoder {
+
+    static final String RECORD_FIELD = "OutBlock_1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Flux<JsonNode> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            RecordTokenizer tokenizer = new RecordTokenizer();
+            return body
+                    .concatMapIterable(tokenizer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                    .doFinally(signal -> tokenizer.close());
+        });
+    }
+
+    private final class RecordTokenizer {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        private int depth;
+        private int recordArrayDepth = -1;
+        private boolean recordFieldPending;
+        private TokenBuffer row;
+        private int rowDepth;
+
+        RecordTokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<JsonNode> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode KRX response stream: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<JsonNode> endOfInput() {
+            try {
+                feeder.endOfInput();
+                List<JsonNode> rows = drain();
+                if (row != null) {
+                    throw new DecodingException("KRX response ended in the middle of a record");
+                }
+                return rows;
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode KRX response stream: " + e.getMessage(), e);
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("Failed to close streaming parser: {}", e.getMessage());
+            }
+        }
+
+        private List<JsonNode> drain() throws IOException {
+            List<JsonNode> rows = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (row != null) {
+                    row.copyCurrentEvent(parser);
+                    if (token.isStructStart()) {
+                        rowDepth++;
+                    } else if (token.isStructEnd() && --rowDepth == 0) {
+                        rows.add(objectMapper.readTree(row.asParser(objectMapper)));
+                        row = null;
+                    }
+                    continue;
+                }
+
+                if (token == JsonToken.FIELD_NAME) {
+                    recordFieldPending = depth == 1 && RECORD_FIELD.equals(parser.currentName());
+                } else if (token.isStructStart()) {
+                    depth++;
+                    if (token == JsonToken.START_ARRAY && recordFieldPending) {
+                        recordArrayDepth = depth;
+                    } else if (token == JsonToken.START_OBJECT && depth == recordArrayDepth + 1) {
+                        // 레코드 배열 바로 아래의 객체 하나가 한 행이다
+                        depth--;
+                        row = new TokenBuffer(parser);
+                        row.copyCurrentEvent(parser);
+                        rowDepth = 1;
+                    }
+                    recordFieldPending = false;
+                } else if (token.isStructEnd()) {
+                    if (depth == recordArrayDepth) {
+                        recordArrayDepth = -1;
+                    }
+                    depth--;
+                } else {
+                    recordFieldPending = false;
+                }
+            }
+            return rows;
+        }
+    }
+}
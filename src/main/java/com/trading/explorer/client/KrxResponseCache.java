@@ -0,0 +1,197 @@
+package com.trading.explorer.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.util.KrxResponses;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * (apiId, 파라미터) 단위의 KRX 응답 캐시.
+ * 지난 영업일 데이터는 바뀌지 않으므로 만료 없이 보관하고, 오늘/어제 데이터와 OutBlock_1 이 빈 응답은 짧은 TTL 만 준다.
+ * 진행 중인 요청의 future 를 공유하므로 동일 요청이 동시에 들어와도 KRX 호출은 한 번만 나간다.
+ * 장 마감 후 확정 데이터로 확인된 응답은 {@link #pin} 으로 넣어 bizdate 와 무관하게 만료 없이 보관한다.
+ */
+@Component
+public class KrxResponseCache {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final KrxApiProperties.Cache config;
+    private final AsyncCache<CacheKey, ApiResponse> cache;
+    /** 고정된 키 -> 고정할 때 넣은 인스턴스. 해당 인스턴스가 캐시에서 빠질 때만 고정을 푼다 */
+    private final Map<CacheKey, ApiResponse> pinned = new ConcurrentHashMap<>();
+
+    public KrxResponseCache(KrxApiProperties properties) {
+        this.config = properties.getApi().getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((CacheKey key, ApiResponse response) -> weigh(response))
+                // 어제/오늘은 KRX 영업일 기준이므로 JVM 기본 시간대가 아닌 거래소 시간대로 센다
+                .expireAfter(new BizDateExpiry(config.getRecentTtl().toNanos(), pinned,
+                        ZoneId.of(properties.getPrefetch().getZone())))
+                // 용량 초과뿐 아니라 교체/명시적 제거로 빠져도 고정을 푼다. 리스너는 비동기로 돌므로
+                // 그 사이 같은 키가 다시 고정됐다면 새 인스턴스의 고정은 남도록 값까지 비교해 지운다
+                .removalListener((CacheKey key, ApiResponse response, RemovalCause cause) -> {
+                    if (key != null && response != null) {
+                        pinned.remove(key, response);
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Mono<ApiResponse> get(String apiId, Map<String, String> parameters, Supplier<Mono<ApiResponse>> loader) {
+        if (!config.isEnabled()) {
+            return loader.get();
+        }
+
+        CacheKey key = new CacheKey(apiId, parameters != null ? Map.copyOf(parameters) : Map.of());
+        return Mono.defer(() -> {
+            // 로더는 캐시에 없을 때 이 스레드에서 바로 호출된다. 로더를 부른 호출만 새로 받은 응답으로 본다
+            AtomicBoolean loaded = new AtomicBoolean();
+            // 구독자 하나가 취소해도 공유 중인 upstream 호출은 계속 진행되어야 한다
+            return Mono.fromFuture(cache.get(key, (k, executor) -> {
+                        loaded.set(true);
+                        return loader.get().toFuture();
+                    }), true)
+                    .map(response -> copyOf(response, !loaded.get()));
+        });
+    }
+
+    /**
+     * 이미 완료되어 캐시에 있는 응답만 돌려준다. 로딩 중이거나 없으면 비어 있다.
+     */
+    public Optional<ApiResponse> getIfPresent(String apiId, Map<String, String> parameters) {
+        if (!config.isEnabled()) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<ApiResponse> future = cache.getIfPresent(
+                new CacheKey(apiId, parameters != null ? Map.copyOf(parameters) : Map.of()));
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.join()).map(response -> copyOf(response, true));
+    }
+
+    /**
+     * 이미 받아 둔 확정 응답을 캐시에 넣는다. 용량 초과로 밀려나기 전까지 만료되지 않는다.
+     */
+    public void pin(String apiId, Map<String, String> parameters, ApiResponse response) {
+        if (!config.isEnabled() || !response.isSuccess()) {
+            return;
+        }
+
+        CacheKey key = new CacheKey(apiId, parameters != null ? Map.copyOf(parameters) : Map.of());
+        ApiResponse copy = copyOf(response, false);
+        pinned.put(key, copy);
+        cache.put(key, CompletableFuture.completedFuture(copy));
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.synchronous().stats();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("enabled", config.isEnabled());
+        result.put("entries", cache.synchronous().estimatedSize());
+        result.put("pinnedEntries", pinned.size());
+        result.put("weightBytes", cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.put("maxWeightBytes", config.getMaxSize().toBytes());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeightBytes", stats.evictionWeight());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    /**
+     * 캐시에 든 인스턴스는 여러 요청이 공유하므로 넣을 때와 꺼낼 때 모두 얕은 복사본을 쓴다 (본문 문자열은 공유).
+     * 파싱 결과(JsonNode 트리, pretty-print 문자열)는 본문보다 몇 배 크므로 복사본에만 붙고 캐시에는 남지 않는다.
+     */
+    private static ApiResponse copyOf(ApiResponse response, boolean cached) {
+        return response.toBuilder()
+                .parsed(null)
+                .cached(cached)
+                .build();
+    }
+
+    /** 캐시 인스턴스에는 파싱 결과가 붙지 않으므로({@link #copyOf}) 본문만 센다 */
+    private static int weigh(ApiResponse response) {
+        String body = response.getRawResponse();
+        // String 은 최악의 경우 문자당 2바이트를 차지한다
+        return body == null ? 1 : Math.max(1, body.length() * 2);
+    }
+
+    private record CacheKey(String apiId, Map<String, String> parameters) {
+    }
+
+    private static final class BizDateExpiry implements Expiry<CacheKey, ApiResponse> {
+
+        private final long recentTtlNanos;
+        private final Map<CacheKey, ApiResponse> pinned;
+        private final ZoneId zone;
+
+        BizDateExpiry(long recentTtlNanos, Map<CacheKey, ApiResponse> pinned, ZoneId zone) {
+            this.recentTtlNanos = recentTtlNanos;
+            this.pinned = pinned;
+            this.zone = zone;
+        }
+
+        @Override
+        public long expireAfterCreate(CacheKey key, ApiResponse response, long currentTime) {
+            if (!response.isSuccess()) {
+                return 0L;
+            }
+            // 빈 응답은 휴장일일 수도, 일시적인 빈 응답일 수도 있으므로 지난 날짜라도 짧게만 둔다
+            if (KrxResponses.hasEmptyRecordBlock(response.getRawResponse())) {
+                return recentTtlNanos;
+            }
+            return isSettled(key) || pinned.containsKey(key) ? Long.MAX_VALUE : recentTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, ApiResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, ApiResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private boolean isSettled(CacheKey key) {
+            String bizDate = key.parameters().get("bizdate");
+            if (bizDate == null) {
+                return false;
+            }
+            try {
+                return LocalDate.parse(bizDate, DATE_FORMAT).isBefore(LocalDate.now(zone).minusDays(1));
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.trading.explorer.client.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.trading.explorer.util.ParsedResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ApiResponse {
     
     private String apiId;
+    private String bizDate;
     private String rawResponse;
     private boolean success;
     private String errorMessage;
@@ -21,6 +26,17 @@ public class ApiResponse {
     private long responseTimeMs;
     private int httpStatus;
     
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ParsedResponse parsed;
+    
+    /** 이 호출이 KRX 를 부르지 않고 캐시에 있던 응답을 받았으면 true (이미 저장 파이프라인을 거친 응답) */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean cached;
+    
     public static ApiResponse success(String apiId, String rawResponse, long responseTimeMs) {
         return ApiResponse.builder()
                 .apiId(apiId)
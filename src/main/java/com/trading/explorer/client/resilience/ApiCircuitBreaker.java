@@ -0,0 +1,139 @@
+package com.trading.explorer.client.resilience;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API 하나의 차단기. 최근 호출 결과를 개수 기준 창으로 보고 실패율이 임계치를 넘으면 연다.
+ * 열린 뒤 open-duration 이 지나면 half-open 으로 바꿔 시험 호출 몇 개만 보내고, 모두 성공하면 닫는다.
+ * <p>
+ * 상태가 바뀔 때마다 세대(generation)를 올리고, 허가 번호로 세대를 돌려준다.
+ * 이전 세대에 나간 호출의 결과는 현재 상태 판단에 쓰지 않는다.
+ */
+@Slf4j
+public class ApiCircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    /** 요청을 보내지 않는다 */
+    public static final long REJECTED = -1;
+    
+    private final String apiId;
+    private final KrxApiProperties.CircuitBreaker config;
+    private final boolean[] failures;
+    
+    private State state = State.CLOSED;
+    private long generation;
+    private int next;
+    private int count;
+    private int failureCount;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private long rejected;
+    
+    public ApiCircuitBreaker(String apiId, KrxApiProperties.CircuitBreaker config) {
+        this.apiId = apiId;
+        this.config = config;
+        this.failures = new boolean[Math.max(1, config.getSlidingWindow())];
+    }
+    
+    /** 요청을 보내도 되면 허가 번호, 아니면 {@link #REJECTED} */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < config.getOpenDuration().toNanos()) {
+                rejected++;
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN, "open duration elapsed");
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= config.getHalfOpenProbes()) {
+                rejected++;
+                return REJECTED;
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+    
+    /** 호출 결과. 5xx(연결 실패, 타임아웃 포함)만 실패로 보고 429 는 스로틀 몫이라 세지 않는다. */
+    public synchronized void record(long permit, int httpStatus) {
+        if (permit != generation) {
+            return;
+        }
+        if (httpStatus == 429) {
+            release(permit);
+            return;
+        }
+        boolean failed = httpStatus >= 500;
+        
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (failed) {
+                transition(State.OPEN, "probe failed with HTTP " + httpStatus);
+            } else if (++probeSuccesses >= config.getHalfOpenProbes()) {
+                transition(State.CLOSED, probeSuccesses + " probes succeeded");
+            }
+            return;
+        }
+        
+        if (count == failures.length && failures[next]) {
+            failureCount--;
+        }
+        failures[next] = failed;
+        next = (next + 1) % failures.length;
+        count = Math.min(count + 1, failures.length);
+        if (failed) {
+            failureCount++;
+        }
+        if (count >= config.getMinimumCalls() && failureRate() >= config.getFailureRateThreshold()) {
+            transition(State.OPEN, String.format("failure rate %.0f%% over %d calls", failureRate() * 100, count));
+        }
+    }
+    
+    /** 결과 없이 끝난 호출(취소 등) */
+    public synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("state", state);
+        stats.put("calls", count);
+        stats.put("failureRate", failureRate());
+        stats.put("rejected", rejected);
+        return stats;
+    }
+    
+    private double failureRate() {
+        return count == 0 ? 0.0 : (double) failureCount / count;
+    }
+    
+    private void transition(State target, String reason) {
+        if (target == State.OPEN) {
+            log.warn("KRX circuit for {} opened ({}), failing fast for {}", apiId, reason, config.getOpenDuration());
+        } else {
+            log.info("KRX circuit for {} {} ({})", apiId, target == State.CLOSED ? "closed" : "half-open", reason);
+        }
+        state = target;
+        generation++;
+        openedAtNanos = System.nanoTime();
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (target == State.CLOSED) {
+            next = 0;
+            count = 0;
+            failureCount = 0;
+        }
+    }
+}
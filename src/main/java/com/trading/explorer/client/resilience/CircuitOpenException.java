@@ -0,0 +1,11 @@
+package com.trading.explorer.client.resilience;
+
+/**
+ * 차단기가 열려 있어 KRX 로 요청을 보내지 않았을 때 스트림 호출이 끝나는 예외.
+ */
+public class CircuitOpenException extends RuntimeException {
+    
+    public CircuitOpenException(String apiId) {
+        super("Circuit open for " + apiId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.trading.explorer.client.resilience;
+
+/**
+ * 헤지 요청 예산. 원 요청마다 ratio 만큼 토큰이 쌓이고 헤지 한 번에 토큰 하나를 쓴다.
+ * 장애로 모든 호출이 느려져도 헤지가 원 요청의 ratio 배를 넘지 않는다.
+ */
+public class HedgeBudget {
+    
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+    
+    public HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.maxTokens = Math.max(1, burst);
+        this.tokens = maxTokens;
+    }
+    
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+    
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+    
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+}
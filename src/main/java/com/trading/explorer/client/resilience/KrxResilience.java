@@ -0,0 +1,195 @@
+package com.trading.explorer.client.resilience;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * apiId 별 헤지 요청과 차단기.
+ * <ul>
+ *   <li>호출이 그 API 의 최근 p95 를 넘기면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 쓴다. 늦은 쪽은 취소한다.</li>
+ *   <li>헤지는 원 요청 대비 budget-ratio 이내로만 보낸다.</li>
+ *   <li>5xx 가 이어지는 API 는 차단기를 열어 KRX 로 보내지 않고 바로 503 으로 끝낸다.</li>
+ * </ul>
+ * 헤지도 스로틀을 거치도록 호출하는 쪽이 스로틀이 걸린 요청을 넘긴다.
+ * 지연 표본과 차단기는 krx.apis 에 있는 API 만 둔다. 그 밖의 apiId(요청 경로에서 온 임의의 값)는 그대로 호출한다.
+ */
+@Slf4j
+@Component
+public class KrxResilience {
+    
+    private final KrxApiProperties.Hedge hedgeConfig;
+    private final KrxApiProperties.CircuitBreaker breakerConfig;
+    private final KrxMetrics krxMetrics;
+    private final HedgeBudget budget;
+    private final Set<String> apiIds = new HashSet<>();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Map<String, ApiCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    
+    public KrxResilience(KrxApiProperties properties, KrxMetrics krxMetrics) {
+        this.hedgeConfig = properties.getApi().getHedge();
+        this.breakerConfig = properties.getApi().getCircuitBreaker();
+        this.krxMetrics = krxMetrics;
+        this.budget = new HedgeBudget(hedgeConfig.getBudgetRatio(), hedgeConfig.getBudgetBurst());
+        if (properties.getApis() != null) {
+            properties.getApis().values().forEach(apis -> apis.forEach(api -> apiIds.add(api.getId())));
+        }
+    }
+    
+    /**
+     * 차단기와 헤지를 씌워 호출한다. call 은 부를 때마다 새 요청을 만들어야 하고 오류 대신 실패 응답을 내야 한다.
+     * 인자로 받은 콜백은 스로틀을 통과해 요청을 실제로 보낼 때 부른다.
+     */
+    public Mono<ApiResponse> execute(String apiId, Function<Runnable, Mono<ApiResponse>> call) {
+        if (!apiIds.contains(apiId)) {
+            return Mono.defer(() -> call.apply(() -> { }));
+        }
+        if (!breakerConfig.isEnabled()) {
+            return hedged(apiId, call);
+        }
+        ApiCircuitBreaker breaker = breaker(apiId);
+        return Mono.defer(() -> {
+            long permit = breaker.tryAcquire();
+            if (permit == ApiCircuitBreaker.REJECTED) {
+                krxMetrics.recordCircuitRejection(apiId);
+                return Mono.just(ApiResponse.failure(apiId, "Circuit open for " + apiId + ", KRX not called", 503, 0));
+            }
+            return hedged(apiId, call)
+                    .doOnNext(response -> breaker.record(permit, response.getHttpStatus()))
+                    .doOnCancel(() -> breaker.release(permit));
+        });
+    }
+    
+    /**
+     * 스트림 호출에는 차단기만 씌운다. 본문을 내보내기 시작한 뒤에는 다른 요청으로 바꿔 탈 수 없다.
+     */
+    public <T> Flux<T> guard(String apiId, Flux<T> stream) {
+        if (!breakerConfig.isEnabled() || !apiIds.contains(apiId)) {
+            return stream;
+        }
+        ApiCircuitBreaker breaker = breaker(apiId);
+        return Flux.defer(() -> {
+            long permit = breaker.tryAcquire();
+            if (permit == ApiCircuitBreaker.REJECTED) {
+                krxMetrics.recordCircuitRejection(apiId);
+                return Flux.error(new CircuitOpenException(apiId));
+            }
+            return stream
+                    .doOnComplete(() -> breaker.record(permit, 200))
+                    .doOnError(ex -> breaker.record(permit, ex instanceof WebClientResponseException responseException
+                            ? responseException.getStatusCode().value() : 500))
+                    .doOnCancel(() -> breaker.release(permit));
+        });
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> apis = new TreeMap<>();
+        breakers.forEach((apiId, breaker) -> apis.put(apiId, new HashMap<>(breaker.getStats())));
+        latencies.forEach((apiId, window) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> api = (Map<String, Object>) apis.computeIfAbsent(apiId, key -> new HashMap<>());
+            long p95 = window.percentileNanos(hedgeConfig.getPercentile());
+            api.put("latencySamples", window.getCount());
+            api.put("latencyPercentileMs", p95 < 0 ? null : p95 / 1_000_000.0);
+        });
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hedgeEnabled", hedgeConfig.isEnabled());
+        stats.put("circuitBreakerEnabled", breakerConfig.isEnabled());
+        stats.put("hedgesSent", hedgesSent.get());
+        stats.put("hedgesWon", hedgesWon.get());
+        stats.put("hedgeBudgetTokens", budget.getAvailableTokens());
+        stats.put("apis", apis);
+        return stats;
+    }
+    
+    private Mono<ApiResponse> hedged(String apiId, Function<Runnable, Mono<ApiResponse>> call) {
+        LatencyWindow window = latencies.computeIfAbsent(apiId, key -> new LatencyWindow(hedgeConfig.getSampleWindow()));
+        return Mono.defer(() -> {
+            budget.onRequest();
+            Duration delay = hedgeDelay(window);
+            if (delay == null) {
+                return sampled(window, call.apply(() -> { }));
+            }
+            
+            // 헤지 대기는 원 요청이 스로틀을 통과해 실제로 나간 뒤부터 잰다. 줄 서 있는 요청을 헤지해 봐야 줄만 길어진다.
+            Sinks.One<Boolean> sent = Sinks.one();
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            AtomicReference<ApiResponse> failure = new AtomicReference<>();
+            Mono<ApiResponse> primary = sampled(window, call.apply(() -> sent.tryEmitValue(true)))
+                    .doOnNext(response -> {
+                        if (!response.isSuccess()) {
+                            failure.set(response);
+                            primaryFailed.tryEmitValue(true);
+                        }
+                    })
+                    .filter(ApiResponse::isSuccess);
+            // 원 요청이 실패로 끝나면 아직 보내지 않은 헤지는 접는다
+            Mono<ApiResponse> hedge = sent.asMono()
+                    .then(Mono.delay(delay))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> budget.tryAcquire())
+                    .flatMap(tick -> {
+                        hedgesSent.incrementAndGet();
+                        krxMetrics.recordHedge(apiId, "sent");
+                        log.debug("KRX API {} exceeded {}ms, sending hedge request", apiId, delay.toMillis());
+                        return sampled(window, call.apply(() -> { }));
+                    })
+                    .doOnNext(response -> {
+                        if (!response.isSuccess()) {
+                            failure.compareAndSet(null, response);
+                        }
+                    })
+                    .filter(ApiResponse::isSuccess)
+                    .doOnNext(response -> {
+                        hedgesWon.incrementAndGet();
+                        krxMetrics.recordHedge(apiId, "won");
+                    });
+            
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorResume(ex -> failure.get() != null ? Mono.just(failure.get()) : Mono.error(ex));
+        });
+    }
+    
+    /** 표본이 모자라거나 헤지를 끈 경우 null */
+    private Duration hedgeDelay(LatencyWindow window) {
+        if (!hedgeConfig.isEnabled() || window.getCount() < hedgeConfig.getMinSamples()) {
+            return null;
+        }
+        long nanos = Math.max(window.percentileNanos(hedgeConfig.getPercentile()), hedgeConfig.getMinDelay().toNanos());
+        return Duration.ofNanos(nanos);
+    }
+    
+    /** 지연 표본은 스로틀 대기를 뺀 응답 시간(요청 송신부터 본문 수신까지)이다 */
+    private static Mono<ApiResponse> sampled(LatencyWindow window, Mono<ApiResponse> attempt) {
+        return attempt.doOnNext(response -> {
+            if (response.isSuccess()) {
+                window.record(TimeUnit.MILLISECONDS.toNanos(response.getResponseTimeMs()));
+            }
+        });
+    }
+    
+    private ApiCircuitBreaker breaker(String apiId) {
+        return breakers.computeIfAbsent(apiId, key -> new ApiCircuitBreaker(key, breakerConfig));
+    }
+}
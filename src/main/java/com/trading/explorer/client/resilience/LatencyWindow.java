@@ -0,0 +1,45 @@
+package com.trading.explorer.client.resilience;
+
+import java.util.Arrays;
+
+/**
+ * API 하나의 최근 성공 응답 지연. 고정 크기 링 버퍼에 넣고 백분위는 조회할 때 다시 계산한다.
+ */
+public class LatencyWindow {
+    
+    private final long[] samples;
+    private int next;
+    private int count;
+    private long cachedPercentileNanos = -1;
+    private double cachedPercentile;
+    
+    public LatencyWindow(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+    
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        cachedPercentileNanos = -1;
+    }
+    
+    public synchronized int getCount() {
+        return count;
+    }
+    
+    /** 표본이 없으면 -1 */
+    public synchronized long percentileNanos(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        if (cachedPercentileNanos < 0 || cachedPercentile != percentile) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(count * percentile) - 1;
+            cachedPercentileNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+            cachedPercentile = percentile;
+        }
+        return cachedPercentileNanos;
+    }
+}
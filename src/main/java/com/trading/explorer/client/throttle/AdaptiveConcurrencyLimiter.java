@@ -0,0 +1,183 @@
+package com.trading.explorer.client.throttle;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * AIMD 방식의 동시 호출 한도.
+ * 응답이 정상이고 지연이 평탄하면 한도를 1/limit 씩 늘리고, 429/5xx 또는 p95 상승이 보이면 backoff-ratio 만큼 줄인다.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    
+    private final KrxApiProperties.Concurrency config;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final long[] samples;
+    
+    private double limit;
+    private int inFlight;
+    private int sampleCount;
+    private long baselineP95Nanos;
+    private long lastP95Nanos;
+    
+    public AdaptiveConcurrencyLimiter(KrxApiProperties.Concurrency config) {
+        this.config = config;
+        this.samples = new long[Math.max(1, config.getSampleWindow())];
+        this.limit = clamp(config.getInitialLimit());
+    }
+    
+    public Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            
+            boolean granted;
+            synchronized (this) {
+                granted = waiters.isEmpty() && inFlight < (int) limit;
+                if (granted) {
+                    inFlight++;
+                    waiter.granted = true;
+                } else {
+                    waiters.addLast(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(new Permit());
+            }
+        });
+    }
+    
+    public synchronized double getLimit() {
+        return limit;
+    }
+    
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+    
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+    
+    public synchronized long getLastP95Nanos() {
+        return lastP95Nanos;
+    }
+    
+    private void release(long latencyNanos, int httpStatus) {
+        synchronized (this) {
+            inFlight--;
+            if (latencyNanos >= 0) {
+                onSample(latencyNanos, httpStatus);
+            }
+        }
+        grantWaiters();
+    }
+    
+    private void onSample(long latencyNanos, int httpStatus) {
+        if (httpStatus == 429 || httpStatus >= 500) {
+            backOff("HTTP " + httpStatus);
+            return;
+        }
+        
+        limit = clamp(limit + 1.0 / limit);
+        samples[sampleCount++] = latencyNanos;
+        if (sampleCount < samples.length) {
+            return;
+        }
+        
+        sampleCount = 0;
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        lastP95Nanos = sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+        
+        if (baselineP95Nanos == 0) {
+            baselineP95Nanos = lastP95Nanos;
+        } else if (lastP95Nanos > baselineP95Nanos * config.getLatencyTolerance()) {
+            backOff("p95 " + lastP95Nanos / 1_000_000 + "ms");
+        } else {
+            // 평탄한 구간의 p95 로 기준을 천천히 따라간다
+            baselineP95Nanos = (long) (baselineP95Nanos * 0.8 + lastP95Nanos * 0.2);
+        }
+    }
+    
+    private void backOff(String reason) {
+        double previous = limit;
+        limit = clamp(limit * config.getBackoffRatio());
+        log.debug("KRX concurrency limit decreased {} -> {} ({})", (int) previous, (int) limit, reason);
+    }
+    
+    private double clamp(double value) {
+        return Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value));
+    }
+    
+    private void grantWaiters() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                if (waiters.isEmpty() || inFlight >= (int) limit) {
+                    return;
+                }
+                next = waiters.pollFirst();
+                inFlight++;
+                next.granted = true;
+            }
+            next.sink.success(new Permit());
+        }
+    }
+    
+    private void cancel(Waiter waiter) {
+        boolean releaseSlot;
+        synchronized (this) {
+            releaseSlot = !waiters.remove(waiter) && waiter.granted;
+        }
+        // 허가를 받은 직후 취소된 경우 슬롯을 돌려준다
+        if (releaseSlot) {
+            release(-1, 0);
+        }
+    }
+    
+    private static final class Waiter {
+        
+        private final MonoSink<Permit> sink;
+        private boolean granted;
+        
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+    
+    public final class Permit {
+        
+        private volatile long startedNanos = System.nanoTime();
+        private volatile int httpStatus = -1;
+        private boolean released;
+        
+        void markStarted() {
+            this.startedNanos = System.nanoTime();
+        }
+        
+        public void recordStatus(int httpStatus) {
+            this.httpStatus = httpStatus;
+        }
+        
+        public Mono<Void> release() {
+            return Mono.fromRunnable(() -> {
+                synchronized (this) {
+                    if (released) {
+                        return;
+                    }
+                    released = true;
+                }
+                // 상태 코드가 없으면(취소 등) 한도 조정 샘플로 쓰지 않는다
+                long latency = httpStatus < 0 ? -1 : System.nanoTime() - startedNanos;
+                AdaptiveConcurrencyLimiter.this.release(latency, httpStatus);
+            });
+        }
+    }
+}
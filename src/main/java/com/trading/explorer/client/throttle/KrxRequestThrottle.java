@@ -0,0 +1,65 @@
+package com.trading.explorer.client.throttle;
+
+import com.trading.explorer.config.KrxApiProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 모든 KRX 호출이 지나가는 관문. 동시 호출 슬롯을 얻은 뒤 토큰 버킷에서 토큰을 받아야 요청이 나간다.
+ */
+@Component
+public class KrxRequestThrottle {
+    
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    
+    public KrxRequestThrottle(KrxApiProperties properties) {
+        KrxApiProperties.RateLimit rateLimit = properties.getApi().getRateLimit();
+        this.rateLimiter = new TokenBucketRateLimiter(rateLimit.getPermitsPerSecond(), rateLimit.getBurst());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.getApi().getConcurrency());
+    }
+    
+    public <T> Mono<T> execute(Function<AdaptiveConcurrencyLimiter.Permit, Mono<T>> call) {
+        return Mono.usingWhen(
+                acquire(),
+                call,
+                AdaptiveConcurrencyLimiter.Permit::release,
+                (permit, error) -> permit.release(),
+                AdaptiveConcurrencyLimiter.Permit::release);
+    }
+    
+    public <T> Flux<T> executeMany(Function<AdaptiveConcurrencyLimiter.Permit, Flux<T>> call) {
+        return Flux.usingWhen(
+                acquire(),
+                call,
+                AdaptiveConcurrencyLimiter.Permit::release,
+                (permit, error) -> permit.release(),
+                AdaptiveConcurrencyLimiter.Permit::release);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("concurrencyLimit", concurrencyLimiter.getLimit());
+        stats.put("inFlight", concurrencyLimiter.getInFlight());
+        stats.put("waiting", concurrencyLimiter.getWaiting());
+        stats.put("recentP95Ms", concurrencyLimiter.getLastP95Nanos() / 1_000_000.0);
+        stats.put("availableTokens", rateLimiter.getAvailableTokens());
+        return stats;
+    }
+    
+    private Mono<AdaptiveConcurrencyLimiter.Permit> acquire() {
+        return concurrencyLimiter.acquire()
+                .flatMap(permit -> rateLimiter.acquire()
+                        .then(Mono.fromCallable(() -> {
+                            permit.markStarted();
+                            return permit;
+                        }))
+                        // 토큰을 기다리다 취소되면 슬롯을 돌려준다
+                        .doOnCancel(() -> permit.release().subscribe()));
+    }
+}
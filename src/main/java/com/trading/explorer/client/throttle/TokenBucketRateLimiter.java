@@ -0,0 +1,51 @@
+package com.trading.explorer.client.throttle;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 예약 방식의 토큰 버킷. 토큰이 없으면 다음 토큰이 생길 때까지 기다리는 Mono 를 돌려주며 스레드를 막지 않는다.
+ */
+public class TokenBucketRateLimiter {
+    
+    private final double permitsPerNano;
+    private final double burst;
+    
+    private double tokens;
+    private long lastRefillNanos;
+    
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+    
+    public synchronized double getAvailableTokens() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+    
+    private synchronized long reserve() {
+        refill(System.nanoTime());
+        tokens -= 1;
+        // 음수 잔량은 이미 예약된 대기열 길이를 뜻한다
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+    
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
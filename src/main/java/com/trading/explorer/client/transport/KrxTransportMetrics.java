@@ -0,0 +1,87 @@
+package com.trading.explorer.client.transport;
+
+import com.trading.explorer.metrics.KrxMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * KRX 커넥션 풀 사용량을 지표로 등록한다.
+ * 커넥션 획득 지연은 호출 단위로 {@code krx.client.stage{stage=acquire}} 에 기록되며,
+ * 풀 대기 + (새 커넥션이면) DNS/TCP/TLS 연결 시간이 포함된다.
+ */
+@Component
+public class KrxTransportMetrics implements ConnectionProvider.MeterRegistrar {
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    
+    public KrxTransportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        String remote = remoteAddress.toString();
+        pools.put(remote, metrics);
+        
+        Tags tags = Tags.of("pool", poolName, "remote", remote);
+        gauge("krx.transport.pool.acquired", tags, metrics, ConnectionPoolMetrics::acquiredSize);
+        gauge("krx.transport.pool.allocated", tags, metrics, ConnectionPoolMetrics::allocatedSize);
+        gauge("krx.transport.pool.idle", tags, metrics, ConnectionPoolMetrics::idleSize);
+        gauge("krx.transport.pool.pending", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize);
+        gauge("krx.transport.pool.max", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize);
+    }
+    
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(remoteAddress.toString());
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> pools = new HashMap<>();
+        this.pools.forEach((remote, metrics) -> {
+            Map<String, Object> pool = new HashMap<>();
+            pool.put("acquired", metrics.acquiredSize());
+            pool.put("allocated", metrics.allocatedSize());
+            pool.put("idle", metrics.idleSize());
+            pool.put("pendingAcquire", metrics.pendingAcquireSize());
+            pool.put("maxAllocated", metrics.maxAllocatedSize());
+            pool.put("utilization", metrics.maxAllocatedSize() > 0
+                    ? (double) metrics.acquiredSize() / metrics.maxAllocatedSize() : 0.0);
+            pools.put(remote, pool);
+        });
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pools", pools);
+        
+        // API 별 획득 지연 타이머를 합산한다
+        long acquireCount = 0;
+        double acquireTotalMs = 0;
+        double acquireMaxMs = 0;
+        for (Timer timer : meterRegistry.find(KrxMetrics.STAGE_TIMER).tag("stage", KrxMetrics.ACQUIRE).timers()) {
+            acquireCount += timer.count();
+            acquireTotalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            acquireMaxMs = Math.max(acquireMaxMs, timer.max(TimeUnit.MILLISECONDS));
+        }
+        stats.put("acquireCount", acquireCount);
+        stats.put("acquireMeanMs", acquireCount > 0 ? acquireTotalMs / acquireCount : 0.0);
+        stats.put("acquireMaxMs", acquireMaxMs);
+        return stats;
+    }
+    
+    private void gauge(String name, Tags tags, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(name, metrics, value).tags(tags).register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.trading.explorer.client.transport;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 기동 직후 base-url 로 HEAD 요청을 동시에 보내 커넥션을 미리 열어 둔다.
+ * 첫 API 호출과 전체 탐색이 DNS 조회와 TCP/TLS 핸드셰이크 비용을 치르지 않도록 하기 위함이며,
+ * KRX API 호출이 아니므로 토큰 버킷을 거치지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KrxTransportWarmup {
+    
+    private final WebClient webClient;
+    private final KrxApiProperties properties;
+    private final KrxTransportMetrics transportMetrics;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        KrxApiProperties.Transport transport = properties.getApi().getTransport();
+        int connections = Math.min(transport.getWarmupConnections(), transport.getMaxConnections());
+        if (connections <= 0) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        // 동시에 보내야 서로 다른 커넥션이 열린다
+        Flux.range(0, connections)
+                .flatMap(i -> webClient.head()
+                        .uri("/")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(1))
+                        .timeout(transport.getConnectTimeout().plus(Duration.ofSeconds(5)))
+                        .onErrorResume(ex -> {
+                            log.debug("Transport warm-up request failed: {}", ex.getMessage());
+                            return Mono.just(0);
+                        }), connections)
+                .reduce(0, Integer::sum)
+                .subscribe(opened -> log.info("Transport warm-up: {}/{} connections to {} in {}ms, pools={}",
+                        opened, connections, properties.getApi().getBaseUrl(),
+                        (System.nanoTime() - start) / 1_000_000, transportMetrics.getStats().get("pools")));
+    }
+}
@@ -0,0 +1,225 @@
+package com.trading.explorer.cluster;
+
+import com.trading.explorer.config.KrxApiProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 여러 인스턴스가 (apiId, bizdate) 작업 단위를 나눠 받도록 조율한다.
+ * <ul>
+ *   <li>살아 있는 노드(heartbeat)로 consistent hash ring 을 만들어 단위마다 담당 노드를 정한다</li>
+ *   <li>실제로 받기 전에는 {@link LeaseStore} 임대를 잡고, 끝나면 완료로 표시해 어느 노드도 다시 받지 않는다</li>
+ *   <li>노드가 죽으면 heartbeat 가 끊겨 ring 에서 빠지고, 잡고 있던 임대는 만료 후 새 담당 노드가 가져간다</li>
+ *   <li>멈췄다 깨어난 노드가 갱신에 실패하면 그 단위의 진행 중인 작업을 취소하고 결과를 완료로 표시하지 않는다</li>
+ * </ul>
+ * krx.cluster.enabled 가 꺼져 있으면 모든 단위를 이 노드가 담당한다.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+    
+    private final KrxApiProperties.Cluster config;
+    private final LeaseStore leaseStore;
+    private final String nodeId;
+    
+    private final Map<String, HeldLease> heldLeases = new ConcurrentHashMap<>();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong lostLeases = new AtomicLong();
+    
+    private volatile HashRing ring;
+    private Disposable heartbeats;
+    
+    public ClusterCoordinator(KrxApiProperties properties, LeaseStore leaseStore) {
+        this.config = properties.getCluster();
+        this.leaseStore = leaseStore;
+        this.nodeId = config.getNodeId() != null && !config.getNodeId().isBlank()
+                ? config.getNodeId()
+                : defaultNodeId();
+        this.ring = new HashRing(List.of(nodeId), config.getVirtualNodes());
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        heartbeat();
+        heartbeats = Flux.interval(config.getHeartbeatInterval(), config.getHeartbeatInterval(), Schedulers.boundedElastic())
+                .subscribe(tick -> {
+                    try {
+                        heartbeat();
+                    } catch (RuntimeException e) {
+                        log.warn("Cluster heartbeat failed: {}", e.getMessage());
+                    }
+                });
+        log.info("Cluster coordination enabled: node={}, liveNodes={}", nodeId, ring.nodes());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (heartbeats == null) {
+            return;
+        }
+        heartbeats.dispose();
+        // 정상 종료라면 만료를 기다리지 않고 바로 넘겨준다
+        heldLeases.values().forEach(held -> leaseStore.release(held.lease()));
+        leaseStore.leave(nodeId);
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    public String owner(String apiId, String bizDate) {
+        return config.isEnabled() ? ring.owner(unitKey(apiId, bizDate)) : nodeId;
+    }
+    
+    public boolean isOwner(String apiId, String bizDate) {
+        return nodeId.equals(owner(apiId, bizDate));
+    }
+    
+    public boolean isDone(String apiId, String bizDate) {
+        return config.isEnabled() && leaseStore.isDone(unitKey(apiId, bizDate));
+    }
+    
+    /**
+     * 임대를 잡은 경우에만 work 를 실행한다. 다른 노드가 갖고 있거나 이미 완료된 단위면 빈 Mono.
+     * work 의 결과가 completed 를 만족하면 단위를 완료로 표시하고, 아니면 임대만 반납해 다시 시도할 수 있게 한다.
+     * 실행 중에 임대를 잃으면 work 를 취소하고 빈 Mono 로 끝난다.
+     */
+    public <T> Mono<T> claim(String apiId, String bizDate, Mono<T> work, Predicate<? super T> completed) {
+        if (!config.isEnabled()) {
+            return work;
+        }
+        String unitKey = unitKey(apiId, bizDate);
+        
+        return Mono.fromCallable(() -> leaseStore.tryAcquire(unitKey, nodeId, config.getLeaseTtl()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(lease -> {
+                    if (lease.isEmpty()) {
+                        contended.incrementAndGet();
+                        return Mono.empty();
+                    }
+                    acquired.incrementAndGet();
+                    Sinks.Empty<Void> lost = Sinks.empty();
+                    heldLeases.put(unitKey, new HeldLease(lease.get(), lost));
+                    return work
+                            .publishOn(Schedulers.boundedElastic())
+                            .doOnNext(result -> finish(unitKey, completed.test(result)))
+                            .doOnError(error -> finish(unitKey, false))
+                            .doOnCancel(() -> finish(unitKey, false))
+                            .takeUntilOther(lost.asMono());
+                });
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("nodeId", nodeId);
+        stats.put("liveNodes", ring.nodes());
+        stats.put("heldLeases", heldLeases.keySet());
+        stats.put("acquired", acquired.get());
+        stats.put("completed", completed.get());
+        stats.put("contended", contended.get());
+        stats.put("lostLeases", lostLeases.get());
+        return stats;
+    }
+    
+    /** 각 API 의 해당 영업일 담당 노드. */
+    public Map<String, String> assignments(List<String> apiIds, String bizDate) {
+        Map<String, String> assignments = new LinkedHashMap<>();
+        apiIds.forEach(apiId -> assignments.put(apiId, owner(apiId, bizDate)));
+        return assignments;
+    }
+    
+    private void finish(String unitKey, boolean done) {
+        // heartbeat 가 이 단위를 갱신하는 중이면 끝날 때까지 기다렸다가 갱신된 임대를 받는다
+        HeldLease held = heldLeases.remove(unitKey);
+        if (held == null) {
+            return;
+        }
+        if (!done) {
+            leaseStore.release(held.lease());
+        } else if (leaseStore.complete(held.lease())) {
+            completed.incrementAndGet();
+        } else {
+            lostLeases.incrementAndGet();
+            log.warn("Lost lease {} before completion (taken over by another node)", unitKey);
+        }
+    }
+    
+    void heartbeat() {
+        leaseStore.heartbeat(nodeId);
+        
+        Set<String> live = new HashSet<>(leaseStore.liveNodes(config.getNodeTtl()));
+        live.add(nodeId);
+        if (!live.equals(ring.nodes())) {
+            log.info("Cluster membership changed: {} -> {}", ring.nodes(), live);
+            ring = new HashRing(live, config.getVirtualNodes());
+        }
+        
+        // 오래 걸리는 단위(재시도 대기 포함)도 살아 있는 동안은 임대를 유지한다.
+        // 단위별 compute 안에서 갱신하므로 같은 단위의 finish 는 갱신이 끝난 임대로 완료/반납한다
+        List<HeldLease> lost = new ArrayList<>();
+        for (String unitKey : heldLeases.keySet()) {
+            heldLeases.computeIfPresent(unitKey, (key, held) -> {
+                Optional<Lease> renewed = leaseStore.renew(held.lease(), config.getLeaseTtl());
+                if (renewed.isEmpty()) {
+                    lostLeases.incrementAndGet();
+                    log.warn("Lost lease {} (taken over by another node), cancelling its work", key);
+                    lost.add(held);
+                    return null;
+                }
+                return new HeldLease(renewed.get(), held.lost());
+            });
+        }
+        // 취소는 map 밖에서 알린다 - 취소 콜백이 같은 map 의 finish 로 들어오기 때문이다
+        lost.forEach(held -> held.lost().tryEmitEmpty());
+    }
+    
+    static String unitKey(String apiId, String bizDate) {
+        return apiId + "_" + bizDate;
+    }
+    
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+    
+    /** 잡고 있는 임대와, 임대를 잃었을 때 진행 중인 work 를 끊는 신호. */
+    private record HeldLease(Lease lease, Sinks.Empty<Void> lost) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.trading.explorer.cluster;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+/**
+ * 공유 디렉터리 기반 {@link LeaseStore}. 같은 호스트의 여러 프로세스나 공유 볼륨을 마운트한 컨테이너끼리 쓴다.
+ * <ul>
+ *   <li>{directory}/leases/{unit}.lease - "owner\nexpiresAtMillis"</li>
+ *   <li>{directory}/done/{unit}.done - 완료 표시</li>
+ *   <li>{directory}/nodes/{nodeId}.node - 마지막 heartbeat 시각</li>
+ * </ul>
+ * 임대의 읽기-수정-쓰기는 {directory}/.lock 파일 잠금 안에서만 하므로 두 노드가 같은 단위를 동시에 잡지 않는다.
+ * 갱신/반납/완료는 파일의 임대가 넘겨받은 임대와 (소유자, 만료 시각) 까지 같을 때만 한다 - 만료 시각이 세대 역할을 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "krx.cluster", name = "lease-store", havingValue = "file", matchIfMissing = true)
+public class FileLeaseStore implements LeaseStore {
+    
+    private static final String LEASE_SUFFIX = ".lease";
+    private static final String DONE_SUFFIX = ".done";
+    private static final String NODE_SUFFIX = ".node";
+    
+    private final Path lockFile;
+    private final Path leaseDir;
+    private final Path doneDir;
+    private final Path nodeDir;
+    
+    public FileLeaseStore(KrxApiProperties properties) {
+        Path baseDir = Paths.get(properties.getCluster().getDirectory());
+        this.lockFile = baseDir.resolve(".lock");
+        this.leaseDir = baseDir.resolve("leases");
+        this.doneDir = baseDir.resolve("done");
+        this.nodeDir = baseDir.resolve("nodes");
+    }
+    
+    @Override
+    public Optional<Lease> tryAcquire(String unitKey, String owner, Duration ttl) {
+        return locked(() -> {
+            if (Files.exists(donePath(unitKey))) {
+                return Optional.empty();
+            }
+            long now = System.currentTimeMillis();
+            Optional<Lease> current = readLease(unitKey);
+            if (current.isPresent() && !current.get().owner().equals(owner) && !current.get().isExpired(now)) {
+                return Optional.empty();
+            }
+            if (current.isPresent() && !current.get().owner().equals(owner)) {
+                log.info("Taking over expired lease {} from {}", unitKey, current.get().owner());
+            }
+            Lease lease = new Lease(unitKey, owner, now + ttl.toMillis());
+            writeLease(lease);
+            return Optional.of(lease);
+        });
+    }
+    
+    @Override
+    public Optional<Lease> renew(Lease lease, Duration ttl) {
+        return locked(() -> {
+            if (!isCurrent(lease)) {
+                return Optional.empty();
+            }
+            Lease renewed = new Lease(lease.unitKey(), lease.owner(), System.currentTimeMillis() + ttl.toMillis());
+            writeLease(renewed);
+            return Optional.of(renewed);
+        });
+    }
+    
+    @Override
+    public boolean release(Lease lease) {
+        return locked(() -> {
+            if (!isCurrent(lease)) {
+                return false;
+            }
+            Files.deleteIfExists(leasePath(lease.unitKey()));
+            return true;
+        });
+    }
+    
+    @Override
+    public boolean complete(Lease lease) {
+        return locked(() -> {
+            // 만료 후 다른 노드(또는 재기동한 같은 노드)가 넘겨받았으면 그쪽 결과를 덮어쓰지 않는다
+            if (!isCurrent(lease)) {
+                return false;
+            }
+            Files.createDirectories(doneDir);
+            writeAtomically(donePath(lease.unitKey()), lease.owner() + "\n" + System.currentTimeMillis());
+            Files.deleteIfExists(leasePath(lease.unitKey()));
+            return true;
+        });
+    }
+    
+    @Override
+    public boolean isDone(String unitKey) {
+        return Files.exists(donePath(unitKey));
+    }
+    
+    @Override
+    public void heartbeat(String nodeId) {
+        try {
+            Files.createDirectories(nodeDir);
+            writeAtomically(nodeDir.resolve(nodeId + NODE_SUFFIX), String.valueOf(System.currentTimeMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public Set<String> liveNodes(Duration ttl) {
+        if (!Files.isDirectory(nodeDir)) {
+            return Set.of();
+        }
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        Set<String> live = new HashSet<>();
+        try (Stream<Path> files = Files.list(nodeDir)) {
+            files.filter(path -> path.getFileName().toString().endsWith(NODE_SUFFIX)).forEach(path -> {
+                String name = path.getFileName().toString();
+                try {
+                    long lastHeartbeat = Long.parseLong(Files.readString(path).trim());
+                    if (lastHeartbeat >= cutoff) {
+                        live.add(name.substring(0, name.length() - NODE_SUFFIX.length()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // 그 사이 leave 한 노드
+                } catch (IOException | NumberFormatException e) {
+                    log.warn("Unreadable node heartbeat {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return live;
+    }
+    
+    @Override
+    public void leave(String nodeId) {
+        try {
+            Files.deleteIfExists(nodeDir.resolve(nodeId + NODE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to remove node heartbeat for {}: {}", nodeId, e.getMessage());
+        }
+    }
+    
+    private <T> T locked(Callable<T> action) {
+        // FileLock 은 프로세스 단위라 같은 JVM 안의 스레드끼리는 따로 막아야 한다
+        synchronized (this) {
+            try {
+                Files.createDirectories(leaseDir);
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = channel.lock()) {
+                    return action.call();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    /** 잠금 안에서만 부른다. */
+    private boolean isCurrent(Lease lease) throws IOException {
+        return readLease(lease.unitKey()).filter(lease::equals).isPresent();
+    }
+    
+    private Optional<Lease> readLease(String unitKey) throws IOException {
+        try {
+            String[] lines = Files.readString(leasePath(unitKey)).split("\n");
+            return Optional.of(new Lease(unitKey, lines[0], Long.parseLong(lines[1].trim())));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            log.warn("Ignoring corrupt lease file for {}", unitKey);
+            return Optional.empty();
+        }
+    }
+    
+    private void writeLease(Lease lease) throws IOException {
+        writeAtomically(leasePath(lease.unitKey()), lease.owner() + "\n" + lease.expiresAtMillis());
+    }
+    
+    private static void writeAtomically(Path target, String content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private Path leasePath(String unitKey) {
+        return leaseDir.resolve(unitKey + LEASE_SUFFIX);
+    }
+    
+    private Path donePath(String unitKey) {
+        return doneDir.resolve(unitKey + DONE_SUFFIX);
+    }
+}
@@ -0,0 +1,11 @@
+package com.trading.explorer.cluster;
+
+/**
+ * 작업 단위 하나에 대한 임대. expiresAtMillis 가 지나면 다른 노드가 가져갈 수 있다.
+ */
+public record Lease(String unitKey, String owner, long expiresAtMillis) {
+    
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,37 @@
+package com.trading.explorer.cluster;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 인스턴스 간 작업 분배에 쓰는 임대/완료 표시/노드 생존 정보 저장소.
+ * 기본 구현은 공유 디렉터리의 파일 잠금을 쓰는 {@link FileLeaseStore} 이며, krx.cluster.lease-store 로 교체한다.
+ * 구현은 블로킹 I/O 를 해도 된다 (호출 측이 boundedElastic 에서 부른다).
+ */
+public interface LeaseStore {
+    
+    /** 완료되지 않았고 다른 노드가 유효한 임대를 갖고 있지 않으면 임대를 잡는다. */
+    Optional<Lease> tryAcquire(String unitKey, String owner, Duration ttl);
+    
+    /** 저장소의 임대가 아직 이 임대(소유자, 만료 시각까지 같음)이면 만료 시각을 늘린다. */
+    Optional<Lease> renew(Lease lease, Duration ttl);
+    
+    /** 저장소의 임대가 아직 이 임대이면 반납한다. 이미 넘어갔으면 false. */
+    boolean release(Lease lease);
+    
+    /**
+     * 저장소의 임대가 아직 이 임대이면 작업 단위를 완료로 표시하고 임대를 반납한다. 완료된 단위는 다시 임대되지 않는다.
+     * 만료되어 다른 노드에 넘어갔으면 아무것도 하지 않고 false.
+     */
+    boolean complete(Lease lease);
+    
+    boolean isDone(String unitKey);
+    
+    void heartbeat(String nodeId);
+    
+    /** 마지막 heartbeat 가 ttl 이내인 노드들. */
+    Set<String> liveNodes(Duration ttl);
+    
+    void leave(String nodeId);
+}
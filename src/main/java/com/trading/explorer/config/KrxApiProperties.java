@@ -2,8 +2,11 @@ package com.trading.explorer.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +16,20 @@ public class KrxApiProperties {
     
     private Api api = new Api();
     private Map<String, List<ApiDefinition>> apis;
+    private Persistence persistence = new Persistence();
+    private Archive archive = new Archive();
+    private Calendar calendar = new Calendar();
+    private Backfill backfill = new Backfill();
+    private Store store = new Store();
+    private Series series = new Series();
+    private Indicators indicators = new Indicators();
+    private Reference reference = new Reference();
+    private Prefetch prefetch = new Prefetch();
+    private Cluster cluster = new Cluster();
+    private Market market = new Market();
+    private Schema schema = new Schema();
+    private Subscription subscription = new Subscription();
+    private Mock mock = new Mock();
     
     @Data
     public static class Api {
@@ -20,6 +37,224 @@ public class KrxApiProperties {
         private String key = "";
         private Duration timeout = Duration.ofSeconds(30);
         private String defaultFormat = "json";
+        private Cache cache = new Cache();
+        private RateLimit rateLimit = new RateLimit();
+        private Concurrency concurrency = new Concurrency();
+        private Transport transport = new Transport();
+        private Hedge hedge = new Hedge();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+    
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+        private Duration recentTtl = Duration.ofMinutes(5);
+    }
+    
+    @Data
+    public static class RateLimit {
+        private double permitsPerSecond = 10.0;
+        private int burst = 10;
+    }
+    
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 4;
+        private int minLimit = 1;
+        private int maxLimit = 32;
+        private double backoffRatio = 0.5;
+        private double latencyTolerance = 1.5;
+        private int sampleWindow = 20;
+    }
+    
+    @Data
+    public static class Transport {
+        private int maxConnections = 32;
+        private int pendingAcquireMaxCount = 256;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(15);
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private boolean keepAlive = true;
+        private boolean compress = true;
+        private Duration dnsCacheTtl = Duration.ofMinutes(5);
+        private int warmupConnections = 4;
+        private boolean metrics = true;
+    }
+    
+    @Data
+    public static class Hedge {
+        private boolean enabled = true;
+        private double percentile = 0.95;
+        private int sampleWindow = 100;
+        private int minSamples = 20;
+        private Duration minDelay = Duration.ofMillis(50);
+        private double budgetRatio = 0.1;
+        private int budgetBurst = 10;
+    }
+    
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int slidingWindow = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 2;
+    }
+    
+    @Data
+    public static class Persistence {
+        private String directory = "logs/responses";
+        private int queueCapacity = 1024;
+        private int batchSize = 32;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        private Duration blockTimeout = Duration.ofSeconds(5);
+        private boolean fsync = true;
+        private boolean jsonFiles = false;
+    }
+    
+    @Data
+    public static class Archive {
+        private boolean enabled = true;
+        private String directory = "data/archive";
+        private DataSize segmentSize = DataSize.ofMegabytes(256);
+        private int compressionLevel = 6;
+    }
+    
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+    
+    @Data
+    public static class Calendar {
+        private List<LocalDate> holidays = new ArrayList<>();
+    }
+    
+    @Data
+    public static class Backfill {
+        private String directory = "logs/backfill";
+        private int parallelism = 4;
+        private boolean resumeOnStartup = true;
+    }
+    
+    @Data
+    public static class Store {
+        private boolean enabled = true;
+        private String directory = "data/columnar";
+        private int maxOpenSegments = 256;
+    }
+    
+    @Data
+    public static class Series {
+        private boolean enabled = true;
+        private List<String> apis = new ArrayList<>(List.of("stk_bydd_trd", "ksq_bydd_trd"));
+        private int maxDays = 2520;
+    }
+    
+    @Data
+    public static class Indicators {
+        private boolean enabled = true;
+        private List<Integer> smaPeriods = new ArrayList<>(List.of(5, 20, 60, 120));
+        private int vwapPeriod = 20;
+        private int rsiPeriod = 14;
+        private int bollingerPeriod = 20;
+        private double bollingerWidth = 2.0;
+        private int volumePeriod = 20;
+        private int parallelism = 0;
+        private Duration recomputeDelay = Duration.ofSeconds(2);
+    }
+    
+    @Data
+    public static class Reference {
+        private boolean enabled = true;
+        private List<String> apis = new ArrayList<>(List.of("stk_isu_base_info", "ksq_isu_base_info", "knx_isu_base_info"));
+        private String keyField = "ISU_CD";
+        private String directory = "data/reference";
+        private int baseEvery = 20;
+        
+        public boolean isDeltaApi(String apiId) {
+            return enabled && apis.contains(apiId);
+        }
+    }
+    
+    @Data
+    public static class Prefetch {
+        private boolean enabled = true;
+        private String cron = "0 0 18 * * MON-FRI";
+        private String zone = "Asia/Seoul";
+        private List<String> priority = new ArrayList<>(List.of(
+                "kospi_dd_trd", "kosdaq_dd_trd", "stk_bydd_trd", "ksq_bydd_trd"));
+        private Duration spacing = Duration.ofSeconds(3);
+        private Duration jitter = Duration.ofSeconds(5);
+        private Duration retryInterval = Duration.ofMinutes(10);
+        private Duration maxRetryInterval = Duration.ofMinutes(30);
+        private Duration giveUpAfter = Duration.ofHours(15);
+    }
+    
+    @Data
+    public static class Market {
+        private boolean enabled = true;
+        private List<String> apis = new ArrayList<>(List.of("stk_bydd_trd", "ksq_bydd_trd", "etf_bydd_trd"));
+        private int topN = 20;
+        private int maxTopN = 1000;
+        private String sectorColumn = "SECT_TP_NM";
+        private int parallelism = 0;
+    }
+    
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId = "";
+        private String leaseStore = "file";
+        private String directory = "data/cluster";
+        private Duration heartbeatInterval = Duration.ofSeconds(5);
+        private Duration nodeTtl = Duration.ofSeconds(20);
+        private Duration leaseTtl = Duration.ofMinutes(2);
+        private int virtualNodes = 64;
+    }
+    
+    @Data
+    public static class Schema {
+        private boolean enabled = true;
+        private String directory = "data/schema";
+        private int variants = 4;
+        private int driftHistory = 100;
+    }
+    
+    @Data
+    public static class Subscription {
+        private boolean enabled = true;
+        private String websocketPath = "/ws/subscriptions";
+        private int maxSubscribers = 10000;
+        private int bufferSize = 16;
+        private SubscriberOverflow overflow = SubscriberOverflow.LATEST;
+        private Duration heartbeat = Duration.ofSeconds(15);
+        private int dedupeEntries = 10000;
+    }
+    
+    /** 구독자 버퍼가 찼을 때 DROP 은 새 이벤트를, LATEST 는 가장 오래된 이벤트를 버린다 */
+    public enum SubscriberOverflow {
+        DROP,
+        LATEST
+    }
+    
+    @Data
+    public static class Mock {
+        private boolean enabled = false;
+        private int port = 18999;
+        private Duration latency = Duration.ofMillis(50);
+        private Duration jitter = Duration.ofMillis(30);
+        private double rowScale = 1.0;
+        private double rateLimitedRatio = 0.0;
+        private double serverErrorRatio = 0.0;
+        private double stallRatio = 0.0;
+        private Duration stall = Duration.ofSeconds(20);
+        private List<String> failingApis = new ArrayList<>();
+        private int cachedBodies = 64;
     }
     
     @Data
@@ -1,19 +1,57 @@
 package com.trading.explorer.config;
 
+import com.trading.explorer.client.transport.KrxTransportMetrics;
+import com.trading.explorer.metrics.KrxCallTiming;
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
-
-import java.time.Duration;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider krxConnectionProvider(KrxApiProperties properties, KrxTransportMetrics transportMetrics) {
+        KrxApiProperties.Transport transport = properties.getApi().getTransport();
+        
+        return ConnectionProvider.builder("krx")
+                .maxConnections(transport.getMaxConnections())
+                .pendingAcquireMaxCount(transport.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(transport.getPendingAcquireTimeout())
+                .maxIdleTime(transport.getMaxIdleTime())
+                .maxLifeTime(transport.getMaxLifeTime())
+                .evictInBackground(transport.getEvictInterval())
+                // 최근에 반납된 커넥션부터 재사용해 오래 쉰 커넥션이 자연스럽게 정리되도록 한다
+                .lifo()
+                .metrics(transport.isMetrics(), () -> transportMetrics)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(KrxApiProperties properties) {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient webClient(KrxApiProperties properties, ConnectionProvider krxConnectionProvider) {
+        KrxApiProperties.Transport transport = properties.getApi().getTransport();
+        
+        HttpClient httpClient = HttpClient.create(krxConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) transport.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, transport.isKeepAlive())
+                .keepAlive(transport.isKeepAlive())
+                .compress(transport.isCompress())
+                .resolver(spec -> spec.cacheMaxTimeToLive(transport.getDnsCacheTtl()))
+                .doOnRequest((request, connection) -> {
+                    KrxCallTiming timing = KrxCallTiming.from(request.currentContextView());
+                    if (timing != null) {
+                        timing.requestStarted();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    KrxCallTiming timing = KrxCallTiming.from(response.currentContextView());
+                    if (timing != null) {
+                        timing.responseStarted();
+                    }
+                })
                 .responseTimeout(properties.getApi().getTimeout())
                 .followRedirect(true);
 
@@ -24,4 +62,4 @@ public class WebClientConfig {
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024)) // 16MB
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.trading.explorer.config;
+
+import com.trading.explorer.subscription.SubscriptionWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+@Configuration
+public class WebSocketConfig {
+    
+    @Bean
+    public HandlerMapping subscriptionWebSocketMapping(KrxApiProperties properties,
+                                                       SubscriptionWebSocketHandler handler) {
+        // 컨트롤러 매핑보다 먼저 본다
+        return new SimpleUrlHandlerMapping(Map.of(properties.getSubscription().getWebsocketPath(), handler), -1);
+    }
+}
@@ -1,15 +1,25 @@
 package com.trading.explorer.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.trading.explorer.client.dto.ApiResponse;
 import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.schema.SchemaRegistry;
 import com.trading.explorer.service.ApiExplorerService;
 import com.trading.explorer.util.JsonFormatter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -21,6 +31,8 @@ public class ApiExplorerController {
     private final ApiExplorerService apiExplorerService;
     private final JsonFormatter jsonFormatter;
     private final KrxApiProperties properties;
+    private final SchemaRegistry schemaRegistry;
+    private final KrxMetrics krxMetrics;
     
     @GetMapping("/all")
     public Mono<Map<String, Object>> exploreAllApis() {
@@ -34,6 +46,30 @@ public class ApiExplorerController {
         return apiExplorerService.exploreByCategory(category);
     }
     
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> streamAllApis() {
+        log.info("Request received: stream all APIs (NDJSON)");
+        return apiExplorerService.streamAllApis();
+    }
+    
+    @GetMapping(value = "/all/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> streamAllApisAsEvents() {
+        log.info("Request received: stream all APIs (SSE)");
+        return apiExplorerService.streamAllApis().map(this::toEvent);
+    }
+    
+    @GetMapping(value = "/category/{category}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String, Object>> streamByCategory(@PathVariable String category) {
+        log.info("Request received: stream category {} (NDJSON)", category);
+        return apiExplorerService.streamByCategory(category);
+    }
+    
+    @GetMapping(value = "/category/{category}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> streamByCategoryAsEvents(@PathVariable String category) {
+        log.info("Request received: stream category {} (SSE)", category);
+        return apiExplorerService.streamByCategory(category).map(this::toEvent);
+    }
+    
     @GetMapping(value = "/single/{apiId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<Map<String, Object>> exploreSingleApi(
             @PathVariable String apiId,
@@ -43,18 +79,22 @@ public class ApiExplorerController {
         
         return apiExplorerService.exploreSingleApi(apiId, bizDate)
                 .map(response -> {
-                    Map<String, Object> result = Map.of(
-                        "apiId", apiId,
-                        "success", response.isSuccess(),
-                        "httpStatus", response.getHttpStatus(),
-                        "responseTimeMs", response.getResponseTimeMs(),
-                        "timestamp", response.getTimestamp(),
-                        "response", response.isSuccess() ? 
-                            jsonFormatter.prettyPrint(response.getRawResponse()) : null,
-                        "errorMessage", response.getErrorMessage(),
-                        "structure", response.isSuccess() ? 
-                            jsonFormatter.analyzeStructure(response.getRawResponse()) : null
-                    );
+                    // 캐시 적중은 서비스에서 파싱하지 않으므로 여기서 같은 단계 지표로 파싱해 둔다
+                    if (response.isSuccess() && response.getParsed() == null) {
+                        krxMetrics.time(KrxMetrics.PARSE, apiId, () -> jsonFormatter.parse(response));
+                    }
+                    
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("apiId", apiId);
+                    result.put("success", response.isSuccess());
+                    result.put("httpStatus", response.getHttpStatus());
+                    result.put("responseTimeMs", response.getResponseTimeMs());
+                    result.put("timestamp", response.getTimestamp());
+                    result.put("response", response.isSuccess() ? 
+                        jsonFormatter.prettyPrint(response) : null);
+                    result.put("errorMessage", response.getErrorMessage());
+                    result.put("structure", response.isSuccess() ? 
+                        krxMetrics.time(KrxMetrics.ANALYZE, apiId, () -> schemaRegistry.analyze(response)) : null);
                     
                     return result;
                 });
@@ -73,6 +113,45 @@ public class ApiExplorerController {
                     "ERROR: " + response.getErrorMessage());
     }
     
+    /**
+     * passthrough=true 면 KRX 응답 버퍼를 String 으로 바꾸지 않고 그대로 중계한다 (캐시 적재/파일 저장 없음, 아카이브만).
+     */
+    @GetMapping(value = "/single/{apiId}/raw", params = "passthrough=true", produces = MediaType.TEXT_PLAIN_VALUE)
+    public Flux<DataBuffer> passthroughSingleApiRaw(
+            @PathVariable String apiId,
+            @RequestParam(required = false) String bizDate) {
+        
+        log.info("Request received: pass through single API {} raw response with date {}", apiId, bizDate);
+        
+        // 첫 버퍼 전에 난 오류만 ERROR 본문으로 바꾼다. 본문을 보내기 시작한 뒤의 오류는 그대로 흘려 연결을 끊어야
+        // 클라이언트가 잘린 응답을 정상 본문 + ERROR 줄로 오해하지 않는다
+        return apiExplorerService.passthroughSingleApi(apiId, bizDate)
+                .switchOnFirst((first, body) -> first.hasError()
+                    ? Flux.just(errorBuffer(errorMessage(first.getThrowable())))
+                    : body);
+    }
+
+    
+    @GetMapping(value = "/single/{apiId}/records", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JsonNode> streamSingleApiRecords(
+            @PathVariable String apiId,
+            @RequestParam(required = false) String bizDate) {
+        
+        log.info("Request received: stream records of single API {} with date {}", apiId, bizDate);
+        
+        return apiExplorerService.streamSingleApiRecords(apiId, bizDate);
+    }
+    
+    @GetMapping(value = "/single/{apiId}/typed", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamSingleApiTyped(
+            @PathVariable String apiId,
+            @RequestParam(required = false) String bizDate) {
+        
+        log.info("Request received: stream typed records of single API {} with date {}", apiId, bizDate);
+        
+        return apiExplorerService.streamSingleApiTyped(apiId, bizDate);
+    }
+    
     @GetMapping("/categories")
     public Mono<Map<String, Object>> getAvailableCategories() {
         log.info("Request received: get available categories");
@@ -84,6 +163,31 @@ public class ApiExplorerController {
         ));
     }
     
+    @GetMapping("/cache")
+    public Mono<Map<String, Object>> getCacheStats() {
+        return Mono.just(apiExplorerService.getCacheStats());
+    }
+    
+    @GetMapping("/persistence")
+    public Mono<Map<String, Object>> getPersistenceStats() {
+        return Mono.just(apiExplorerService.getPersistenceStats());
+    }
+    
+    @GetMapping("/throttle")
+    public Mono<Map<String, Object>> getThrottleStats() {
+        return Mono.just(apiExplorerService.getThrottleStats());
+    }
+    
+    @GetMapping("/resilience")
+    public Mono<Map<String, Object>> getResilienceStats() {
+        return Mono.just(apiExplorerService.getResilienceStats());
+    }
+    
+    @GetMapping("/transport")
+    public Mono<Map<String, Object>> getTransportStats() {
+        return Mono.just(apiExplorerService.getTransportStats());
+    }
+    
     @GetMapping("/health")
     public Mono<Map<String, Object>> healthCheck() {
         return Mono.just(Map.of(
@@ -92,4 +196,24 @@ public class ApiExplorerController {
             "timestamp", System.currentTimeMillis()
         ));
     }
-}
\ No newline at end of file
+    
+    private static String errorMessage(Throwable error) {
+        if (error instanceof WebClientResponseException ex) {
+            return "HTTP " + ex.getStatusCode() + ": " + ex.getResponseBodyAsString();
+        }
+        return "Unexpected error: " + error.getMessage();
+    }
+    
+    private static DataBuffer errorBuffer(String message) {
+        // 기존 raw 응답과 같은 형식 - 본문이 나가기 전(헤더 전송 전)에만 생기는 오류다
+        return DefaultDataBufferFactory.sharedInstance.wrap(("ERROR: " + message).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private ServerSentEvent<Map<String, Object>> toEvent(Map<String, Object> data) {
+        // event 이름으로 result / summary / error 를 구분한다
+        return ServerSentEvent.<Map<String, Object>>builder(data)
+                .event(String.valueOf(data.get("type")))
+                .id(data.containsKey("apiId") ? String.valueOf(data.get("apiId")) : null)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.archive.ArchiveEntry;
+import com.trading.explorer.archive.ResponseArchive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+    
+    private final ResponseArchive responseArchive;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getArchiveStats() {
+        return Mono.just(responseArchive.getStats());
+    }
+    
+    @GetMapping("/{apiId}")
+    public Mono<Map<String, Object>> listDates(@PathVariable String apiId) {
+        // 영업일별 보관된 수집 횟수
+        return Mono.just(Map.of(
+            "apiId", apiId,
+            "dates", responseArchive.listDates(apiId)
+        ));
+    }
+    
+    @GetMapping("/{apiId}/{bizDate}/versions")
+    public Mono<Map<String, Object>> listVersions(@PathVariable String apiId, @PathVariable String bizDate) {
+        List<Map<String, Object>> versions = responseArchive.versions(apiId, bizDate).stream()
+                .map(ArchiveEntry::toMap)
+                .toList();
+        
+        return Mono.just(Map.of(
+            "apiId", apiId,
+            "bizDate", bizDate,
+            "versions", versions
+        ));
+    }
+    
+    /**
+     * 보관된 원문. version 을 생략하면 가장 최근 수집분, 주면 versions 목록의 순번(0부터).
+     */
+    @GetMapping(value = "/{apiId}/{bizDate}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getResponse(
+            @PathVariable String apiId,
+            @PathVariable String bizDate,
+            @RequestParam(required = false) Integer version) {
+        
+        log.info("Request received: archived response {} {} version {}", apiId, bizDate, version);
+        
+        List<ArchiveEntry> versions = responseArchive.versions(apiId, bizDate);
+        Optional<ArchiveEntry> entry = version == null
+                ? responseArchive.latest(apiId, bizDate)
+                : version >= 0 && version < versions.size() ? Optional.of(versions.get(version)) : Optional.empty();
+        if (entry.isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        
+        // 매핑된 세그먼트를 읽는 동안 페이지 폴트가 날 수 있으므로 이벤트 루프 밖에서 푼다
+        return Mono.fromCallable(() -> ResponseEntity.ok()
+                        .header("X-Archive-Sha256", entry.get().sha256())
+                        .header("X-Archive-Fetched-At", String.valueOf(entry.get().fetchedAtMillis()))
+                        .body(responseArchive.read(entry.get())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,66 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.backfill.BackfillJob;
+import com.trading.explorer.backfill.BackfillRequest;
+import com.trading.explorer.backfill.BackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/backfill")
+@RequiredArgsConstructor
+public class BackfillController {
+    
+    private final BackfillService backfillService;
+    
+    @PostMapping
+    public Mono<ResponseEntity<Map<String, Object>>> startBackfill(@RequestBody BackfillRequest request) {
+        log.info("Request received: backfill {} from {} to {}", request.getApiIds(), request.getFrom(), request.getTo());
+        
+        try {
+            BackfillJob job = backfillService.start(request);
+            return Mono.just(ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toMap()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "Invalid backfill request: " + e.getMessage())));
+        }
+    }
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getBackfillJobs() {
+        List<Map<String, Object>> jobs = backfillService.getJobs().stream()
+                .sorted(Comparator.comparing(BackfillJob::getCreatedAt).reversed())
+                .map(BackfillJob::toMap)
+                .toList();
+        
+        return Mono.just(Map.of(
+            "jobs", jobs,
+            "stats", backfillService.getStats()
+        ));
+    }
+    
+    @GetMapping("/{jobId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getBackfillJob(@PathVariable String jobId) {
+        return Mono.just(backfillService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toMap()))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+    
+    @DeleteMapping("/{jobId}")
+    public Mono<ResponseEntity<Map<String, Object>>> cancelBackfillJob(@PathVariable String jobId) {
+        log.info("Request received: cancel backfill job {}", jobId);
+        
+        return Mono.just(backfillService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(job.toMap()))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.cluster.ClusterCoordinator;
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+    
+    private final ClusterCoordinator clusterCoordinator;
+    private final KrxApiProperties properties;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getClusterStats() {
+        return Mono.just(clusterCoordinator.getStats());
+    }
+    
+    @GetMapping("/assignments/{bizDate}")
+    public Mono<Map<String, Object>> getAssignments(@PathVariable String bizDate) {
+        // 현재 살아 있는 노드 기준으로 각 API 를 어느 노드가 받는지
+        List<String> apiIds = properties.getApis().values().stream()
+                .flatMap(List::stream)
+                .map(KrxApiProperties.ApiDefinition::getId)
+                .toList();
+        
+        return Mono.just(Map.of(
+            "bizDate", bizDate,
+            "nodeId", clusterCoordinator.getNodeId(),
+            "assignments", clusterCoordinator.assignments(apiIds, bizDate)
+        ));
+    }
+}
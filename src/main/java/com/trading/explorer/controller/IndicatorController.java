@@ -0,0 +1,54 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.indicator.IndicatorEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/indicators")
+@RequiredArgsConstructor
+public class IndicatorController {
+    
+    private final IndicatorEngine indicatorEngine;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getStats() {
+        return Mono.just(indicatorEngine.getStats());
+    }
+    
+    @GetMapping("/snapshot")
+    public Mono<Map<String, Object>> getSnapshot(@RequestParam(required = false) Integer date) {
+        log.debug("Request received: indicator snapshot {}", date);
+        return Mono.fromCallable(() -> indicatorEngine.snapshot(date))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{isuCd}")
+    public Mono<ResponseEntity<Map<String, Object>>> getIndicators(@PathVariable String isuCd) {
+        return Mono.just(indicatorEngine.get(isuCd)
+                .map(values -> ResponseEntity.ok(indicatorEngine.toMap(values)))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+    
+    @GetMapping("/{isuCd}/history")
+    public Mono<ResponseEntity<Map<String, Object>>> getHistory(
+            @PathVariable String isuCd,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to) {
+        
+        log.debug("Request received: indicator history {} from {} to {}", isuCd, from, to);
+        
+        return Mono.just(indicatorEngine.history(isuCd,
+                        from != null ? from : Integer.MIN_VALUE,
+                        to != null ? to : Integer.MAX_VALUE)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+}
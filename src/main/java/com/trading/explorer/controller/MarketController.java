@@ -0,0 +1,111 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.market.DailyMarketSummary;
+import com.trading.explorer.market.MarketAggregator;
+import com.trading.explorer.market.RankMetric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/market")
+@RequiredArgsConstructor
+public class MarketController {
+    
+    private final MarketAggregator marketAggregator;
+    private final KrxApiProperties properties;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getStats() {
+        return Mono.just(marketAggregator.getStats());
+    }
+    
+    @GetMapping("/breadth")
+    public Mono<Map<String, Object>> getBreadth(
+            @RequestParam(defaultValue = "stk_bydd_trd,ksq_bydd_trd") String apis,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to) {
+        
+        log.debug("Request received: market breadth {} from {} to {}", apis, from, to);
+        
+        List<String> apiIds = Arrays.stream(apis.split(",")).map(String::trim).filter(id -> !id.isEmpty()).toList();
+        return Mono.just(marketAggregator.breadth(apiIds,
+                from != null ? from : Integer.MIN_VALUE,
+                to != null ? to : Integer.MAX_VALUE));
+    }
+    
+    @GetMapping("/{apiId}/{bizDate}")
+    public Mono<ResponseEntity<Map<String, Object>>> getSummary(@PathVariable String apiId, @PathVariable int bizDate) {
+        return Mono.just(marketAggregator.summary(apiId, bizDate)
+                .map(summary -> ResponseEntity.ok(summary.toMap()))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+    
+    @GetMapping("/{apiId}/top")
+    public Mono<ResponseEntity<Map<String, Object>>> getTop(
+            @PathVariable String apiId,
+            @RequestParam int from,
+            @RequestParam(required = false) Integer to,
+            @RequestParam(defaultValue = "value") String by,
+            @RequestParam(defaultValue = "10") int n) {
+        
+        log.info("Request received: market top {} by {} from {} to {}", n, by, from, to);
+        
+        // n 만큼 힙을 잡으므로 상한을 넘는 요청은 받지 않는다
+        int maxTopN = properties.getMarket().getMaxTopN();
+        if (n < 1 || n > maxTopN) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "n must be between 1 and " + maxTopN + ": " + n)));
+        }
+        
+        RankMetric metric;
+        try {
+            metric = RankMetric.parse(by);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        }
+        int until = to != null ? to : from;
+        
+        // 여러 영업일이면 세그먼트를 훑으므로 이벤트 루프 밖에서 실행한다
+        return Mono.fromCallable(() -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("apiId", apiId);
+                    result.put("from", from);
+                    result.put("to", until);
+                    result.put("by", metric);
+                    result.put("top", marketAggregator.top(apiId, from, until, metric, n).stream()
+                            .map(DailyMarketSummary.Ranked::toMap)
+                            .toList());
+                    return ResponseEntity.ok(result);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{apiId}/sectors")
+    public Mono<Map<String, Object>> getSectors(
+            @PathVariable String apiId,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to) {
+        
+        Map<String, Object> sectors = new LinkedHashMap<>();
+        marketAggregator.sectors(apiId,
+                        from != null ? from : Integer.MIN_VALUE,
+                        to != null ? to : Integer.MAX_VALUE)
+                .forEach((sector, totals) -> sectors.put(sector, totals.toMap()));
+        
+        return Mono.just(Map.of(
+            "apiId", apiId,
+            "sectors", sectors
+        ));
+    }
+}
@@ -0,0 +1,77 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.prefetch.PrefetchRun;
+import com.trading.explorer.prefetch.PrefetchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/prefetch")
+@RequiredArgsConstructor
+public class PrefetchController {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    
+    private final PrefetchService prefetchService;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getPrefetchRuns() {
+        List<Map<String, Object>> runs = prefetchService.getRuns().stream()
+                .sorted(Comparator.comparing(PrefetchRun::getBizDate).reversed())
+                .map(PrefetchRun::toMap)
+                .toList();
+        
+        return Mono.just(Map.of(
+            "schedule", prefetchService.getSchedule(),
+            "runs", runs
+        ));
+    }
+    
+    @PostMapping("/{bizDate}")
+    public Mono<ResponseEntity<Map<String, Object>>> startPrefetch(@PathVariable String bizDate) {
+        log.info("Request received: prefetch {}", bizDate);
+        
+        try {
+            PrefetchRun run = prefetchService.start(LocalDate.parse(bizDate, DATE_FORMAT));
+            return Mono.just(ResponseEntity.status(HttpStatus.ACCEPTED).body(run.toMap()));
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "Invalid bizDate: " + bizDate)));
+        }
+    }
+    
+    @GetMapping("/{bizDate}")
+    public Mono<ResponseEntity<Map<String, Object>>> getPrefetchRun(@PathVariable String bizDate) {
+        try {
+            return Mono.just(prefetchService.getRun(LocalDate.parse(bizDate, DATE_FORMAT))
+                    .map(run -> ResponseEntity.ok(run.toMap()))
+                    .orElseGet(() -> ResponseEntity.notFound().build()));
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "Invalid bizDate: " + bizDate)));
+        }
+    }
+    
+    @DeleteMapping("/{bizDate}")
+    public Mono<ResponseEntity<Map<String, Object>>> cancelPrefetchRun(@PathVariable String bizDate) {
+        log.info("Request received: cancel prefetch {}", bizDate);
+        
+        try {
+            return Mono.just(prefetchService.cancel(LocalDate.parse(bizDate, DATE_FORMAT))
+                    .map(run -> ResponseEntity.ok(run.toMap()))
+                    .orElseGet(() -> ResponseEntity.notFound().build()));
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "Invalid bizDate: " + bizDate)));
+        }
+    }
+}
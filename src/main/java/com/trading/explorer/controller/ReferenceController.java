@@ -0,0 +1,77 @@
+package com.trading.explorer.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.reference.ReferenceSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/reference")
+@RequiredArgsConstructor
+public class ReferenceController {
+    
+    private final ReferenceSnapshotStore snapshotStore;
+    
+    @GetMapping("/{apiId}")
+    public Mono<ResponseEntity<Map<String, Object>>> listSnapshots(@PathVariable String apiId) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(Map.<String, Object>of(
+                    "apiId", apiId,
+                    "snapshots", snapshotStore.describe(apiId)
+                )))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e.getMessage())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{apiId}/changes")
+    public Mono<ResponseEntity<Map<String, Object>>> changesSince(
+            @PathVariable String apiId,
+            @RequestParam String since,
+            @RequestParam(required = false) String until) {
+        
+        log.info("Request received: reference changes {} since {} until {}", apiId, since, until);
+        
+        return Mono.fromCallable(() -> {
+                    Map<String, Object> changes = snapshotStore.changes(apiId, since, until);
+                    return changes != null ? ResponseEntity.ok(changes) : ResponseEntity.notFound().<Map<String, Object>>build();
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e.getMessage())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{apiId}/{bizDate}")
+    public Mono<ResponseEntity<Map<String, Object>>> getView(@PathVariable String apiId, @PathVariable String bizDate) {
+        log.info("Request received: reference view {} at {}", apiId, bizDate);
+        
+        // 휴장일 등 스냅숏이 없는 날은 그 이전 가장 최근 스냅숏을 돌려준다
+        return Mono.fromCallable(() -> {
+                    String snapshotDate = snapshotStore.floorDate(apiId, bizDate);
+                    if (snapshotDate == null) {
+                        return ResponseEntity.notFound().<Map<String, Object>>build();
+                    }
+                    TreeMap<String, JsonNode> view = snapshotStore.view(apiId, snapshotDate);
+                    
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("apiId", apiId);
+                    result.put("bizDate", bizDate);
+                    result.put("snapshotDate", snapshotDate);
+                    result.put("rowCount", view.size());
+                    result.put("rows", view.values());
+                    return ResponseEntity.ok(result);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e.getMessage())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private static ResponseEntity<Map<String, Object>> badRequest(String message) {
+        return ResponseEntity.badRequest().body(Map.of("error", message));
+    }
+}
@@ -0,0 +1,39 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.schema.SchemaDriftEvent;
+import com.trading.explorer.schema.SchemaRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/schema")
+@RequiredArgsConstructor
+public class SchemaController {
+    
+    private final SchemaRegistry schemaRegistry;
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getSchemaStats() {
+        return Mono.just(schemaRegistry.getStats());
+    }
+    
+    @GetMapping("/drift")
+    public Mono<List<SchemaDriftEvent>> getDrifts(@RequestParam(required = false) String apiId) {
+        return Mono.just(schemaRegistry.getDrifts(apiId));
+    }
+    
+    @GetMapping("/{apiId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getSchema(@PathVariable String apiId) {
+        Map<String, Object> schema = schemaRegistry.describe(apiId);
+        return Mono.just(schema != null
+                ? ResponseEntity.ok(schema)
+                : ResponseEntity.notFound().build());
+    }
+}
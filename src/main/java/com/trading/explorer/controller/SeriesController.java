@@ -0,0 +1,57 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.series.InstrumentSeries;
+import com.trading.explorer.series.InstrumentSeriesIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/series")
+@RequiredArgsConstructor
+public class SeriesController {
+    
+    private final InstrumentSeriesIndex seriesIndex;
+    
+    @GetMapping("/{isuCd}")
+    public Mono<ResponseEntity<Map<String, Object>>> getSeries(
+            @PathVariable String isuCd,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to) {
+        
+        log.debug("Request received: series {} from {} to {}", isuCd, from, to);
+        
+        return Mono.just(seriesIndex.get(isuCd)
+                .map(series -> {
+                    InstrumentSeries.Slice slice = series.slice(
+                            from != null ? from : Integer.MIN_VALUE,
+                            to != null ? to : Integer.MAX_VALUE);
+                    
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("isuCd", isuCd);
+                    result.put("from", from);
+                    result.put("to", to);
+                    result.put("count", slice.size());
+                    result.put("dates", slice.dates());
+                    result.put("open", slice.open());
+                    result.put("high", slice.high());
+                    result.put("low", slice.low());
+                    result.put("close", slice.close());
+                    result.put("volume", slice.volume());
+                    result.put("value", slice.value());
+                    return ResponseEntity.ok(result);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getStats() {
+        return Mono.just(seriesIndex.getStats());
+    }
+}
@@ -0,0 +1,126 @@
+package com.trading.explorer.controller;
+
+import com.trading.explorer.store.ColumnPredicate;
+import com.trading.explorer.store.ColumnarStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/store")
+@RequiredArgsConstructor
+public class StoreController {
+    
+    private static final int DEFAULT_LIMIT = 1000;
+    
+    // 경로 변수는 그대로 세그먼트 파일 경로가 되므로 형식을 벗어나면 저장소에 닿기 전에 거절한다
+    private static final Pattern API_ID = Pattern.compile("^[a-z_]+$");
+    private static final Pattern BIZ_DATE = Pattern.compile("^\\d{8}$");
+    
+    private final ColumnarStore columnarStore;
+    
+    @GetMapping("/{apiId}")
+    public Mono<ResponseEntity<Map<String, Object>>> query(
+            @PathVariable String apiId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String columns,
+            @RequestParam(required = false) List<String> where,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        
+        log.info("Request received: columnar query {} from {} to {} columns {} where {}", apiId, from, to, columns, where);
+        
+        String error = validate(apiId, "from", from, "to", to);
+        if (error == null && limit <= 0) {
+            error = "limit must be positive: " + limit;
+        }
+        if (error != null) {
+            return Mono.just(badRequest(error));
+        }
+        
+        List<ColumnPredicate> predicates;
+        try {
+            predicates = where == null ? List.of() : where.stream().map(ColumnPredicate::parse).toList();
+        } catch (IllegalArgumentException e) {
+            return Mono.just(badRequest(e.getMessage()));
+        }
+        List<String> projection = columns == null || columns.isBlank()
+                ? List.of()
+                : Arrays.stream(columns.split(",")).map(String::trim).toList();
+        
+        // 매핑된 파일을 읽는 동안 페이지 폴트가 날 수 있으므로 이벤트 루프 밖에서 실행한다
+        return Mono.fromCallable(() -> {
+                    List<Map<String, Object>> rows = columnarStore.query(apiId, from, to, projection, predicates, limit);
+                    
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("apiId", apiId);
+                    result.put("from", from);
+                    result.put("to", to);
+                    result.put("columns", projection);
+                    result.put("where", predicates.stream().map(ColumnPredicate::toString).toList());
+                    result.put("rowCount", rows.size());
+                    result.put("rows", rows);
+                    return ResponseEntity.ok(result);
+                })
+                // 숫자 리터럴이 세그먼트 컬럼 스케일에서 범위를 벗어나면 조건 컴파일 시점에 던진다
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e.getMessage())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{apiId}/dates")
+    public Mono<ResponseEntity<Map<String, Object>>> listDates(@PathVariable String apiId) {
+        String error = validate(apiId);
+        if (error != null) {
+            return Mono.just(badRequest(error));
+        }
+        return Mono.fromCallable(() -> ResponseEntity.ok(Map.<String, Object>of(
+                    "apiId", apiId,
+                    "dates", columnarStore.listDates(apiId)
+                )))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @GetMapping("/{apiId}/{bizDate}/schema")
+    public Mono<ResponseEntity<Map<String, Object>>> describe(@PathVariable String apiId, @PathVariable String bizDate) {
+        String error = validate(apiId, "bizDate", bizDate);
+        if (error != null) {
+            return Mono.just(badRequest(error));
+        }
+        return Mono.fromCallable(() -> {
+                    Map<String, Object> schema = columnarStore.describe(apiId, bizDate);
+                    return schema != null ? ResponseEntity.ok(schema) : ResponseEntity.notFound().<Map<String, Object>>build();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    /**
+     * apiId 와 (이름, 값) 쌍으로 넘긴 날짜의 형식을 확인한다. null 날짜는 조건 없음으로 본다.
+     * @return 오류 메시지, 문제가 없으면 null
+     */
+    private static String validate(String apiId, String... dates) {
+        if (!API_ID.matcher(apiId).matches()) {
+            return "Invalid apiId: " + apiId;
+        }
+        for (int i = 0; i < dates.length; i += 2) {
+            String value = dates[i + 1];
+            if (value != null && !BIZ_DATE.matcher(value).matches()) {
+                return dates[i] + " must be a yyyyMMdd date: " + value;
+            }
+        }
+        return null;
+    }
+    
+    private static ResponseEntity<Map<String, Object>> badRequest(String message) {
+        return ResponseEntity.badRequest().body(Map.of("error", message));
+    }
+}
@@ -0,0 +1,79 @@
+package com.trading.explorer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.subscription.CollectedEvent;
+import com.trading.explorer.subscription.SubscriptionFilter;
+import com.trading.explorer.subscription.SubscriptionHub;
+import com.trading.explorer.subscription.SubscriptionOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/subscriptions")
+@RequiredArgsConstructor
+public class SubscriptionController {
+    
+    private final SubscriptionHub subscriptionHub;
+    private final KrxApiProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @GetMapping
+    public Mono<Map<String, Object>> getStats() {
+        return Mono.just(subscriptionHub.getStats());
+    }
+    
+    /**
+     * 새로 수집된 데이터 알림 (SSE). apis/categories 는 쉼표 구분, 둘 다 없으면 전체.
+     * payload=summary(기본) 는 메타데이터와 조회 경로만, full 은 KRX 응답 원문까지 싣는다.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<Void> stream(
+            @RequestParam(required = false) String apis,
+            @RequestParam(required = false) String categories,
+            @RequestParam(required = false) String payload,
+            @RequestParam(required = false) String overflow,
+            ServerHttpResponse response) {
+        
+        CollectedEvent.Payload payloadMode;
+        KrxApiProperties.SubscriberOverflow overflowPolicy;
+        try {
+            payloadMode = SubscriptionOptions.payload(payload);
+            overflowPolicy = SubscriptionOptions.overflow(overflow, properties.getSubscription());
+        } catch (IllegalArgumentException e) {
+            return reject(response, HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!subscriptionHub.isEnabled()) {
+            return reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Subscriptions unavailable");
+        }
+        
+        SubscriptionFilter filter = SubscriptionFilter.parse(apis, categories);
+        return subscriptionHub.withReservation(() -> {
+            log.info("SSE subscription opened: {} payload={} overflow={}", filter, payloadMode, overflowPolicy);
+            
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            response.getHeaders().setCacheControl("no-cache");
+            // 프록시가 이벤트를 모아 보내지 않도록
+            response.getHeaders().set("X-Accel-Buffering", "no");
+            // writeAndFlushWith 는 소켓이 막혀도 다음 이벤트를 받아 Netty 송신 버퍼에 쌓는다.
+            // writeWith 는 채널이 쓰기 가능할 때만 더 요청하므로 느린 구독자의 이벤트는 구독자 버퍼에서 버려진다
+            return response.writeWith(subscriptionHub
+                    .sse(filter, overflowPolicy, payloadMode, response.bufferFactory()));
+        }, () -> reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Subscriptions unavailable"));
+    }
+    
+    private Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String message) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromCallable(() -> objectMapper.writeValueAsBytes(Map.of("error", message)))
+                .map(response.bufferFactory()::wrap));
+    }
+}
@@ -0,0 +1,305 @@
+package com.trading.explorer.indicator;
+
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.series.InstrumentSeries;
+import com.trading.explorer.series.InstrumentSeriesIndex;
+import com.trading.explorer.series.InstrumentSeriesUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 종목별 기술적 지표 (이동평균, VWAP, RSI, 볼린저 밴드, 거래량 z-score).
+ * <ul>
+ *   <li>시계열 인덱스에 새 영업일이 반영되면 그날 값이 들어간 종목마다 {@link IndicatorState} 를 O(1) 로 갱신한다</li>
+ *   <li>이미 반영한 날 이전의 영업일(백필)이나 같은 날 재수신은 해당 종목을 더티로 표시하고,
+ *       recompute-delay 동안 모았다가 종목 단위로 나눠 fork-join 으로 처음부터 다시 계산한다</li>
+ *   <li>기동 시 인덱스 적재가 끝나면 전 종목을 같은 방식으로 계산한다</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class IndicatorEngine {
+    
+    private static final int RECOMPUTE_BATCH = 64;
+    
+    private final KrxApiProperties.Indicators config;
+    private final IndicatorSpec spec;
+    private final InstrumentSeriesIndex seriesIndex;
+    private final ForkJoinPool pool;
+    private final Map<String, IndicatorState> states = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean recomputeScheduled = new AtomicBoolean();
+    private final AtomicInteger latestDate = new AtomicInteger();
+    
+    private volatile Map<String, Object> lastPass = Map.of();
+    private volatile Map<String, Object> lastRecompute = Map.of();
+    
+    public IndicatorEngine(KrxApiProperties properties, InstrumentSeriesIndex seriesIndex) {
+        this.config = properties.getIndicators();
+        this.spec = IndicatorSpec.of(config);
+        this.seriesIndex = seriesIndex;
+        this.pool = new ForkJoinPool(config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @EventListener
+    public void onSeriesUpdated(InstrumentSeriesUpdatedEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (event.isLoad()) {
+            event.instruments().forEach(series -> dirty.add(series.getIsuCd()));
+            Schedulers.boundedElastic().schedule(this::recomputeDirty);
+            return;
+        }
+        
+        long start = System.nanoTime();
+        int appended = 0;
+        int deferred = 0;
+        for (InstrumentSeries series : event.instruments()) {
+            IndicatorState state = states.computeIfAbsent(series.getIsuCd(), isuCd -> new IndicatorState(isuCd, spec));
+            if (state.append(series, event.date())) {
+                appended++;
+            } else {
+                dirty.add(series.getIsuCd());
+                deferred++;
+            }
+        }
+        latestDate.accumulateAndGet(event.date(), Math::max);
+        long micros = (System.nanoTime() - start) / 1_000;
+        
+        Map<String, Object> pass = new LinkedHashMap<>();
+        pass.put("apiId", event.apiId());
+        pass.put("bizDate", event.date());
+        pass.put("appended", appended);
+        pass.put("deferred", deferred);
+        pass.put("micros", micros);
+        lastPass = pass;
+        log.info("Indicators updated for {} {}: {} instruments in {}us, {} deferred to recompute",
+                event.apiId(), event.date(), appended, micros, deferred);
+        
+        if (deferred > 0 && recomputeScheduled.compareAndSet(false, true)) {
+            Schedulers.boundedElastic().schedule(this::recomputeDirty,
+                    config.getRecomputeDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    public Optional<IndicatorValues> get(String isuCd) {
+        IndicatorState state = states.get(isuCd);
+        return Optional.ofNullable(state != null ? state.values() : null);
+    }
+    
+    public Map<String, Object> toMap(IndicatorValues values) {
+        return values.toMap(spec);
+    }
+    
+    /**
+     * 기간별 지표 값. 시계열을 처음부터 새 상태에 흘려 넣으며 from~to 에 해당하는 날의 값만 모은다.
+     */
+    public Optional<Map<String, Object>> history(String isuCd, int from, int to) {
+        return seriesIndex.get(isuCd).map(series -> {
+            InstrumentSeries.Slice slice = series.slice(Integer.MIN_VALUE, to);
+            IndicatorState state = new IndicatorState(isuCd, spec);
+            List<IndicatorValues> days = new ArrayList<>();
+            for (int i = 0; i < slice.size(); i++) {
+                state.add(slice.dates()[i], slice.close()[i], slice.volume()[i], slice.value()[i]);
+                if (slice.dates()[i] >= from) {
+                    days.add(state.values());
+                }
+            }
+            
+            Map<String, Object> result = columns(days);
+            result.put("isuCd", isuCd);
+            result.put("from", from);
+            result.put("to", to);
+            return result;
+        });
+    }
+    
+    /**
+     * 시장 전체 스냅숏. date 에 지표가 갱신된 종목의 값을 컬럼 배열로 모으고, 이동평균 위/과매수/거래량 급증 종목 수를 센다.
+     * date 가 없으면 마지막으로 반영한 영업일.
+     */
+    public Map<String, Object> snapshot(Integer date) {
+        int bizDate = date != null ? date : latestDate.get();
+        List<IndicatorValues> instruments = new ArrayList<>();
+        for (IndicatorState state : states.values()) {
+            IndicatorValues values = state.values();
+            if (values.date() == bizDate && values.points() > 0) {
+                instruments.add(values);
+            }
+        }
+        instruments.sort((a, b) -> a.isuCd().compareTo(b.isuCd()));
+        
+        int[] aboveSma = new int[spec.smaPeriods().length];
+        int overbought = 0;
+        int oversold = 0;
+        int aboveUpperBand = 0;
+        int belowLowerBand = 0;
+        int volumeSpikes = 0;
+        for (IndicatorValues values : instruments) {
+            for (int i = 0; i < aboveSma.length; i++) {
+                aboveSma[i] += values.close() > values.sma()[i] ? 1 : 0;
+            }
+            overbought += values.rsi() >= 70 ? 1 : 0;
+            oversold += values.rsi() <= 30 ? 1 : 0;
+            aboveUpperBand += values.close() > values.bollingerUpper() ? 1 : 0;
+            belowLowerBand += values.close() < values.bollingerLower() ? 1 : 0;
+            volumeSpikes += values.volumeZScore() >= 2 ? 1 : 0;
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Object> aboveSmaByPeriod = new LinkedHashMap<>();
+        for (int i = 0; i < aboveSma.length; i++) {
+            aboveSmaByPeriod.put(String.valueOf(spec.smaPeriods()[i]), aboveSma[i]);
+        }
+        summary.put("aboveSma", aboveSmaByPeriod);
+        summary.put("rsiOverbought", overbought);
+        summary.put("rsiOversold", oversold);
+        summary.put("aboveUpperBand", aboveUpperBand);
+        summary.put("belowLowerBand", belowLowerBand);
+        summary.put("volumeSpikes", volumeSpikes);
+        
+        Map<String, Object> result = columns(instruments);
+        result.put("isuCds", instruments.stream().map(IndicatorValues::isuCd).toArray(String[]::new));
+        result.put("bizDate", bizDate);
+        result.put("summary", summary);
+        return result;
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("instruments", states.size());
+        stats.put("latestDate", latestDate.get());
+        stats.put("pendingRecompute", dirty.size());
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("smaPeriods", spec.smaPeriods());
+        stats.put("window", spec.window());
+        stats.put("lastPass", lastPass);
+        stats.put("lastRecompute", lastRecompute);
+        return stats;
+    }
+    
+    private void recomputeDirty() {
+        // 계산 중에 들어온 더티는 다음 예약에서 처리한다
+        recomputeScheduled.set(false);
+        List<InstrumentSeries> instruments = new ArrayList<>(dirty.size());
+        for (String isuCd : dirty) {
+            dirty.remove(isuCd);
+            seriesIndex.get(isuCd).ifPresent(instruments::add);
+        }
+        if (instruments.isEmpty()) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        pool.invoke(new Recompute(instruments, 0, instruments.size()));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        states.values().forEach(state -> latestDate.accumulateAndGet(state.lastDate(), Math::max));
+        
+        Map<String, Object> recompute = new LinkedHashMap<>();
+        recompute.put("instruments", instruments.size());
+        recompute.put("millis", millis);
+        lastRecompute = recompute;
+        log.info("Indicators recomputed for {} instruments in {}ms", instruments.size(), millis);
+    }
+    
+    private Map<String, Object> columns(List<IndicatorValues> rows) {
+        int size = rows.size();
+        int[] dates = new int[size];
+        long[] close = new long[size];
+        long[] volume = new long[size];
+        Double[][] sma = new Double[spec.smaPeriods().length][size];
+        Double[] vwap = new Double[size];
+        Double[] rsi = new Double[size];
+        Double[] upper = new Double[size];
+        Double[] middle = new Double[size];
+        Double[] lower = new Double[size];
+        Double[] volumeZScore = new Double[size];
+        for (int row = 0; row < size; row++) {
+            IndicatorValues values = rows.get(row);
+            dates[row] = values.date();
+            close[row] = values.close();
+            volume[row] = values.volume();
+            for (int i = 0; i < sma.length; i++) {
+                sma[i][row] = IndicatorValues.orNull(values.sma()[i]);
+            }
+            vwap[row] = IndicatorValues.orNull(values.vwap());
+            rsi[row] = IndicatorValues.orNull(values.rsi());
+            upper[row] = IndicatorValues.orNull(values.bollingerUpper());
+            middle[row] = IndicatorValues.orNull(values.bollingerMiddle());
+            lower[row] = IndicatorValues.orNull(values.bollingerLower());
+            volumeZScore[row] = IndicatorValues.orNull(values.volumeZScore());
+        }
+        
+        Map<String, Object> smaByPeriod = new LinkedHashMap<>();
+        for (int i = 0; i < sma.length; i++) {
+            smaByPeriod.put(String.valueOf(spec.smaPeriods()[i]), sma[i]);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", size);
+        result.put("dates", dates);
+        result.put("close", close);
+        result.put("volume", volume);
+        result.put("sma", smaByPeriod);
+        result.put("vwap", vwap);
+        result.put("rsi", rsi);
+        result.put("bollingerUpper", upper);
+        result.put("bollingerMiddle", middle);
+        result.put("bollingerLower", lower);
+        result.put("volumeZScore", volumeZScore);
+        return result;
+    }
+    
+    /** 종목 목록을 반씩 나눠 각 종목 상태를 시계열 전체로 다시 계산한다. */
+    private final class Recompute extends RecursiveAction {
+        
+        private final List<InstrumentSeries> instruments;
+        private final int from;
+        private final int to;
+        
+        private Recompute(List<InstrumentSeries> instruments, int from, int to) {
+            this.instruments = instruments;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= RECOMPUTE_BATCH) {
+                for (int i = from; i < to; i++) {
+                    InstrumentSeries series = instruments.get(i);
+                    states.computeIfAbsent(series.getIsuCd(), isuCd -> new IndicatorState(isuCd, spec))
+                            .rebuild(series);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Recompute(instruments, from, middle), new Recompute(instruments, middle, to));
+        }
+    }
+}
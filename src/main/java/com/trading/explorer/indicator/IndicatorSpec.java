@@ -0,0 +1,32 @@
+package com.trading.explorer.indicator;
+
+import com.trading.explorer.config.KrxApiProperties;
+
+import java.util.Arrays;
+
+/**
+ * 지표 기간 설정. 종목별 상태의 링 버퍼 길이는 가장 긴 기간({@link #window()}) 이다.
+ */
+public record IndicatorSpec(int[] smaPeriods, int vwapPeriod, int rsiPeriod,
+                            int bollingerPeriod, double bollingerWidth, int volumePeriod) {
+    
+    public static IndicatorSpec of(KrxApiProperties.Indicators config) {
+        IndicatorSpec spec = new IndicatorSpec(
+                config.getSmaPeriods().stream().mapToInt(Integer::intValue).sorted().distinct().toArray(),
+                config.getVwapPeriod(), config.getRsiPeriod(),
+                config.getBollingerPeriod(), config.getBollingerWidth(), config.getVolumePeriod());
+        if (spec.window() < 1 || Arrays.stream(spec.smaPeriods).anyMatch(period -> period < 1)
+                || spec.vwapPeriod < 1 || spec.rsiPeriod < 1 || spec.bollingerPeriod < 1 || spec.volumePeriod < 1) {
+            throw new IllegalArgumentException("krx.indicators periods must be positive");
+        }
+        return spec;
+    }
+    
+    public int window() {
+        int window = Math.max(Math.max(vwapPeriod, bollingerPeriod), volumePeriod);
+        for (int period : smaPeriods) {
+            window = Math.max(window, period);
+        }
+        return window;
+    }
+}
@@ -0,0 +1,218 @@
+package com.trading.explorer.indicator;
+
+import com.trading.explorer.series.InstrumentSeries;
+import com.trading.explorer.util.KrxNumbers;
+
+import java.util.Arrays;
+
+/**
+ * 종목 하나의 지표 상태. 최근 {@link IndicatorSpec#window()} 일의 종가/거래량/거래대금을 링 버퍼에 두고
+ * 기간별 합계를 들고 있어, 새 영업일 하나를 반영할 때 나가는 값만 빼고 들어오는 값을 더한다 (기간 길이와 무관).
+ * <ul>
+ *   <li>이동평균/볼린저: 종가 합계, 제곱합 (원 단위 long 이라 오차가 쌓이지 않는다)</li>
+ *   <li>VWAP: 거래대금 합계 / 거래량 합계</li>
+ *   <li>RSI: Wilder 평활 평균 상승/하락폭</li>
+ *   <li>거래량 z-score: 거래량 합계, 제곱합 (double 이라 기간마다 링 버퍼에서 다시 더한다)</li>
+ * </ul>
+ * 종가가 없는 날(거래정지 등)은 건너뛴다.
+ */
+public final class IndicatorState {
+    
+    private final String isuCd;
+    private final IndicatorSpec spec;
+    private final int window;
+    private final long[] closes;
+    private final long[] volumes;
+    private final long[] values;
+    private final long[] smaSums;
+    
+    private int count;
+    private int lastDate;
+    private long lastClose;
+    private long lastVolume;
+    private long bollingerSum;
+    private long bollingerSumOfSquares;
+    private long vwapValue;
+    private long vwapVolume;
+    private long volumeSum;
+    private double volumeSumOfSquares;
+    private int changes;
+    // RSI 평균 상승/하락폭 (처음 rsiPeriod 개 변화까지는 합계)
+    private double averageGain;
+    private double averageLoss;
+    
+    public IndicatorState(String isuCd, IndicatorSpec spec) {
+        this.isuCd = isuCd;
+        this.spec = spec;
+        this.window = spec.window();
+        this.closes = new long[window];
+        this.volumes = new long[window];
+        this.values = new long[window];
+        this.smaSums = new long[spec.smaPeriods().length];
+        reset();
+    }
+    
+    public String getIsuCd() {
+        return isuCd;
+    }
+    
+    public synchronized int lastDate() {
+        return lastDate;
+    }
+    
+    /**
+     * 마지막으로 반영한 날 이후의 포인트만 반영한다. date 가 이미 반영한 날 이하면(과거 영업일 삽입, 같은 날 재수신)
+     * 앞선 값이 바뀌었을 수 있으므로 반영하지 않고 false 를 돌려준다 - 이 경우 {@link #rebuild} 가 필요하다.
+     */
+    public synchronized boolean append(InstrumentSeries series, int date) {
+        if (date <= lastDate) {
+            return false;
+        }
+        replay(series.slice(lastDate + 1, Integer.MAX_VALUE));
+        return true;
+    }
+    
+    /** 시계열 전체로 처음부터 다시 계산한다. */
+    public synchronized void rebuild(InstrumentSeries series) {
+        reset();
+        replay(series.slice(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+    
+    public synchronized void add(int date, long close, long volume, long value) {
+        lastDate = date;
+        if (close == KrxNumbers.NULL) {
+            return;
+        }
+        volume = volume == KrxNumbers.NULL ? 0 : volume;
+        value = value == KrxNumbers.NULL ? 0 : value;
+        
+        // 나가는 값은 링 버퍼를 덮어쓰기 전에 읽는다
+        for (int i = 0; i < smaSums.length; i++) {
+            smaSums[i] += close - leaving(closes, spec.smaPeriods()[i]);
+        }
+        long leavingClose = leaving(closes, spec.bollingerPeriod());
+        bollingerSum += close - leavingClose;
+        bollingerSumOfSquares += close * close - leavingClose * leavingClose;
+        vwapValue += value - leaving(values, spec.vwapPeriod());
+        vwapVolume += volume - leaving(volumes, spec.vwapPeriod());
+        long leavingVolume = leaving(volumes, spec.volumePeriod());
+        volumeSum += volume - leavingVolume;
+        volumeSumOfSquares += (double) volume * volume - (double) leavingVolume * leavingVolume;
+        
+        if (count > 0) {
+            addChange(close - lastClose);
+        }
+        
+        int slot = count % window;
+        closes[slot] = close;
+        volumes[slot] = volume;
+        values[slot] = value;
+        count++;
+        lastClose = close;
+        lastVolume = volume;
+        
+        if (count % spec.volumePeriod() == 0) {
+            refreshVolumeSquares();
+        }
+    }
+    
+    public synchronized IndicatorValues values() {
+        double[] sma = new double[smaSums.length];
+        for (int i = 0; i < sma.length; i++) {
+            int period = spec.smaPeriods()[i];
+            sma[i] = count >= period ? (double) smaSums[i] / period : Double.NaN;
+        }
+        
+        double vwap = count >= spec.vwapPeriod() && vwapVolume > 0 ? (double) vwapValue / vwapVolume : Double.NaN;
+        
+        double rsi = Double.NaN;
+        if (changes >= spec.rsiPeriod()) {
+            double gain = changes == spec.rsiPeriod() ? averageGain / spec.rsiPeriod() : averageGain;
+            double loss = changes == spec.rsiPeriod() ? averageLoss / spec.rsiPeriod() : averageLoss;
+            rsi = loss == 0 ? (gain == 0 ? 50 : 100) : 100 - 100 / (1 + gain / loss);
+        }
+        
+        double upper = Double.NaN;
+        double middle = Double.NaN;
+        double lower = Double.NaN;
+        int bollingerPeriod = spec.bollingerPeriod();
+        if (count >= bollingerPeriod) {
+            middle = (double) bollingerSum / bollingerPeriod;
+            // 모집단 분산: (n * sum(x^2) - sum(x)^2) / n^2
+            double variance = (double) (bollingerPeriod * bollingerSumOfSquares - bollingerSum * bollingerSum)
+                    / ((double) bollingerPeriod * bollingerPeriod);
+            double width = spec.bollingerWidth() * Math.sqrt(Math.max(0, variance));
+            upper = middle + width;
+            lower = middle - width;
+        }
+        
+        double volumeZScore = Double.NaN;
+        int volumePeriod = spec.volumePeriod();
+        if (count >= volumePeriod) {
+            double mean = (double) volumeSum / volumePeriod;
+            double deviation = Math.sqrt(Math.max(0, volumeSumOfSquares / volumePeriod - mean * mean));
+            volumeZScore = deviation > 0 ? (lastVolume - mean) / deviation : 0;
+        }
+        
+        return new IndicatorValues(isuCd, lastDate, count, count > 0 ? lastClose : KrxNumbers.NULL,
+                count > 0 ? lastVolume : KrxNumbers.NULL, sma, vwap, rsi, upper, middle, lower, volumeZScore);
+    }
+    
+    private void replay(InstrumentSeries.Slice slice) {
+        for (int i = 0; i < slice.size(); i++) {
+            add(slice.dates()[i], slice.close()[i], slice.volume()[i], slice.value()[i]);
+        }
+    }
+    
+    private void reset() {
+        count = 0;
+        lastDate = 0;
+        lastClose = KrxNumbers.NULL;
+        lastVolume = 0;
+        Arrays.fill(smaSums, 0);
+        bollingerSum = 0;
+        bollingerSumOfSquares = 0;
+        vwapValue = 0;
+        vwapVolume = 0;
+        volumeSum = 0;
+        volumeSumOfSquares = 0;
+        changes = 0;
+        averageGain = 0;
+        averageLoss = 0;
+    }
+    
+    /** period 일 전 값 (아직 period 개가 안 쌓였으면 0) */
+    private long leaving(long[] ring, int period) {
+        return count >= period ? ring[(count - period) % window] : 0;
+    }
+    
+    /**
+     * 처음 period 개 변화는 합계로 모으고(평균은 조회 시 나눈다), 이후는 Wilder 평균으로 갱신한다.
+     */
+    private void addChange(long change) {
+        long gain = Math.max(change, 0);
+        long loss = Math.max(-change, 0);
+        int period = spec.rsiPeriod();
+        if (changes < period) {
+            averageGain += gain;
+            averageLoss += loss;
+        } else {
+            if (changes == period) {
+                averageGain /= period;
+                averageLoss /= period;
+            }
+            averageGain = (averageGain * (period - 1) + gain) / period;
+            averageLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+        changes++;
+    }
+    
+    private void refreshVolumeSquares() {
+        double sum = 0;
+        for (int i = count - spec.volumePeriod(); i < count; i++) {
+            double volume = volumes[i % window];
+            sum += volume * volume;
+        }
+        volumeSumOfSquares = sum;
+    }
+}
@@ -0,0 +1,48 @@
+package com.trading.explorer.indicator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 종목의 한 영업일 지표 값. 기간만큼 데이터가 쌓이지 않은 지표는 NaN 이다.
+ */
+public record IndicatorValues(
+        String isuCd,
+        int date,
+        int points,
+        long close,
+        long volume,
+        double[] sma,
+        double vwap,
+        double rsi,
+        double bollingerUpper,
+        double bollingerMiddle,
+        double bollingerLower,
+        double volumeZScore) {
+    
+    public Map<String, Object> toMap(IndicatorSpec spec) {
+        Map<String, Object> sma = new LinkedHashMap<>();
+        for (int i = 0; i < spec.smaPeriods().length; i++) {
+            sma.put(String.valueOf(spec.smaPeriods()[i]), orNull(this.sma[i]));
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("isuCd", isuCd);
+        result.put("bizDate", date);
+        result.put("points", points);
+        result.put("close", close);
+        result.put("volume", volume);
+        result.put("sma", sma);
+        result.put("vwap", orNull(vwap));
+        result.put("rsi", orNull(rsi));
+        result.put("bollingerUpper", orNull(bollingerUpper));
+        result.put("bollingerMiddle", orNull(bollingerMiddle));
+        result.put("bollingerLower", orNull(bollingerLower));
+        result.put("volumeZScore", orNull(volumeZScore));
+        return result;
+    }
+    
+    static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
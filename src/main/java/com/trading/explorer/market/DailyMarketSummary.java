@@ -0,0 +1,80 @@
+package com.trading.explorer.market;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 API 의 한 영업일 집계 결과. 세그먼트를 한 번 훑어 만들고 이후 범위 조회는 이 값만 더한다.
+ */
+public record DailyMarketSummary(
+        String apiId,
+        int date,
+        int rows,
+        int advancers,
+        int decliners,
+        int unchanged,
+        long tradingValue,
+        long volume,
+        long marketCap,
+        List<Ranked> topByVolume,
+        List<Ranked> topByValue,
+        Map<String, SectorTotals> sectors) {
+
+    public List<Ranked> top(RankMetric metric) {
+        return metric == RankMetric.VOLUME ? topByVolume : topByValue;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> sectorMaps = new LinkedHashMap<>();
+        sectors.forEach((sector, totals) -> sectorMaps.put(sector, totals.toMap()));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("apiId", apiId);
+        result.put("bizDate", date);
+        result.put("rows", rows);
+        result.put("advancers", advancers);
+        result.put("decliners", decliners);
+        result.put("unchanged", unchanged);
+        result.put("tradingValue", tradingValue);
+        result.put("volume", volume);
+        result.put("marketCap", marketCap);
+        result.put("topByVolume", topByVolume.stream().map(Ranked::toMap).toList());
+        result.put("topByValue", topByValue.stream().map(Ranked::toMap).toList());
+        result.put("sectors", sectorMaps);
+        return result;
+    }
+
+    public record Ranked(String isuCd, String name, long value) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("isuCd", isuCd);
+            result.put("name", name);
+            result.put("value", value);
+            return result;
+        }
+    }
+
+    public record SectorTotals(int count, int advancers, int decliners, long tradingValue, long volume, long marketCap) {
+
+        public static final SectorTotals EMPTY = new SectorTotals(0, 0, 0, 0, 0, 0);
+
+        public SectorTotals plus(SectorTotals other) {
+            return new SectorTotals(count + other.count, advancers + other.advancers, decliners + other.decliners,
+                    tradingValue + other.tradingValue, volume + other.volume, marketCap + other.marketCap);
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", count);
+            result.put("advancers", advancers);
+            result.put("decliners", decliners);
+            result.put("tradingValue", tradingValue);
+            result.put("volume", volume);
+            result.put("marketCap", marketCap);
+            return result;
+        }
+    }
+}
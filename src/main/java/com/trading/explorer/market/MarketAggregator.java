@@ -0,0 +1,353 @@
+package com.trading.explorer.market;
+
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.store.ColumnarSegment;
+import com.trading.explorer.store.ColumnarSegmentWrittenEvent;
+import com.trading.explorer.store.ColumnarStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 일별 매매정보(stk/ksq/etf_bydd_trd) 의 시장 폭(상승/하락 종목 수), 거래대금 합계, 상위 종목, 소속부별 합계.
+ * <ul>
+ *   <li>영업일마다 컬럼 세그먼트를 fork-join 으로 한 번 훑어 {@link DailyMarketSummary} 로 보관한다</li>
+ *   <li>기동 시 저장된 세그먼트를 병렬로 적재하고, 이후 새 세그먼트가 기록될 때마다 그 영업일만 다시 계산한다</li>
+ *   <li>여러 해에 걸친 시장 폭/소속부 조회는 일별 요약만 더하므로 세그먼트를 다시 읽지 않는다</li>
+ * </ul>
+ * 기간 전체의 상위 종목만은 종목별 합계가 필요해 해당 기간 세그먼트를 영업일 단위로 나눠 병렬로 훑는다.
+ */
+@Slf4j
+@Component
+public class MarketAggregator {
+    
+    private static final String CODE_COLUMN = "ISU_CD";
+    private static final String NAME_COLUMN = "ISU_NM";
+    private static final String NO_SECTOR = "-";
+    
+    private final KrxApiProperties.Market config;
+    private final ColumnarStore columnarStore;
+    private final ForkJoinPool pool;
+    private final Map<String, NavigableMap<Integer, DailyMarketSummary>> summaries = new ConcurrentHashMap<>();
+    
+    private volatile boolean loaded;
+    private volatile long loadMillis;
+    
+    public MarketAggregator(KrxApiProperties properties, ColumnarStore columnarStore) {
+        this.config = properties.getMarket();
+        this.columnarStore = columnarStore;
+        this.pool = new ForkJoinPool(config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromStore() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        // 적재는 기동을 막지 않도록 별도 스레드에서 진행한다
+        Schedulers.boundedElastic().schedule(() -> {
+            long start = System.nanoTime();
+            List<Callable<Boolean>> days = new ArrayList<>();
+            for (String apiId : config.getApis()) {
+                for (String bizDate : columnarStore.listDates(apiId)) {
+                    days.add(() -> summarize(apiId, bizDate));
+                }
+            }
+            long applied = pool.invokeAll(days).stream().filter(day -> {
+                try {
+                    return day.get();
+                } catch (Exception e) {
+                    log.warn("Market summary failed: {}", e.getMessage());
+                    return false;
+                }
+            }).count();
+            loadMillis = (System.nanoTime() - start) / 1_000_000;
+            loaded = true;
+            log.info("Market aggregates loaded: {} days from {} APIs in {}ms", applied, config.getApis().size(), loadMillis);
+        });
+    }
+    
+    @EventListener
+    public void onSegmentWritten(ColumnarSegmentWrittenEvent event) {
+        if (config.isEnabled() && config.getApis().contains(event.apiId())) {
+            summarize(event.apiId(), event.bizDate());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    public Optional<DailyMarketSummary> summary(String apiId, int date) {
+        NavigableMap<Integer, DailyMarketSummary> days = summaries.get(apiId);
+        return Optional.ofNullable(days != null ? days.get(date) : null);
+    }
+    
+    /**
+     * 영업일별 상승/하락/보합 종목 수와 누적 등락선(ADL). 여러 API 를 주면 같은 영업일끼리 더한다.
+     */
+    public Map<String, Object> breadth(List<String> apiIds, int from, int to) {
+        // date -> [advancers, decliners, unchanged, tradingValue, volume]
+        NavigableMap<Integer, long[]> totals = new TreeMap<>();
+        for (String apiId : apiIds) {
+            for (DailyMarketSummary day : range(apiId, from, to).values()) {
+                long[] sums = totals.computeIfAbsent(day.date(), date -> new long[5]);
+                sums[0] += day.advancers();
+                sums[1] += day.decliners();
+                sums[2] += day.unchanged();
+                sums[3] += day.tradingValue();
+                sums[4] += day.volume();
+            }
+        }
+        
+        int size = totals.size();
+        int[] dates = new int[size];
+        long[] advancers = new long[size];
+        long[] decliners = new long[size];
+        long[] unchanged = new long[size];
+        long[] advanceDeclineLine = new long[size];
+        long[] tradingValue = new long[size];
+        long[] volume = new long[size];
+        int i = 0;
+        long line = 0;
+        for (Map.Entry<Integer, long[]> entry : totals.entrySet()) {
+            long[] sums = entry.getValue();
+            line += sums[0] - sums[1];
+            dates[i] = entry.getKey();
+            advancers[i] = sums[0];
+            decliners[i] = sums[1];
+            unchanged[i] = sums[2];
+            advanceDeclineLine[i] = line;
+            tradingValue[i] = sums[3];
+            volume[i] = sums[4];
+            i++;
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("apis", apiIds);
+        result.put("count", size);
+        result.put("dates", dates);
+        result.put("advancers", advancers);
+        result.put("decliners", decliners);
+        result.put("unchanged", unchanged);
+        result.put("advanceDeclineLine", advanceDeclineLine);
+        result.put("tradingValue", tradingValue);
+        result.put("volume", volume);
+        return result;
+    }
+    
+    /** 기간 동안의 소속부별 합계. 거래대금 큰 순서. */
+    public Map<String, DailyMarketSummary.SectorTotals> sectors(String apiId, int from, int to) {
+        Map<String, DailyMarketSummary.SectorTotals> totals = new HashMap<>();
+        for (DailyMarketSummary day : range(apiId, from, to).values()) {
+            day.sectors().forEach((sector, sums) -> totals.merge(sector, sums, DailyMarketSummary.SectorTotals::plus));
+        }
+        
+        Map<String, DailyMarketSummary.SectorTotals> sorted = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(
+                        Comparator.comparingLong(DailyMarketSummary.SectorTotals::tradingValue).reversed()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+    
+    /**
+     * 기간 합계 기준 상위 n개 종목. 하루짜리 조회이고 n 이 미리 계산한 범위 안이면 일별 요약에서 바로 돌려준다.
+     */
+    public List<DailyMarketSummary.Ranked> top(String apiId, int from, int to, RankMetric metric, int n) {
+        if (from == to && n <= config.getTopN()) {
+            return summary(apiId, from)
+                    .map(day -> day.top(metric).subList(0, Math.min(n, day.top(metric).size())))
+                    .orElse(List.of());
+        }
+        
+        List<String> dates = columnarStore.listDates(apiId, String.valueOf(from), String.valueOf(to));
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Accumulator> byInstrument = pool.invoke(new RangeTotals(apiId, dates, metric, 0, dates.size()));
+        
+        List<Map.Entry<String, Accumulator>> instruments = new ArrayList<>(byInstrument.entrySet());
+        TopN heap = new TopN(n);
+        for (int i = 0; i < instruments.size(); i++) {
+            heap.offer(instruments.get(i).getValue().sum, i);
+        }
+        List<DailyMarketSummary.Ranked> ranked = new ArrayList<>(heap.size());
+        for (int index : heap.sortedRows()) {
+            Map.Entry<String, Accumulator> instrument = instruments.get(index);
+            ranked.add(new DailyMarketSummary.Ranked(instrument.getKey(), instrument.getValue().name,
+                    instrument.getValue().sum));
+        }
+        return ranked;
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Integer> days = new LinkedHashMap<>();
+        config.getApis().forEach(apiId -> days.put(apiId, summaries.getOrDefault(apiId, new TreeMap<>()).size()));
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("loaded", loaded);
+        stats.put("loadMillis", loadMillis);
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("topN", config.getTopN());
+        stats.put("sectorColumn", config.getSectorColumn());
+        stats.put("days", days);
+        return stats;
+    }
+    
+    private NavigableMap<Integer, DailyMarketSummary> range(String apiId, int from, int to) {
+        NavigableMap<Integer, DailyMarketSummary> days = summaries.get(apiId);
+        return days != null ? days.subMap(from, true, to, true) : new TreeMap<>();
+    }
+    
+    private boolean summarize(String apiId, String bizDate) {
+        ColumnarSegment segment = columnarStore.open(apiId, bizDate).orElse(null);
+        if (segment == null) {
+            return false;
+        }
+        
+        SegmentScan scan = SegmentScan.of(segment, config.getSectorColumn(), config.getTopN());
+        SegmentScan.Partial totals = pool.invoke(scan);
+        ColumnarSegment.Column codes = segment.column(CODE_COLUMN);
+        ColumnarSegment.Column names = segment.column(NAME_COLUMN);
+        
+        DailyMarketSummary summary = new DailyMarketSummary(apiId, Integer.parseInt(bizDate), totals.rows,
+                totals.advancers, totals.decliners, totals.unchanged,
+                totals.tradingValue, totals.volume, totals.marketCap,
+                ranked(totals.byVolume, codes, names, scan.columns().volume, scan.columns()),
+                ranked(totals.byValue, codes, names, scan.columns().value, scan.columns()),
+                sectors(totals, scan.columns()));
+        summaries.computeIfAbsent(apiId, key -> new ConcurrentSkipListMap<>()).put(summary.date(), summary);
+        return true;
+    }
+    
+    private static List<DailyMarketSummary.Ranked> ranked(TopN heap, ColumnarSegment.Column codes,
+                                                          ColumnarSegment.Column names,
+                                                          ColumnarSegment.Column metric, SegmentScan.Columns columns) {
+        List<DailyMarketSummary.Ranked> ranked = new ArrayList<>(heap.size());
+        for (int row : heap.sortedRows()) {
+            ranked.add(new DailyMarketSummary.Ranked(
+                    codes != null ? codes.getString(row) : null,
+                    names != null ? names.getString(row) : null,
+                    columns.read(metric, row)));
+        }
+        return List.copyOf(ranked);
+    }
+    
+    private static Map<String, DailyMarketSummary.SectorTotals> sectors(SegmentScan.Partial totals,
+                                                                       SegmentScan.Columns columns) {
+        if (columns.sector == null) {
+            return Map.of();
+        }
+        String[] dictionary = columns.sector.getDictionary();
+        Map<String, DailyMarketSummary.SectorTotals> sectors = new LinkedHashMap<>();
+        for (int slot = 0; slot < totals.sectorCount.length; slot++) {
+            if (totals.sectorCount[slot] == 0) {
+                continue;
+            }
+            String sector = slot < dictionary.length && !dictionary[slot].isBlank() ? dictionary[slot] : NO_SECTOR;
+            sectors.merge(sector, new DailyMarketSummary.SectorTotals(totals.sectorCount[slot],
+                    totals.sectorAdvancers[slot], totals.sectorDecliners[slot], totals.sectorValue[slot],
+                    totals.sectorVolume[slot], totals.sectorMarketCap[slot]), DailyMarketSummary.SectorTotals::plus);
+        }
+        return Map.copyOf(sectors);
+    }
+    
+    private static final class Accumulator {
+        
+        private String name;
+        private long sum;
+    }
+    
+    /** 기간 세그먼트를 영업일 단위로 나눠 종목별 합계를 구하고 합친다. */
+    private final class RangeTotals extends RecursiveTask<Map<String, Accumulator>> {
+        
+        private final String apiId;
+        private final List<String> dates;
+        private final RankMetric metric;
+        private final int from;
+        private final int to;
+        
+        private RangeTotals(String apiId, List<String> dates, RankMetric metric, int from, int to) {
+            this.apiId = apiId;
+            this.dates = dates;
+            this.metric = metric;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Map<String, Accumulator> compute() {
+            if (to - from == 1) {
+                return scanDay(dates.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            RangeTotals left = new RangeTotals(apiId, dates, metric, from, middle);
+            left.fork();
+            Map<String, Accumulator> right = new RangeTotals(apiId, dates, metric, middle, to).compute();
+            Map<String, Accumulator> leftTotals = left.join();
+            
+            // 작은 쪽을 큰 쪽에 합친다
+            Map<String, Accumulator> target = leftTotals.size() >= right.size() ? leftTotals : right;
+            Map<String, Accumulator> source = target == leftTotals ? right : leftTotals;
+            source.forEach((isuCd, accumulator) -> target.merge(isuCd, accumulator, (a, b) -> {
+                a.sum += b.sum;
+                a.name = a.name != null ? a.name : b.name;
+                return a;
+            }));
+            return target;
+        }
+        
+        private Map<String, Accumulator> scanDay(String bizDate) {
+            ColumnarSegment segment = columnarStore.open(apiId, bizDate).orElse(null);
+            ColumnarSegment.Column codes = segment != null ? segment.column(CODE_COLUMN) : null;
+            if (codes == null || codes.getType() != ColumnarSegment.ColumnType.DICTIONARY) {
+                return new HashMap<>();
+            }
+            SegmentScan.Columns columns = new SegmentScan.Columns(segment, null, 0);
+            ColumnarSegment.Column metricColumn = metric == RankMetric.VOLUME ? columns.volume : columns.value;
+            ColumnarSegment.Column names = segment.column(NAME_COLUMN);
+            
+            String[] dictionary = codes.getDictionary();
+            Accumulator[] byCode = new Accumulator[dictionary.length];
+            Map<String, Accumulator> totals = new HashMap<>(dictionary.length * 2);
+            for (int row = 0; row < segment.getRowCount(); row++) {
+                int code = codes.getCode(row);
+                if (code < 0) {
+                    continue;
+                }
+                Accumulator accumulator = byCode[code];
+                if (accumulator == null) {
+                    accumulator = new Accumulator();
+                    accumulator.name = names != null ? names.getString(row) : null;
+                    byCode[code] = accumulator;
+                    totals.put(dictionary[code], accumulator);
+                }
+                accumulator.sum += columns.read(metricColumn, row);
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.trading.explorer.market;
+
+/**
+ * 상위 종목 순위 기준.
+ */
+public enum RankMetric {
+    
+    /** 거래량 */
+    VOLUME("ACC_TRDVOL"),
+    /** 거래대금 */
+    VALUE("ACC_TRDVAL");
+    
+    private final String column;
+    
+    RankMetric(String column) {
+        this.column = column;
+    }
+    
+    public String getColumn() {
+        return column;
+    }
+    
+    public static RankMetric parse(String name) {
+        return switch (name.toLowerCase()) {
+            case "volume", "acc_trdvol" -> VOLUME;
+            case "value", "turnover", "acc_trdval" -> VALUE;
+            default -> throw new IllegalArgumentException("Unknown rank metric: " + name + " (volume, value)");
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.trading.explorer.market;
+
+import com.trading.explorer.store.ColumnarSegment;
+import com.trading.explorer.util.KrxNumbers;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 컬럼 세그먼트 하나를 행 범위로 나눠 fork-join 으로 훑는다.
+ * 각 조각은 원시 컬럼(long/int 버퍼)만 읽어 부분 집계를 만들고, 합칠 때 상위 n개 힙과 소속부 배열을 더한다.
+ */
+final class SegmentScan extends RecursiveTask<SegmentScan.Partial> {
+    
+    /** 하루치 종목 수(수천 행)는 한 조각으로 처리하고 그보다 큰 세그먼트만 나눈다 */
+    static final int THRESHOLD = 4096;
+    
+    private static final String CHANGE_COLUMN = "CMPPREVDD_PRC";
+    private static final String FLUCTUATION_COLUMN = "FLUC_RT";
+    private static final String MARKET_CAP_COLUMN = "MKTCAP";
+    
+    private final Columns columns;
+    private final int from;
+    private final int to;
+    
+    private SegmentScan(Columns columns, int from, int to) {
+        this.columns = columns;
+        this.from = from;
+        this.to = to;
+    }
+    
+    static SegmentScan of(ColumnarSegment segment, String sectorColumn, int topN) {
+        return new SegmentScan(new Columns(segment, sectorColumn, topN), 0, segment.getRowCount());
+    }
+    
+    @Override
+    protected Partial compute() {
+        if (to - from <= THRESHOLD) {
+            return scan();
+        }
+        int middle = (from + to) >>> 1;
+        SegmentScan left = new SegmentScan(columns, from, middle);
+        left.fork();
+        Partial right = new SegmentScan(columns, middle, to).compute();
+        return left.join().merge(right);
+    }
+    
+    private Partial scan() {
+        Partial partial = new Partial(columns.topN, columns.sectorSlots());
+        for (int row = from; row < to; row++) {
+            long change = columns.change != null ? columns.change.getLong(row) : KrxNumbers.NULL;
+            long volume = columns.read(columns.volume, row);
+            long value = columns.read(columns.value, row);
+            long marketCap = columns.read(columns.marketCap, row);
+            int direction = change == KrxNumbers.NULL ? 0 : Long.signum(change);
+            
+            partial.rows++;
+            if (direction > 0) {
+                partial.advancers++;
+            } else if (direction < 0) {
+                partial.decliners++;
+            } else {
+                partial.unchanged++;
+            }
+            partial.volume += volume;
+            partial.tradingValue += value;
+            partial.marketCap += marketCap;
+            partial.byVolume.offer(volume, row);
+            partial.byValue.offer(value, row);
+            
+            if (columns.sector != null) {
+                int slot = columns.sectorSlot(row);
+                partial.sectorCount[slot]++;
+                partial.sectorAdvancers[slot] += direction > 0 ? 1 : 0;
+                partial.sectorDecliners[slot] += direction < 0 ? 1 : 0;
+                partial.sectorValue[slot] += value;
+                partial.sectorVolume[slot] += volume;
+                partial.sectorMarketCap[slot] += marketCap;
+            }
+        }
+        return partial;
+    }
+    
+    Columns columns() {
+        return columns;
+    }
+    
+    /** 조각마다의 부분 집계. 소속부 배열은 사전 코드로 인덱싱하고 마지막 칸이 값 없음이다. */
+    static final class Partial {
+        
+        int rows;
+        int advancers;
+        int decliners;
+        int unchanged;
+        long tradingValue;
+        long volume;
+        long marketCap;
+        final TopN byVolume;
+        final TopN byValue;
+        final int[] sectorCount;
+        final int[] sectorAdvancers;
+        final int[] sectorDecliners;
+        final long[] sectorValue;
+        final long[] sectorVolume;
+        final long[] sectorMarketCap;
+        
+        Partial(int topN, int sectorSlots) {
+            this.byVolume = new TopN(topN);
+            this.byValue = new TopN(topN);
+            this.sectorCount = new int[sectorSlots];
+            this.sectorAdvancers = new int[sectorSlots];
+            this.sectorDecliners = new int[sectorSlots];
+            this.sectorValue = new long[sectorSlots];
+            this.sectorVolume = new long[sectorSlots];
+            this.sectorMarketCap = new long[sectorSlots];
+        }
+        
+        Partial merge(Partial other) {
+            rows += other.rows;
+            advancers += other.advancers;
+            decliners += other.decliners;
+            unchanged += other.unchanged;
+            tradingValue += other.tradingValue;
+            volume += other.volume;
+            marketCap += other.marketCap;
+            byVolume.merge(other.byVolume);
+            byValue.merge(other.byValue);
+            for (int slot = 0; slot < sectorCount.length; slot++) {
+                sectorCount[slot] += other.sectorCount[slot];
+                sectorAdvancers[slot] += other.sectorAdvancers[slot];
+                sectorDecliners[slot] += other.sectorDecliners[slot];
+                sectorValue[slot] += other.sectorValue[slot];
+                sectorVolume[slot] += other.sectorVolume[slot];
+                sectorMarketCap[slot] += other.sectorMarketCap[slot];
+            }
+            return this;
+        }
+    }
+    
+    /** 집계에 쓰는 컬럼. 없는 컬럼은 null 이고 0 으로 더한다. */
+    static final class Columns {
+        
+        final ColumnarSegment.Column change;
+        final ColumnarSegment.Column volume;
+        final ColumnarSegment.Column value;
+        final ColumnarSegment.Column marketCap;
+        final ColumnarSegment.Column sector;
+        final int topN;
+        
+        Columns(ColumnarSegment segment, String sectorColumn, int topN) {
+            ColumnarSegment.Column changeColumn = decimal(segment, CHANGE_COLUMN);
+            // 대비 가격이 없는 API 는 등락률 부호로 판단한다
+            this.change = changeColumn != null ? changeColumn : decimal(segment, FLUCTUATION_COLUMN);
+            this.volume = decimal(segment, RankMetric.VOLUME.getColumn());
+            this.value = decimal(segment, RankMetric.VALUE.getColumn());
+            this.marketCap = decimal(segment, MARKET_CAP_COLUMN);
+            ColumnarSegment.Column sectorCandidate = sectorColumn != null ? segment.column(sectorColumn) : null;
+            this.sector = sectorCandidate != null && sectorCandidate.getType() == ColumnarSegment.ColumnType.DICTIONARY
+                    ? sectorCandidate : null;
+            this.topN = topN;
+        }
+        
+        int sectorSlots() {
+            return sector != null ? sector.getDictionary().length + 1 : 0;
+        }
+        
+        int sectorSlot(int row) {
+            int code = sector.getCode(row);
+            return code < 0 ? sectorSlots() - 1 : code;
+        }
+        
+        /** 정수 단위(주, 원)로 읽는다. 값이 없으면 0. */
+        long read(ColumnarSegment.Column column, int row) {
+            if (column == null) {
+                return 0;
+            }
+            long raw = column.getLong(row);
+            if (raw == KrxNumbers.NULL) {
+                return 0;
+            }
+            return column.getScale() == 0 ? raw : Math.round((double) raw / KrxNumbers.pow10(column.getScale()));
+        }
+        
+        private static ColumnarSegment.Column decimal(ColumnarSegment segment, String name) {
+            ColumnarSegment.Column column = segment.column(name);
+            return column != null && column.getType() == ColumnarSegment.ColumnType.DECIMAL ? column : null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.trading.explorer.market;
+
+/**
+ * 값이 큰 상위 n개만 남기는 크기 고정 최소 힙. 키와 행 번호를 박싱 없이 배열로 보관한다.
+ */
+final class TopN {
+    
+    private final long[] keys;
+    private final int[] rows;
+    private int size;
+    
+    TopN(int capacity) {
+        this.keys = new long[capacity];
+        this.rows = new int[capacity];
+    }
+    
+    void offer(long key, int row) {
+        if (size < keys.length) {
+            keys[size] = key;
+            rows[size] = row;
+            siftUp(size++);
+        } else if (size > 0 && key > keys[0]) {
+            keys[0] = key;
+            rows[0] = row;
+            siftDown(0);
+        }
+    }
+    
+    void merge(TopN other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.keys[i], other.rows[i]);
+        }
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /** 키가 큰 순서로 정렬한 행 번호. 힙은 그대로 둔다. */
+    int[] sortedRows() {
+        int[] order = new int[size];
+        long[] sortedKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            // 삽입 정렬 - n 은 수십 개 이하
+            int j = i;
+            while (j > 0 && sortedKeys[j - 1] < keys[i]) {
+                sortedKeys[j] = sortedKeys[j - 1];
+                order[j] = order[j - 1];
+                j--;
+            }
+            sortedKeys[j] = keys[i];
+            order[j] = rows[i];
+        }
+        return order;
+    }
+    
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= keys[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+    
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && keys[left + 1] < keys[left] ? left + 1 : left;
+            if (keys[index] <= keys[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+    
+    private void swap(int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+}
@@ -0,0 +1,72 @@
+package com.trading.explorer.metrics;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * KRX 호출 하나의 단계별 시각. Reactor Context 에 실려 Reactor Netty 훅까지 전달되며,
+ * 각 단계가 끝날 때마다 {@link KrxMetrics} 에 기록한다.
+ */
+public final class KrxCallTiming {
+    
+    private static final String CONTEXT_KEY = KrxCallTiming.class.getName();
+    
+    private final KrxMetrics metrics;
+    private final String apiId;
+    private final long startNanos;
+    private volatile long requestNanos;
+    private volatile long responseNanos;
+    
+    KrxCallTiming(KrxMetrics metrics, String apiId, long startNanos) {
+        this.metrics = metrics;
+        this.apiId = apiId;
+        this.startNanos = startNanos;
+    }
+    
+    public static KrxCallTiming from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+    
+    public Context attach(Context context) {
+        return context.put(CONTEXT_KEY, this);
+    }
+    
+    public String getApiId() {
+        return apiId;
+    }
+    
+    /** 커넥션을 얻어 요청 헤더를 보내기 직전. */
+    public void requestStarted() {
+        requestNanos = System.nanoTime();
+        metrics.recordStage(KrxMetrics.ACQUIRE, apiId, requestNanos - startNanos);
+    }
+    
+    /** 응답 헤더 수신. */
+    public void responseStarted() {
+        responseNanos = System.nanoTime();
+        if (requestNanos != 0) {
+            metrics.recordStage(KrxMetrics.TTFB, apiId, responseNanos - requestNanos);
+        }
+    }
+    
+    /** 본문 수신 완료. 전체 소요 시간(ms)을 돌려준다. */
+    public long bodyReceived(long bytes) {
+        long now = System.nanoTime();
+        if (responseNanos != 0) {
+            metrics.recordStage(KrxMetrics.TRANSFER, apiId, now - responseNanos);
+        }
+        metrics.recordStage(KrxMetrics.TOTAL, apiId, now - startNanos);
+        metrics.recordResponseSize(apiId, bytes);
+        return elapsedMillis(now);
+    }
+    
+    /** 실패. 전체 소요 시간(ms)을 돌려준다. */
+    public long failed(int status) {
+        metrics.recordError(apiId, status);
+        return elapsedMillis(System.nanoTime());
+    }
+    
+    private long elapsedMillis(long now) {
+        return (now - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,138 @@
+package com.trading.explorer.metrics;
+
+import com.trading.explorer.config.KrxApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * KRX 호출 단계별 지표. 모든 지표는 apiId, category 태그를 달고 System.nanoTime 기준으로 잰다.
+ * apiId 는 요청 경로에서 오므로 krx.apis 에 없는 값은 "unknown" 하나로 모아 미터 수를 설정된 API 수로 묶는다.
+ * <ul>
+ *   <li>{@code krx.client.stage{stage=acquire|ttfb|transfer|total}} - 커넥션 획득, 첫 바이트, 본문 수신, 전체</li>
+ *   <li>{@code krx.client.stage{stage=parse|analyze}} - JSON 파싱, 구조 분석</li>
+ *   <li>{@code krx.client.response.size} - 응답 본문 크기</li>
+ *   <li>{@code krx.client.errors{status}} - HTTP 상태별 실패 수</li>
+ *   <li>{@code krx.client.hedges{outcome=sent|won}} - 헤지 요청 수, 원 요청보다 먼저 성공한 수</li>
+ *   <li>{@code krx.client.circuit.rejected} - 차단기가 열려 보내지 않은 호출 수</li>
+ *   <li>{@code krx.schema.drift} - 응답 형태가 처음 보는 지문으로 바뀐 횟수</li>
+ * </ul>
+ */
+@Component
+public class KrxMetrics {
+    
+    public static final String STAGE_TIMER = "krx.client.stage";
+    public static final String ACQUIRE = "acquire";
+    public static final String TTFB = "ttfb";
+    public static final String TRANSFER = "transfer";
+    public static final String TOTAL = "total";
+    public static final String PARSE = "parse";
+    public static final String ANALYZE = "analyze";
+    
+    private static final String UNKNOWN = "unknown";
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<String, String> categories = new HashMap<>();
+    // Timer.builder().register() 는 매번 Meter.Id 를 만들어 조회하므로 자주 쓰는 미터는 직접 캐시한다
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> sizes = new ConcurrentHashMap<>();
+    
+    public KrxMetrics(MeterRegistry meterRegistry, KrxApiProperties properties) {
+        this.meterRegistry = meterRegistry;
+        if (properties.getApis() != null) {
+            for (Map.Entry<String, List<KrxApiProperties.ApiDefinition>> entry : properties.getApis().entrySet()) {
+                entry.getValue().forEach(api -> categories.put(api.getId(), entry.getKey()));
+            }
+        }
+    }
+    
+    public KrxCallTiming startCall(String apiId) {
+        return new KrxCallTiming(this, apiId, System.nanoTime());
+    }
+    
+    public void recordStage(String stage, String apiId, long nanos) {
+        String tag = apiTag(apiId);
+        timers.computeIfAbsent(stage + '|' + tag, key -> Timer.builder(STAGE_TIMER)
+                        .tag("stage", stage)
+                        .tag("apiId", tag)
+                        .tag("category", category(apiId))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public <T> T time(String stage, String apiId, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            recordStage(stage, apiId, System.nanoTime() - start);
+        }
+    }
+    
+    public void recordResponseSize(String apiId, long bytes) {
+        String tag = apiTag(apiId);
+        sizes.computeIfAbsent(tag, key -> DistributionSummary.builder("krx.client.response.size")
+                        .baseUnit("bytes")
+                        .tag("apiId", tag)
+                        .tag("category", category(apiId))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(bytes);
+    }
+    
+    public void recordError(String apiId, int status) {
+        String tag = apiTag(apiId);
+        Counter.builder("krx.client.errors")
+                .tag("apiId", tag)
+                .tag("category", category(apiId))
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void recordHedge(String apiId, String outcome) {
+        String tag = apiTag(apiId);
+        Counter.builder("krx.client.hedges")
+                .tag("apiId", tag)
+                .tag("category", category(apiId))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void recordCircuitRejection(String apiId) {
+        String tag = apiTag(apiId);
+        Counter.builder("krx.client.circuit.rejected")
+                .tag("apiId", tag)
+                .tag("category", category(apiId))
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void recordSchemaDrift(String apiId) {
+        String tag = apiTag(apiId);
+        Counter.builder("krx.schema.drift")
+                .tag("apiId", tag)
+                .tag("category", category(apiId))
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public String category(String apiId) {
+        return categories.getOrDefault(apiId, UNKNOWN);
+    }
+    
+    private String apiTag(String apiId) {
+        return categories.containsKey(apiId) ? apiId : UNKNOWN;
+    }
+}
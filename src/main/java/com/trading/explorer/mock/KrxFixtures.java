@@ -0,0 +1,205 @@
+package com.trading.explorer.mock;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 실제 KRX 응답과 같은 필드 구성/값 형식을 갖는 응답 본문 생성기.
+ * 시드가 고정되어 있어 (형태, 행 수, bizdate) 가 같으면 항상 같은 바이트가 만들어진다.
+ * 시세 데이터는 영업일마다 값이 달라지고, 종목기본정보는 일부 종목만 바뀐다.
+ */
+public enum KrxFixtures {
+    
+    /** kospi_dd_trd 등 지수 일별시세 */
+    INDEX(50) {
+        @Override
+        void appendRow(StringBuilder sb, int i, int day, Random random) {
+            double close = 500 + random.nextDouble() * 3000;
+            field(sb, "BAS_DD", String.valueOf(day)).append(',');
+            field(sb, "IDX_CLSS", "KOSPI").append(',');
+            field(sb, "IDX_NM", "코스피 지수" + i).append(',');
+            field(sb, "CLSPRC_IDX", String.format(Locale.ROOT, "%.2f", close)).append(',');
+            field(sb, "CMPPREVDD_IDX", String.format(Locale.ROOT, "%.2f", (random.nextDouble() - 0.5) * 40)).append(',');
+            field(sb, "FLUC_RT", String.format(Locale.ROOT, "%.2f", (random.nextDouble() - 0.5) * 4)).append(',');
+            field(sb, "OPNPRC_IDX", String.format(Locale.ROOT, "%.2f", close * 0.99)).append(',');
+            field(sb, "HGPRC_IDX", String.format(Locale.ROOT, "%.2f", close * 1.01)).append(',');
+            field(sb, "LWPRC_IDX", String.format(Locale.ROOT, "%.2f", close * 0.98)).append(',');
+            field(sb, "ACC_TRDVOL", String.format(Locale.ROOT, "%,d", random.nextInt(900_000_000))).append(',');
+            field(sb, "ACC_TRDVAL", String.format(Locale.ROOT, "%,d", random.nextLong(20_000_000_000_000L))).append(',');
+            field(sb, "MKTCAP", String.format(Locale.ROOT, "%,d", random.nextLong(2_000_000_000_000_000L)));
+        }
+    },
+    
+    /** stk_bydd_trd 등 종목 일별매매정보 */
+    STOCK(950) {
+        @Override
+        void appendRow(StringBuilder sb, int i, int day, Random random) {
+            appendStockFields(sb, i, day, random);
+        }
+    },
+    
+    /** elw_bydd_trd - 기초자산 필드가 붙은 종목 일별매매정보 */
+    ELW(5000) {
+        @Override
+        void appendRow(StringBuilder sb, int i, int day, Random random) {
+            appendStockFields(sb, i, day, random);
+            sb.append(',');
+            field(sb, "ULY_NM", "기초자산" + (i % 200)).append(',');
+            field(sb, "ULY_PRC", String.format(Locale.ROOT, "%,d", 1_000 + random.nextInt(900_000))).append(',');
+            field(sb, "CMPPREVDD_PRC_ULY", String.valueOf(random.nextInt(2_001) - 1_000)).append(',');
+            field(sb, "FLUC_RT_ULY", String.format(Locale.ROOT, "%.2f", (random.nextDouble() - 0.5) * 20));
+        }
+    },
+    
+    /** stk_isu_base_info 등 종목기본정보 - 영업일마다 약 1% 종목의 상장주식수만 바뀐다 */
+    BASE_INFO(950) {
+        @Override
+        void appendRow(StringBuilder sb, int i, int day, Random random) {
+            long listedShares = 1_000_000L + random.nextInt(900_000_000);
+            if ((i + day) % 97 == 0) {
+                listedShares += day % 10_000;
+            }
+            field(sb, "ISU_CD", String.format(Locale.ROOT, "KR7%06d003", i)).append(',');
+            field(sb, "ISU_SRT_CD", String.format(Locale.ROOT, "%06d", i)).append(',');
+            field(sb, "ISU_NM", "종목" + i + "보통주").append(',');
+            field(sb, "ISU_ABBRV", "종목" + i).append(',');
+            field(sb, "ISU_ENG_NM", "Issue " + i + " Co., Ltd.").append(',');
+            field(sb, "LIST_DD", String.valueOf(19_900_101 + random.nextInt(30) * 10_000)).append(',');
+            field(sb, "MKT_TP_NM", "KOSPI").append(',');
+            field(sb, "SECUGRP_NM", "주권").append(',');
+            field(sb, "SECT_TP_NM", i % 7 == 0 ? "-" : "").append(',');
+            field(sb, "KIND_STKCERT_TP_NM", "보통주").append(',');
+            field(sb, "PARVAL", String.valueOf(new int[]{100, 500, 1000, 5000}[random.nextInt(4)])).append(',');
+            field(sb, "LIST_SHRS", String.valueOf(listedShares));
+        }
+        
+        @Override
+        long seed(int day) {
+            return SEED;
+        }
+    },
+    
+    /** kts_bydd_trd 등 채권 일별매매정보 */
+    BOND(200) {
+        @Override
+        void appendRow(StringBuilder sb, int i, int day, Random random) {
+            double price = 9_000 + random.nextDouble() * 2_000;
+            double yield = 2 + random.nextDouble() * 3;
+            field(sb, "BAS_DD", String.valueOf(day)).append(',');
+            field(sb, "MKT_NM", "국채전문유통시장").append(',');
+            field(sb, "ISU_CD", String.format(Locale.ROOT, "KR103502G%03dA", i % 1000)).append(',');
+            field(sb, "ISU_NM", "국고채권" + i).append(',');
+            field(sb, "BND_EXP_TP_NM", new String[]{"3", "5", "10", "30"}[i % 4]).append(',');
+            field(sb, "GOVBND_ISU_TP_NM", i % 3 == 0 ? "지표" : "경과").append(',');
+            field(sb, "CLSPRC", String.format(Locale.ROOT, "%.1f", price)).append(',');
+            field(sb, "CMPPREVDD_PRC", String.format(Locale.ROOT, "%.1f", (random.nextDouble() - 0.5) * 20)).append(',');
+            field(sb, "CLSPRC_YD", String.format(Locale.ROOT, "%.3f", yield)).append(',');
+            field(sb, "OPNPRC", String.format(Locale.ROOT, "%.1f", price - 3)).append(',');
+            field(sb, "OPNPRC_YD", String.format(Locale.ROOT, "%.3f", yield + 0.01)).append(',');
+            field(sb, "HGPRC", String.format(Locale.ROOT, "%.1f", price + 5)).append(',');
+            field(sb, "HGPRC_YD", String.format(Locale.ROOT, "%.3f", yield - 0.02)).append(',');
+            field(sb, "LWPRC", String.format(Locale.ROOT, "%.1f", price - 5)).append(',');
+            field(sb, "LWPRC_YD", String.format(Locale.ROOT, "%.3f", yield + 0.02)).append(',');
+            field(sb, "ACC_TRDVOL", String.format(Locale.ROOT, "%,d", random.nextLong(500_000_000_000L))).append(',');
+            field(sb, "ACC_TRDVAL", String.format(Locale.ROOT, "%,d", random.nextLong(500_000_000_000L)));
+        }
+    };
+    
+    static final long SEED = 20240115L;
+    private static final int DEFAULT_DAY = 20240115;
+    
+    /** API 별 응답 형태와 실제 응답에 가까운 하루치 행 수 */
+    private static final Map<String, Fixture> API_FIXTURES = Map.ofEntries(
+            Map.entry("krx_dd_trd", new Fixture(INDEX, 50)),
+            Map.entry("kospi_dd_trd", new Fixture(INDEX, 50)),
+            Map.entry("kosdaq_dd_trd", new Fixture(INDEX, 40)),
+            Map.entry("bon_dd_trd", new Fixture(INDEX, 20)),
+            Map.entry("drvprod_dd_trd", new Fixture(INDEX, 60)),
+            Map.entry("stk_bydd_trd", new Fixture(STOCK, 950)),
+            Map.entry("ksq_bydd_trd", new Fixture(STOCK, 1_700)),
+            Map.entry("knx_bydd_trd", new Fixture(STOCK, 130)),
+            Map.entry("sw_bydd_trd", new Fixture(STOCK, 60)),
+            Map.entry("sr_bydd_trd", new Fixture(STOCK, 40)),
+            Map.entry("stk_isu_base_info", new Fixture(BASE_INFO, 950)),
+            Map.entry("ksq_isu_base_info", new Fixture(BASE_INFO, 1_700)),
+            Map.entry("knx_isu_base_info", new Fixture(BASE_INFO, 130)),
+            Map.entry("etf_bydd_trd", new Fixture(STOCK, 850)),
+            Map.entry("etn_bydd_trd", new Fixture(STOCK, 350)),
+            Map.entry("elw_bydd_trd", new Fixture(ELW, 5_000)),
+            Map.entry("kts_bydd_trd", new Fixture(BOND, 200)),
+            Map.entry("bnd_bydd_trd", new Fixture(BOND, 1_200)),
+            Map.entry("smb_bydd_trd", new Fixture(BOND, 30)));
+    
+    private final int rows;
+    
+    KrxFixtures(int rows) {
+        this.rows = rows;
+    }
+    
+    public static Fixture forApi(String apiId) {
+        return API_FIXTURES.get(apiId);
+    }
+    
+    public int rows() {
+        return rows;
+    }
+    
+    public String body() {
+        return body(rows);
+    }
+    
+    public String body(int rowCount) {
+        return body(rowCount, DEFAULT_DAY);
+    }
+    
+    public String body(int rowCount, int day) {
+        Random random = new Random(seed(day));
+        StringBuilder sb = new StringBuilder(rowCount * 400).append("{\"OutBlock_1\":[");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('{');
+            appendRow(sb, i, day, random);
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+    
+    abstract void appendRow(StringBuilder sb, int i, int day, Random random);
+    
+    long seed(int day) {
+        return SEED ^ day;
+    }
+    
+    static void appendStockFields(StringBuilder sb, int i, int day, Random random) {
+        int close = 1_000 + random.nextInt(500_000);
+        field(sb, "BAS_DD", String.valueOf(day)).append(',');
+        field(sb, "ISU_CD", String.format(Locale.ROOT, "%06d", i)).append(',');
+        field(sb, "ISU_NM", "종목" + i).append(',');
+        field(sb, "MKT_NM", "KOSPI").append(',');
+        field(sb, "SECT_TP_NM", i % 7 == 0 ? "-" : "").append(',');
+        field(sb, "TDD_CLSPRC", String.format(Locale.ROOT, "%,d", close)).append(',');
+        field(sb, "CMPPREVDD_PRC", String.valueOf(random.nextInt(2_001) - 1_000)).append(',');
+        field(sb, "FLUC_RT", String.format(Locale.ROOT, "%.2f", (random.nextDouble() - 0.5) * 30)).append(',');
+        field(sb, "TDD_OPNPRC", String.format(Locale.ROOT, "%,d", close - random.nextInt(500))).append(',');
+        field(sb, "TDD_HGPRC", String.format(Locale.ROOT, "%,d", close + random.nextInt(1_000))).append(',');
+        field(sb, "TDD_LWPRC", String.format(Locale.ROOT, "%,d", Math.max(1, close - random.nextInt(1_000)))).append(',');
+        field(sb, "ACC_TRDVOL", String.format(Locale.ROOT, "%,d", random.nextInt(50_000_000))).append(',');
+        field(sb, "ACC_TRDVAL", String.format(Locale.ROOT, "%,d", random.nextLong(5_000_000_000_000L))).append(',');
+        field(sb, "MKTCAP", String.format(Locale.ROOT, "%,d", random.nextLong(500_000_000_000_000L))).append(',');
+        field(sb, "LIST_SHRS", String.format(Locale.ROOT, "%,d", random.nextLong(6_000_000_000L)));
+    }
+    
+    static StringBuilder field(StringBuilder sb, String name, String value) {
+        return sb.append('"').append(name).append("\":\"").append(value).append('"');
+    }
+    
+    public record Fixture(KrxFixtures shape, int rows) {
+        
+        public String body(double rowScale, int day) {
+            return shape.body(Math.max(1, (int) Math.round(rows * rowScale)), day);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.trading.explorer.mock;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trading.explorer.config.KrxApiProperties;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 부하 테스트용 KRX 대역 서버. {@code mock} 프로필에서 base-url 이 이 서버를 가리킨다.
+ * 19개 {@code /api/{apiId}} 에 {@link KrxFixtures} 응답을 주며, 지연/지터와 429/5xx 비율을 설정할 수 있다.
+ * <p>
+ * AOT 처리된 컨텍스트는 빌드할 때 빈 구성이 고정되므로 조건부 빈으로 두지 않고, krx.mock.enabled 일 때만 서버를 띄운다.
+ */
+@Slf4j
+@Component
+public class MockKrxServer {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final byte[] RATE_LIMITED_BODY = "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVER_ERROR_BODY = "{\"error\":\"Service unavailable\"}".getBytes(StandardCharsets.UTF_8);
+    
+    private final KrxApiProperties.Mock config;
+    private final Cache<String, byte[]> bodies;
+    
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    
+    private DisposableServer server;
+    
+    public MockKrxServer(KrxApiProperties properties) {
+        this.config = properties.getMock();
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(config.getCachedBodies())
+                .build();
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        // 애플리케이션의 WebClient 보다 먼저 떠 있어야 기동 직후 warm-up 이 성공한다
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(config.getPort())
+                .compress(true)
+                .route(routes -> routes
+                        .get("/api/{apiId}", this::handle)
+                        .head("/", (request, response) -> response.status(HttpResponseStatus.OK).send()))
+                .bindNow();
+        log.info("Mock KRX server listening on 127.0.0.1:{} (latency={}, jitter={}, rowScale={}, 429={}, 5xx={}, stall={})",
+                server.port(), config.getLatency(), config.getJitter(), config.getRowScale(),
+                config.getRateLimitedRatio(), config.getServerErrorRatio(), config.getStallRatio());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            log.info("Mock KRX server stopped: served={}, rateLimited={}, serverErrors={}",
+                    served.get(), rateLimited.get(), serverErrors.get());
+        }
+    }
+    
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String apiId = request.param("apiId");
+        KrxFixtures.Fixture fixture = KrxFixtures.forApi(apiId);
+        if (fixture == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+        int day = bizDate(request.uri());
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long jitterNanos = config.getJitter().toNanos();
+        Duration delay = random.nextDouble() < config.getStallRatio()
+                ? config.getStall()
+                : config.getLatency().plusNanos(jitterNanos > 0 ? random.nextLong(jitterNanos + 1) : 0);
+        double roll = random.nextDouble();
+        
+        return Mono.delay(delay).then(Mono.defer(() -> {
+            if (config.getFailingApis().contains(apiId)) {
+                serverErrors.incrementAndGet();
+                return send(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE), SERVER_ERROR_BODY);
+            }
+            if (roll < config.getRateLimitedRatio()) {
+                rateLimited.incrementAndGet();
+                return send(response.status(HttpResponseStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaderNames.RETRY_AFTER, "1"), RATE_LIMITED_BODY);
+            }
+            if (roll < config.getRateLimitedRatio() + config.getServerErrorRatio()) {
+                serverErrors.incrementAndGet();
+                return send(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE), SERVER_ERROR_BODY);
+            }
+            served.incrementAndGet();
+            byte[] body = bodies.get(apiId + '|' + day,
+                    key -> fixture.body(config.getRowScale(), day).getBytes(StandardCharsets.UTF_8));
+            return send(response.status(HttpResponseStatus.OK), body);
+        }));
+    }
+    
+    private static Mono<Void> send(HttpServerResponse response, byte[] body) {
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=UTF-8")
+                .sendByteArray(Mono.just(body))
+                .then();
+    }
+    
+    private static int bizDate(String uri) {
+        List<String> values = new QueryStringDecoder(uri).parameters().get("bizdate");
+        if (values != null && !values.isEmpty() && values.get(0).matches("\\d{8}")) {
+            return Integer.parseInt(values.get(0));
+        }
+        return Integer.parseInt(LocalDate.now().format(DATE_FORMAT));
+    }
+}
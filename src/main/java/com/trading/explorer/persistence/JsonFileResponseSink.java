@@ -0,0 +1,113 @@
+package com.trading.explorer.persistence;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.util.JsonFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class JsonFileResponseSink implements ResponseSink {
+    
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    
+    private final JsonFormatter jsonFormatter;
+    private final Path responseDir;
+    private final boolean fsync;
+    private final KrxApiProperties.Reference reference;
+    private final boolean enabled;
+    
+    public JsonFileResponseSink(JsonFormatter jsonFormatter, KrxApiProperties properties) {
+        this.jsonFormatter = jsonFormatter;
+        this.responseDir = Paths.get(properties.getPersistence().getDirectory());
+        this.fsync = properties.getPersistence().isFsync();
+        this.reference = properties.getReference();
+        this.enabled = properties.getPersistence().isJsonFiles();
+    }
+    
+    @Override
+    public boolean accepts(ApiResponse response) {
+        // 원문은 ResponseArchive 가 보관하므로 사람이 읽을 파일은 켰을 때만 남긴다.
+        // 기준 데이터는 ReferenceDeltaSink 가 바뀐 행만 기록한다
+        return enabled && !reference.isDeltaApi(response.getApiId());
+    }
+    
+    @Override
+    public void write(List<ApiResponse> batch) throws IOException {
+        Files.createDirectories(responseDir);
+        
+        List<FileChannel> written = new ArrayList<>(batch.size());
+        try {
+            for (ApiResponse response : batch) {
+                written.add(writeResponse(response));
+            }
+            
+            // 파일마다 바로 fsync 하지 않고 배치를 모두 쓴 뒤 한 번에 내린다
+            if (fsync) {
+                for (FileChannel channel : written) {
+                    channel.force(true);
+                }
+                forceDirectory();
+            }
+        } finally {
+            for (FileChannel channel : written) {
+                channel.close();
+            }
+        }
+    }
+    
+    private FileChannel writeResponse(ApiResponse response) throws IOException {
+        // 파일명 생성: {apiId}_{timestamp}.json, 같은 초에 저장된 파일이 있으면 _{n} 을 붙인다
+        LocalDateTime fetchedAt = response.getTimestamp() != null ? response.getTimestamp() : LocalDateTime.now();
+        String baseName = String.format("%s_%s", response.getApiId(), fetchedAt.format(FILE_DATE_FORMAT));
+        
+        byte[] prettyJson = jsonFormatter.prettyPrint(response).getBytes(StandardCharsets.UTF_8);
+        
+        for (int attempt = 0; ; attempt++) {
+            String filename = attempt == 0 ? baseName + ".json" : baseName + "_" + attempt + ".json";
+            Path filePath = responseDir.resolve(filename);
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(prettyJson);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            log.debug("API response saved to file: {}", filePath);
+            return channel;
+        }
+    }
+    
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(responseDir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // 일부 플랫폼은 디렉터리 fsync 를 지원하지 않는다
+            log.trace("Directory fsync not supported for {}: {}", responseDir, e.getMessage());
+        }
+    }
+}
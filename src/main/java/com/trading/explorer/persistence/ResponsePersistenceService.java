@@ -0,0 +1,249 @@
+package com.trading.explorer.persistence;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 응답 저장을 Netty 이벤트 루프 밖으로 빼내는 비동기 파이프라인.
+ * 호출 스레드는 큐에 넣기만 하고, 전용 워커 스레드가 배치 단위로 {@link ResponseSink} 들에 기록한다.
+ * 이벤트 루프에서는 큐가 차도 기다리지 않는다 ({@link #enqueue}).
+ */
+@Slf4j
+@Service
+public class ResponsePersistenceService {
+    
+    private final KrxApiProperties.Persistence config;
+    private final List<ResponseSink> sinks;
+    private final BlockingQueue<Submission> queue;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSizes;
+    
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    public ResponsePersistenceService(KrxApiProperties properties, List<ResponseSink> sinks, MeterRegistry meterRegistry) {
+        this.config = properties.getPersistence();
+        this.sinks = sinks;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.meterRegistry = meterRegistry;
+        this.batchSizes = DistributionSummary.builder("krx.persistence.batch.size")
+                .register(meterRegistry);
+        Gauge.builder("krx.persistence.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runWorker, "response-persistence");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Response persistence pipeline started: capacity={}, batchSize={}, policy={}, sinks={}",
+                config.getQueueCapacity(), config.getBatchSize(), config.getOverflowPolicy(), sinks.size());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // FileChannel 은 인터럽트되면 닫히므로 interrupt 대신 플래그로 워커를 멈춘다
+        running = false;
+        worker.join(config.getBlockTimeout().toMillis() + 1000);
+        if (!queue.isEmpty()) {
+            log.warn("Response persistence stopped with {} pending responses", queue.size());
+        }
+    }
+    
+    /**
+     * 큐에 넣는다. BLOCK 정책이면 큐에 자리가 날 때까지 block-timeout 만큼 기다리지만,
+     * Netty 이벤트 루프 같은 non-blocking 스레드에서는 기다리지 않고 바로 판정한다 - 기다려야 하면 {@link #enqueue} 를 쓴다.
+     */
+    public boolean submit(ApiResponse response) {
+        if (response == null || !response.isSuccess()) {
+            return false;
+        }
+        return offer(new Submission(response, null), mayWait());
+    }
+    
+    /**
+     * 응답이 든 배치를 모든 sink 가 기록(fsync 설정 시 디스크까지)한 뒤에 완료된다.
+     * 큐에 넣지 못했거나 sink 하나라도 실패하면 오류로 끝난다 - 체크포인트처럼 "디스크에 있다"를 전제로 하는 기록은 이것을 기다린다.
+     */
+    public Mono<Void> persist(ApiResponse response) {
+        return Mono.defer(() -> {
+            if (response == null || !response.isSuccess()) {
+                return Mono.error(new IllegalArgumentException("Only successful responses are persisted"));
+            }
+            Submission submission = new Submission(response, new CompletableFuture<>());
+            if (!offer(submission, mayWait())) {
+                return Mono.error(new IllegalStateException("persistence queue full"));
+            }
+            return Mono.fromFuture(submission.written());
+        });
+    }
+    
+    /**
+     * 호출 스레드를 막지 않는 제출. BLOCK 정책에서 큐가 차 있으면 boundedElastic 으로 옮겨 block-timeout 까지 기다린다.
+     */
+    public Mono<Boolean> enqueue(ApiResponse response) {
+        if (response == null || !response.isSuccess()) {
+            return Mono.just(false);
+        }
+        if (config.getOverflowPolicy() != KrxApiProperties.OverflowPolicy.BLOCK || !Schedulers.isInNonBlockingThread()) {
+            return Mono.fromSupplier(() -> submit(response));
+        }
+        Submission submission = new Submission(response, null);
+        if (queue.offer(submission)) {
+            submitted.incrementAndGet();
+            return Mono.just(true);
+        }
+        return Mono.fromCallable(() -> offer(submission, true))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private boolean mayWait() {
+        return config.getOverflowPolicy() == KrxApiProperties.OverflowPolicy.BLOCK && !Schedulers.isInNonBlockingThread();
+    }
+    
+    private boolean offer(Submission submission, boolean wait) {
+        boolean accepted;
+        if (wait) {
+            try {
+                accepted = queue.offer(submission, config.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(submission);
+        }
+        
+        if (accepted) {
+            submitted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+            log.warn("Persistence queue full, dropped response for {}", submission.response().getApiId());
+        }
+        return accepted;
+    }
+    
+    public Map<String, Object> getStats() {
+        long batchCount = batches.get();
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", config.getQueueCapacity());
+        stats.put("overflowPolicy", config.getOverflowPolicy());
+        stats.put("submitted", submitted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batchCount);
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("avgBatchWriteMs", batchCount > 0 ? totalWriteNanos.get() / batchCount / 1_000_000.0 : 0.0);
+        stats.put("maxBatchWriteMs", maxWriteNanos.get() / 1_000_000.0);
+        return stats;
+    }
+    
+    private void runWorker() {
+        List<Submission> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                running = false;
+            }
+            
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    private void writeBatch(List<Submission> submissions) {
+        List<ApiResponse> batch = submissions.stream().map(Submission::response).toList();
+        long start = System.nanoTime();
+        Exception failure = null;
+        for (ResponseSink sink : sinks) {
+            List<ApiResponse> accepted = batch.stream().filter(sink::accepts).toList();
+            if (accepted.isEmpty()) {
+                continue;
+            }
+            long sinkStart = System.nanoTime();
+            try {
+                sink.write(accepted);
+            } catch (Exception e) {
+                failure = e;
+                log.error("Failed to persist {} responses via {}: {}",
+                        accepted.size(), sink.getClass().getSimpleName(), e.getMessage());
+            } finally {
+                sinkTimer(sink).record(System.nanoTime() - sinkStart, TimeUnit.NANOSECONDS);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        batches.incrementAndGet();
+        lastBatchSize = batch.size();
+        batchSizes.record(batch.size());
+        totalWriteNanos.addAndGet(elapsed);
+        maxWriteNanos.accumulateAndGet(elapsed, Math::max);
+        (failure == null ? written : failed).addAndGet(batch.size());
+        
+        for (Submission submission : submissions) {
+            if (submission.written() == null) {
+                continue;
+            }
+            if (failure == null) {
+                submission.written().complete(null);
+            } else {
+                submission.written().completeExceptionally(failure);
+            }
+        }
+    }
+    
+    private Timer sinkTimer(ResponseSink sink) {
+        // 배치에는 여러 API 응답이 섞이므로 apiId 대신 sink 단위로 잰다
+        return Timer.builder("krx.persistence.write")
+                .tag("sink", sink.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /** written 은 {@link #persist} 로 제출한 경우에만 있다 */
+    private record Submission(ApiResponse response, CompletableFuture<Void> written) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.trading.explorer.persistence;
+
+import com.trading.explorer.client.dto.ApiResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface ResponseSink {
+
+    /** 이 sink 가 기록할 응답인지. 받지 않는 응답은 배치에서 빠진 채로 {@link #write} 가 호출된다. */
+    default boolean accepts(ApiResponse response) {
+        return true;
+    }
+
+    void write(List<ApiResponse> batch) throws IOException;
+}
@@ -0,0 +1,106 @@
+package com.trading.explorer.prefetch;
+
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.Disposable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 영업일에 대한 장 마감 후 수집 실행. API 별 진행 상태를 우선순위 순서로 보관한다.
+ */
+@Getter
+public class PrefetchRun {
+    
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        PARTIAL,
+        CANCELLED
+    }
+    
+    public enum ApiStatus {
+        SCHEDULED,
+        WAITING,
+        READY,
+        DELEGATED,
+        GAVE_UP
+    }
+    
+    private final LocalDate bizDate;
+    private final LocalDateTime startedAt;
+    private final Map<String, ApiProgress> apis = new LinkedHashMap<>();
+    
+    @Setter
+    private volatile Status status = Status.RUNNING;
+    @Setter
+    private volatile LocalDateTime finishedAt;
+    @Setter
+    private volatile Disposable subscription;
+    
+    public PrefetchRun(LocalDate bizDate, List<String> apiIds, LocalDateTime startedAt) {
+        this.bizDate = bizDate;
+        this.startedAt = startedAt;
+        apiIds.forEach(apiId -> apis.put(apiId, new ApiProgress()));
+    }
+    
+    public ApiProgress progress(String apiId) {
+        return apis.get(apiId);
+    }
+    
+    public long count(ApiStatus apiStatus) {
+        return apis.values().stream().filter(progress -> progress.status == apiStatus).count();
+    }
+    
+    public Map<String, Object> toMap() {
+        Map<String, Object> apiStates = new LinkedHashMap<>();
+        apis.forEach((apiId, progress) -> apiStates.put(apiId, progress.toMap()));
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("bizDate", bizDate);
+        result.put("status", status);
+        result.put("totalApis", apis.size());
+        result.put("ready", count(ApiStatus.READY));
+        result.put("delegated", count(ApiStatus.DELEGATED));
+        result.put("waiting", count(ApiStatus.WAITING));
+        result.put("gaveUp", count(ApiStatus.GAVE_UP));
+        result.put("startedAt", startedAt);
+        result.put("finishedAt", finishedAt);
+        result.put("apis", apiStates);
+        return result;
+    }
+    
+    @Getter
+    public static class ApiProgress {
+        
+        private final AtomicInteger attempts = new AtomicInteger();
+        
+        @Setter
+        private volatile ApiStatus status = ApiStatus.SCHEDULED;
+        @Setter
+        private volatile int rows;
+        @Setter
+        private volatile LocalDateTime readyAt;
+        @Setter
+        private volatile String lastError;
+        @Setter
+        private volatile String node;
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", status);
+            result.put("attempts", attempts.get());
+            result.put("rows", rows);
+            result.put("readyAt", readyAt);
+            result.put("lastError", lastError);
+            result.put("node", node);
+            return result;
+        }
+    }
+}
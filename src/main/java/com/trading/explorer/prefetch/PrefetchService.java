@@ -0,0 +1,387 @@
+package com.trading.explorer.prefetch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.archive.ArchiveEntry;
+import com.trading.explorer.archive.ResponseArchive;
+import com.trading.explorer.calendar.KrxTradingCalendar;
+import com.trading.explorer.client.KrxApiClient;
+import com.trading.explorer.client.KrxResponseCache;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.cluster.ClusterCoordinator;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.persistence.ResponsePersistenceService;
+import com.trading.explorer.schema.SchemaRegistry;
+import com.trading.explorer.store.ColumnarStore;
+import com.trading.explorer.util.JsonFormatter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 장 마감 후 당일 bizdate 를 미리 받아 두는 스케줄러.
+ * 우선순위 순서로 간격 + 지터를 두고 시작하며, OutBlock_1 이 비어 있으면 KRX 가 게시할 때까지 백오프하며 재시도한다.
+ * 받은 응답은 구조 분석까지 끝낸 상태로 캐시에 고정하고 저장 파이프라인(파일/컬럼/기준정보/시계열)에 넘긴다.
+ * 클러스터 모드에서는 {@link ClusterCoordinator} 가 정한 담당 노드만 받고, 다른 노드는 완료 표시를 기다린다.
+ * 재기동 후 따라잡기는 아카이브에 이미 있는 응답을 KRX 대신 아카이브에서 읽어 캐시만 채운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrefetchService {
+    
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_RUNS = 10;
+    
+    private final KrxApiClient krxApiClient;
+    private final KrxResponseCache responseCache;
+    private final KrxApiProperties properties;
+    private final KrxTradingCalendar tradingCalendar;
+    private final JsonFormatter jsonFormatter;
+    private final ResponsePersistenceService responsePersistence;
+    private final KrxMetrics krxMetrics;
+    private final ClusterCoordinator clusterCoordinator;
+    private final SchemaRegistry schemaRegistry;
+    private final ResponseArchive responseArchive;
+    private final ColumnarStore columnarStore;
+    
+    private final Map<LocalDate, PrefetchRun> runs = new ConcurrentHashMap<>();
+    
+    @Scheduled(cron = "${krx.prefetch.cron:0 0 18 * * MON-FRI}", zone = "${krx.prefetch.zone:Asia/Seoul}")
+    public void scheduledPrefetch() {
+        if (!properties.getPrefetch().isEnabled()) {
+            return;
+        }
+        
+        LocalDate today = LocalDate.now(zone());
+        if (!tradingCalendar.isTradingDay(today)) {
+            log.info("Skipping prefetch: {} is not a trading day", today);
+            return;
+        }
+        start(today);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (!properties.getPrefetch().isEnabled()) {
+            return;
+        }
+        
+        // 예정 시각 이후에 재기동했다면 가장 최근 대상일을 다시 받아 캐시를 채운다
+        latestDueBizDate(ZonedDateTime.now(zone())).ifPresent(bizDate -> {
+            log.info("Catching up prefetch for {}", bizDate);
+            start(bizDate, true);
+        });
+    }
+    
+    public PrefetchRun start(LocalDate bizDate) {
+        return start(bizDate, false);
+    }
+    
+    /**
+     * @param catchUp 재기동 따라잡기. 이미 받아 저장한 응답은 다시 받거나 저장 파이프라인에 넣지 않는다
+     */
+    private PrefetchRun start(LocalDate bizDate, boolean catchUp) {
+        synchronized (runs) {
+            PrefetchRun existing = runs.get(bizDate);
+            if (existing != null && existing.getStatus() == PrefetchRun.Status.RUNNING) {
+                return existing;
+            }
+            
+            PrefetchRun run = new PrefetchRun(bizDate, orderedApiIds(), LocalDateTime.now());
+            runs.put(bizDate, run);
+            prune();
+            
+            log.info("Starting prefetch for {}: {} APIs", bizDate, run.getApis().size());
+            run(run, catchUp);
+            return run;
+        }
+    }
+    
+    public Optional<PrefetchRun> getRun(LocalDate bizDate) {
+        return Optional.ofNullable(runs.get(bizDate));
+    }
+    
+    public Collection<PrefetchRun> getRuns() {
+        return runs.values();
+    }
+    
+    public Optional<PrefetchRun> cancel(LocalDate bizDate) {
+        PrefetchRun run = runs.get(bizDate);
+        if (run != null && run.getStatus() == PrefetchRun.Status.RUNNING) {
+            if (run.getSubscription() != null) {
+                run.getSubscription().dispose();
+            }
+            finish(run, PrefetchRun.Status.CANCELLED);
+        }
+        return Optional.ofNullable(run);
+    }
+    
+    public Map<String, Object> getSchedule() {
+        KrxApiProperties.Prefetch config = properties.getPrefetch();
+        ZonedDateTime next = config.isEnabled()
+                ? CronExpression.parse(config.getCron()).next(ZonedDateTime.now(zone()))
+                : null;
+        
+        Map<String, Object> schedule = new HashMap<>();
+        schedule.put("enabled", config.isEnabled());
+        schedule.put("cron", config.getCron());
+        schedule.put("zone", config.getZone());
+        schedule.put("nextRun", next != null ? next.toOffsetDateTime() : null);
+        schedule.put("order", orderedApiIds());
+        return schedule;
+    }
+    
+    private void run(PrefetchRun run, boolean catchUp) {
+        KrxApiProperties.Prefetch config = properties.getPrefetch();
+        List<String> apiIds = new ArrayList<>(run.getApis().keySet());
+        
+        List<Mono<Void>> fetches = new ArrayList<>(apiIds.size());
+        for (int i = 0; i < apiIds.size(); i++) {
+            // 19개 API 가 한꺼번에 몰리지 않도록 순서대로 간격을 두고, 지터로 정각 동기화를 피한다
+            long jitterMillis = config.getJitter().toMillis() > 0
+                    ? ThreadLocalRandom.current().nextLong(config.getJitter().toMillis())
+                    : 0;
+            Duration startDelay = config.getSpacing().multipliedBy(i).plusMillis(jitterMillis);
+            fetches.add(prefetch(run, apiIds.get(i), startDelay, catchUp));
+        }
+        
+        run.setSubscription(Flux.merge(fetches)
+                .then()
+                .subscribe(
+                        ignored -> { },
+                        error -> finish(run, PrefetchRun.Status.PARTIAL),
+                        () -> finish(run, run.count(PrefetchRun.ApiStatus.READY)
+                                + run.count(PrefetchRun.ApiStatus.DELEGATED) == apiIds.size()
+                                ? PrefetchRun.Status.COMPLETED
+                                : PrefetchRun.Status.PARTIAL)));
+    }
+    
+    private Mono<Void> prefetch(PrefetchRun run, String apiId, Duration startDelay, boolean catchUp) {
+        KrxApiProperties.Prefetch config = properties.getPrefetch();
+        PrefetchRun.ApiProgress progress = run.progress(apiId);
+        
+        // 아카이브에서 되살렸으면 KRX 를 부르지 않으므로 간격도 둘 필요가 없다
+        Mono<Boolean> restored = catchUp
+                ? Mono.fromCallable(() -> restoreFromArchive(run.getBizDate(), apiId, progress))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(error -> {
+                            log.warn("Failed to restore {} {} from archive, fetching instead: {}",
+                                    apiId, run.getBizDate(), error.getMessage());
+                            return Mono.just(false);
+                        })
+                : Mono.just(false);
+        // 아카이브가 꺼져 있어도 컬럼 저장소에 이미 있으면 캐시만 채우고 저장 파이프라인에는 다시 넣지 않는다
+        Mono<Void> untilReady = Mono.defer(() -> fetchOnce(run.getBizDate(), apiId, progress,
+                        !catchUp || !columnarStore.contains(apiId, run.getBizDate().format(DATE_FORMAT))))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, config.getRetryInterval())
+                        .maxBackoff(config.getMaxRetryInterval())
+                        .jitter(0.3))
+                .timeout(config.getGiveUpAfter());
+        
+        return restored
+                .flatMap(done -> done ? Mono.<Void>empty() : Mono.delay(startDelay).then(untilReady))
+                .onErrorResume(error -> {
+                    progress.setStatus(PrefetchRun.ApiStatus.GAVE_UP);
+                    log.warn("Prefetch gave up on {} {} after {} attempts: {}",
+                            apiId, run.getBizDate(), progress.getAttempts().get(), progress.getLastError());
+                    return Mono.empty();
+                });
+    }
+    
+    private Mono<Void> fetchOnce(LocalDate bizDate, String apiId, PrefetchRun.ApiProgress progress, boolean persist) {
+        progress.getAttempts().incrementAndGet();
+        String date = bizDate.format(DATE_FORMAT);
+        
+        if (clusterCoordinator.isDone(apiId, date)) {
+            progress.setStatus(PrefetchRun.ApiStatus.DELEGATED);
+            progress.setLastError(null);
+            return Mono.empty();
+        }
+        // 담당 노드가 죽으면 ring 이 바뀌어 다음 재시도에서 이 노드가 넘겨받는다
+        if (!clusterCoordinator.isOwner(apiId, date)) {
+            return notReady(apiId, bizDate, progress, "assigned to " + clusterCoordinator.owner(apiId, date));
+        }
+        
+        progress.setNode(clusterCoordinator.getNodeId());
+        return clusterCoordinator.claim(apiId, date, fetchFromKrx(bizDate, apiId, progress, persist), response -> true)
+                .switchIfEmpty(Mono.defer(() -> notReady(apiId, bizDate, progress, "leased by another node")))
+                .then();
+    }
+    
+    private <T> Mono<T> notReady(String apiId, LocalDate bizDate, PrefetchRun.ApiProgress progress, String reason) {
+        progress.setStatus(PrefetchRun.ApiStatus.WAITING);
+        progress.setLastError(reason);
+        log.info("Prefetch {} {} not ready (attempt {}): {}", apiId, bizDate, progress.getAttempts().get(), reason);
+        return Mono.error(new IllegalStateException(reason));
+    }
+    
+    private Mono<ApiResponse> fetchFromKrx(LocalDate bizDate, String apiId, PrefetchRun.ApiProgress progress,
+                                           boolean persist) {
+        // 캐시에 없는 확정 데이터를 받아야 하므로 캐시를 거치지 않고 직접 호출한 뒤 고정한다
+        return krxApiClient.callApiUncached(apiId, parameters(bizDate))
+                .publishOn(Schedulers.boundedElastic())
+                .handle((ApiResponse response, SynchronousSink<ApiResponse> sink) -> {
+                    String notReady = checkReady(response);
+                    if (notReady != null) {
+                        progress.setStatus(PrefetchRun.ApiStatus.WAITING);
+                        progress.setLastError(notReady);
+                        log.info("Prefetch {} {} not ready (attempt {}): {}",
+                                apiId, bizDate, progress.getAttempts().get(), notReady);
+                        sink.error(new IllegalStateException(notReady));
+                        return;
+                    }
+                    
+                    ready(bizDate, apiId, progress, response);
+                    if (persist && !responsePersistence.submit(response)) {
+                        log.warn("Prefetched {} {} was cached but not persisted", apiId, bizDate);
+                    }
+                    sink.next(response);
+                });
+    }
+    
+    /**
+     * 아카이브에 받아 둔 응답이 있으면 그 본문으로 캐시를 채운다. 이미 저장된 응답이므로 저장 파이프라인에는 넣지 않는다.
+     * @return 되살렸으면 true
+     */
+    private boolean restoreFromArchive(LocalDate bizDate, String apiId, PrefetchRun.ApiProgress progress) {
+        if (!responseArchive.isEnabled()) {
+            return false;
+        }
+        Optional<ArchiveEntry> entry = responseArchive.latest(apiId, bizDate.format(DATE_FORMAT));
+        if (entry.isEmpty()) {
+            return false;
+        }
+        
+        String body = new String(responseArchive.read(entry.get()), StandardCharsets.UTF_8);
+        ApiResponse response = ApiResponse.success(apiId, body, 0);
+        if (checkReady(response) != null) {
+            return false;
+        }
+        ready(bizDate, apiId, progress, response);
+        progress.setNode("archive");
+        log.info("Prefetch {} {} restored from archive ({} rows)", apiId, bizDate, progress.getRows());
+        return true;
+    }
+    
+    private void ready(LocalDate bizDate, String apiId, PrefetchRun.ApiProgress progress, ApiResponse response) {
+        // 아침 조회가 파싱/구조 분석 비용도 치르지 않도록 미리 계산해 둔다 (형태가 바뀌었으면 여기서 먼저 드러난다)
+        krxMetrics.time(KrxMetrics.ANALYZE, apiId, () -> schemaRegistry.analyze(response));
+        responseCache.pin(apiId, parameters(bizDate), response);
+        
+        progress.setRows(rowCount(response));
+        progress.setReadyAt(LocalDateTime.now());
+        progress.setStatus(PrefetchRun.ApiStatus.READY);
+        progress.setLastError(null);
+    }
+    
+    private String checkReady(ApiResponse response) {
+        if (!response.isSuccess()) {
+            return "HTTP " + response.getHttpStatus() + ": " + response.getErrorMessage();
+        }
+        if (jsonFormatter.parse(response).getRoot() == null) {
+            return "invalid JSON response";
+        }
+        // KRX 는 게시 전에도 200 과 빈 OutBlock_1 을 돌려준다
+        return rowCount(response) == 0 ? "no rows published yet" : null;
+    }
+    
+    private int rowCount(ApiResponse response) {
+        JsonNode root = jsonFormatter.parse(response).getRoot();
+        return root == null ? 0 : root.path("OutBlock_1").size();
+    }
+    
+    private void finish(PrefetchRun run, PrefetchRun.Status status) {
+        synchronized (run) {
+            if (run.getStatus() != PrefetchRun.Status.RUNNING) {
+                return;
+            }
+            run.setStatus(status);
+            run.setFinishedAt(LocalDateTime.now());
+        }
+        log.info("Prefetch for {} finished: status={}, ready={}/{}, gaveUp={}",
+                run.getBizDate(), status, run.count(PrefetchRun.ApiStatus.READY), run.getApis().size(),
+                run.count(PrefetchRun.ApiStatus.GAVE_UP));
+    }
+    
+    private Optional<LocalDate> latestDueBizDate(ZonedDateTime now) {
+        CronExpression cron = CronExpression.parse(properties.getPrefetch().getCron());
+        LocalDate date = now.toLocalDate();
+        for (int i = 0; i < 10; i++, date = date.minusDays(1)) {
+            if (!tradingCalendar.isTradingDay(date)) {
+                continue;
+            }
+            ZonedDateTime scheduled = cron.next(date.atStartOfDay(now.getZone()).minusSeconds(1));
+            if (scheduled != null && scheduled.toLocalDate().equals(date) && !scheduled.isAfter(now)) {
+                return Optional.of(date);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private List<String> orderedApiIds() {
+        List<String> configured = properties.getApis().values().stream()
+                .flatMap(List::stream)
+                .map(KrxApiProperties.ApiDefinition::getId)
+                .toList();
+        
+        List<String> ordered = new ArrayList<>();
+        properties.getPrefetch().getPriority().stream()
+                .filter(configured::contains)
+                .distinct()
+                .forEach(ordered::add);
+        configured.stream()
+                .filter(apiId -> !ordered.contains(apiId))
+                .forEach(ordered::add);
+        return ordered;
+    }
+    
+    private Map<String, String> parameters(LocalDate bizDate) {
+        // KrxApiClient 가 API 키를 추가하므로 변경 가능한 맵이어야 한다
+        Map<String, String> params = new HashMap<>();
+        params.put("bizdate", bizDate.format(DATE_FORMAT));
+        return params;
+    }
+    
+    private void prune() {
+        if (runs.size() <= MAX_RUNS) {
+            return;
+        }
+        runs.values().stream()
+                .filter(run -> run.getStatus() != PrefetchRun.Status.RUNNING)
+                .sorted(Comparator.comparing(PrefetchRun::getBizDate))
+                .limit(runs.size() - MAX_RUNS)
+                .toList()
+                .forEach(run -> runs.remove(run.getBizDate()));
+    }
+    
+    private ZoneId zone() {
+        return ZoneId.of(properties.getPrefetch().getZone());
+    }
+}
@@ -0,0 +1,63 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 채권 일별매매정보 (kts/bnd/smb_bydd_trd).
+ * 가격은 {@link #PRICE_SCALE} 자리, 수익률은 {@link #YIELD_SCALE} 자리 고정소수점.
+ */
+public record BondDaily(int basDd, String mktNm, String isuCd, String isuNm,
+                        String bndExpTpNm, String govbndIsuTpNm,
+                        long close, long change, long closeYield,
+                        long open, long openYield, long high, long highYield, long low, long lowYield,
+                        long volume, long value) {
+    
+    public static final int PRICE_SCALE = 2;
+    public static final int YIELD_SCALE = 3;
+    
+    public static final class Decoder extends KrxRecordDecoder<BondDaily> {
+        
+        @Override
+        public Class<BondDaily> recordType() {
+            return BondDaily.class;
+        }
+        
+        @Override
+        protected BondDaily readRow(JsonParser p) throws IOException {
+            int basDd = 0;
+            String mktNm = null, isuCd = null, isuNm = null, bndExpTpNm = null, govbndIsuTpNm = null;
+            long close = NULL, change = NULL, closeYield = NULL, open = NULL, openYield = NULL;
+            long high = NULL, highYield = NULL, low = NULL, lowYield = NULL, volume = NULL, value = NULL;
+            
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "BAS_DD" -> basDd = date(p);
+                    case "MKT_NM" -> mktNm = text(p);
+                    case "ISU_CD" -> isuCd = text(p);
+                    case "ISU_NM" -> isuNm = text(p);
+                    case "BND_EXP_TP_NM" -> bndExpTpNm = text(p);
+                    case "GOVBND_ISU_TP_NM" -> govbndIsuTpNm = text(p);
+                    case "CLSPRC" -> close = scaled(p, PRICE_SCALE);
+                    case "CMPPREVDD_PRC" -> change = scaled(p, PRICE_SCALE);
+                    case "CLSPRC_YD" -> closeYield = scaled(p, YIELD_SCALE);
+                    case "OPNPRC" -> open = scaled(p, PRICE_SCALE);
+                    case "OPNPRC_YD" -> openYield = scaled(p, YIELD_SCALE);
+                    case "HGPRC" -> high = scaled(p, PRICE_SCALE);
+                    case "HGPRC_YD" -> highYield = scaled(p, YIELD_SCALE);
+                    case "LWPRC" -> low = scaled(p, PRICE_SCALE);
+                    case "LWPRC_YD" -> lowYield = scaled(p, YIELD_SCALE);
+                    case "ACC_TRDVOL" -> volume = number(p);
+                    case "ACC_TRDVAL" -> value = number(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new BondDaily(basDd, mktNm, isuCd, isuNm, bndExpTpNm, govbndIsuTpNm, close, change, closeYield,
+                    open, openYield, high, highYield, low, lowYield, volume, value);
+        }
+    }
+}
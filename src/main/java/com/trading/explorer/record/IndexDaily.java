@@ -0,0 +1,56 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 지수 일별시세 (krx/kospi/kosdaq/bon/drvprod_dd_trd).
+ * 지수값/대비/등락률은 {@link #SCALE} 자리 고정소수점, 거래량/거래대금/시가총액은 정수.
+ */
+public record IndexDaily(int basDd, String idxClss, String idxNm,
+                         long close, long change, long flucRt,
+                         long open, long high, long low,
+                         long volume, long value, long marketCap) {
+    
+    public static final int SCALE = 2;
+    
+    public static final class Decoder extends KrxRecordDecoder<IndexDaily> {
+        
+        @Override
+        public Class<IndexDaily> recordType() {
+            return IndexDaily.class;
+        }
+        
+        @Override
+        protected IndexDaily readRow(JsonParser p) throws IOException {
+            int basDd = 0;
+            String idxClss = null, idxNm = null;
+            long close = NULL, change = NULL, flucRt = NULL, open = NULL, high = NULL, low = NULL;
+            long volume = NULL, value = NULL, marketCap = NULL;
+            
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "BAS_DD" -> basDd = date(p);
+                    case "IDX_CLSS" -> idxClss = text(p);
+                    case "IDX_NM" -> idxNm = text(p);
+                    case "CLSPRC_IDX" -> close = scaled(p, SCALE);
+                    case "CMPPREVDD_IDX" -> change = scaled(p, SCALE);
+                    case "FLUC_RT" -> flucRt = scaled(p, SCALE);
+                    case "OPNPRC_IDX" -> open = scaled(p, SCALE);
+                    case "HGPRC_IDX" -> high = scaled(p, SCALE);
+                    case "LWPRC_IDX" -> low = scaled(p, SCALE);
+                    case "ACC_TRDVOL" -> volume = number(p);
+                    case "ACC_TRDVAL" -> value = number(p);
+                    case "MKTCAP" -> marketCap = number(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new IndexDaily(basDd, idxClss, idxNm, close, change, flucRt, open, high, low,
+                    volume, value, marketCap);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 종목기본정보 (stk/ksq/knx_isu_base_info). 액면가가 "무액면" 이면 parValue 는 NULL.
+ */
+public record IssueBaseInfo(String isuCd, String isuSrtCd, String isuNm, String isuAbbrv, String isuEngNm,
+                            int listDd, String mktTpNm, String secugrpNm, String sectTpNm,
+                            String kindStkcertTpNm, long parValue, long listedShares) {
+    
+    public static final class Decoder extends KrxRecordDecoder<IssueBaseInfo> {
+        
+        @Override
+        public Class<IssueBaseInfo> recordType() {
+            return IssueBaseInfo.class;
+        }
+        
+        @Override
+        protected IssueBaseInfo readRow(JsonParser p) throws IOException {
+            String isuCd = null, isuSrtCd = null, isuNm = null, isuAbbrv = null, isuEngNm = null;
+            String mktTpNm = null, secugrpNm = null, sectTpNm = null, kindStkcertTpNm = null;
+            int listDd = 0;
+            long parValue = NULL, listedShares = NULL;
+            
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "ISU_CD" -> isuCd = text(p);
+                    case "ISU_SRT_CD" -> isuSrtCd = text(p);
+                    case "ISU_NM" -> isuNm = text(p);
+                    case "ISU_ABBRV" -> isuAbbrv = text(p);
+                    case "ISU_ENG_NM" -> isuEngNm = text(p);
+                    case "LIST_DD" -> listDd = date(p);
+                    case "MKT_TP_NM" -> mktTpNm = text(p);
+                    case "SECUGRP_NM" -> secugrpNm = text(p);
+                    case "SECT_TP_NM" -> sectTpNm = text(p);
+                    case "KIND_STKCERT_TP_NM" -> kindStkcertTpNm = text(p);
+                    case "PARVAL" -> parValue = number(p);
+                    case "LIST_SHRS" -> listedShares = number(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new IssueBaseInfo(isuCd, isuSrtCd, isuNm, isuAbbrv, isuEngNm, listDd, mktTpNm,
+                    secugrpNm, sectTpNm, kindStkcertTpNm, parValue, listedShares);
+        }
+    }
+}
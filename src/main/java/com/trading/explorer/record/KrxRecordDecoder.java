@@ -0,0 +1,107 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.trading.explorer.util.KrxNumbers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@code OutBlock_1} 의 각 행을 타입 있는 레코드로 바로 디코딩한다.
+ * 숫자 필드는 파서의 문자 버퍼에서 long/고정소수점으로 읽고, 문자열 필드는 {@link StringTable} 로 재사용하므로
+ * 행 하나당 할당은 레코드 객체 하나에 가깝다. 인스턴스는 스레드 안전하지 않다.
+ */
+public abstract class KrxRecordDecoder<T> {
+    
+    /** 값이 없는 숫자 필드. {@link KrxNumbers#NULL} 과 같다. */
+    protected static final long NULL = KrxNumbers.NULL;
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String RECORD_FIELD = "OutBlock_1";
+    
+    private final StringTable strings = new StringTable(8192);
+    
+    public abstract Class<T> recordType();
+    
+    /** 현재 START_OBJECT 에서 시작해 END_OBJECT 까지 한 행을 읽는다. */
+    protected abstract T readRow(JsonParser parser) throws IOException;
+    
+    public int decode(byte[] body, Consumer<? super T> sink) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public int decode(String body, Consumer<? super T> sink) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public List<T> decodeAll(byte[] body) {
+        List<T> records = new ArrayList<>();
+        decode(body, records::add);
+        return records;
+    }
+    
+    public int decode(JsonParser parser, Consumer<? super T> sink) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return 0;
+        }
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!RECORD_FIELD.equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sink.accept(readRow(parser));
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * "1,234,500" / "-3.25" -> scale 자리 고정소수점. 빈 값과 "-" 는 {@link KrxNumbers#NULL}.
+     * 액면가의 "무액면" 처럼 숫자가 아니거나 범위를 넘는 칸도 {@link KrxNumbers#NULL} 로 읽어 나머지 행은 계속 디코딩한다.
+     */
+    protected static long scaled(JsonParser parser, int scale) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return KrxNumbers.NULL;
+        }
+        try {
+            return KrxNumbers.parseScaled(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), scale);
+        } catch (NumberFormatException e) {
+            return KrxNumbers.NULL;
+        }
+    }
+    
+    protected static long number(JsonParser parser) throws IOException {
+        return scaled(parser, 0);
+    }
+    
+    /** yyyyMMdd -> int. 빈 값은 0. */
+    protected static int date(JsonParser parser) throws IOException {
+        long value = number(parser);
+        return value == KrxNumbers.NULL ? 0 : (int) value;
+    }
+    
+    protected String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return strings.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+}
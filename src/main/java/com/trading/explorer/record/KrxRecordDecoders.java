@@ -0,0 +1,92 @@
+package com.trading.explorer.record;
+
+import com.trading.explorer.config.KrxApiProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * API 별 타입 레코드 디코더 목록. 디코더는 스레드 안전하지 않으므로 스레드마다 API 별로 하나씩 두고 재사용한다.
+ * 같은 스레드(이벤트 루프, boundedElastic 워커)가 연달아 읽는 응답끼리 {@link StringTable} 의 문자열이 재사용된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KrxRecordDecoders {
+    
+    private static final Map<String, Supplier<KrxRecordDecoder<?>>> DECODERS = Map.ofEntries(
+            Map.entry("krx_dd_trd", IndexDaily.Decoder::new),
+            Map.entry("kospi_dd_trd", IndexDaily.Decoder::new),
+            Map.entry("kosdaq_dd_trd", IndexDaily.Decoder::new),
+            Map.entry("bon_dd_trd", IndexDaily.Decoder::new),
+            Map.entry("drvprod_dd_trd", IndexDaily.Decoder::new),
+            Map.entry("stk_bydd_trd", StockDaily.Decoder::new),
+            Map.entry("ksq_bydd_trd", StockDaily.Decoder::new),
+            Map.entry("knx_bydd_trd", StockDaily.Decoder::new),
+            Map.entry("sw_bydd_trd", StockDaily.Decoder::new),
+            Map.entry("sr_bydd_trd", StockDaily.Decoder::new),
+            Map.entry("stk_isu_base_info", IssueBaseInfo.Decoder::new),
+            Map.entry("ksq_isu_base_info", IssueBaseInfo.Decoder::new),
+            Map.entry("knx_isu_base_info", IssueBaseInfo.Decoder::new),
+            Map.entry("etf_bydd_trd", SecuritiesDaily.Decoder::new),
+            Map.entry("etn_bydd_trd", SecuritiesDaily.Decoder::new),
+            Map.entry("elw_bydd_trd", SecuritiesDaily.Decoder::new),
+            Map.entry("kts_bydd_trd", BondDaily.Decoder::new),
+            Map.entry("bnd_bydd_trd", BondDaily.Decoder::new),
+            Map.entry("smb_bydd_trd", BondDaily.Decoder::new));
+    
+    private static final ThreadLocal<Map<String, KrxRecordDecoder<?>>> THREAD_DECODERS =
+            ThreadLocal.withInitial(HashMap::new);
+    
+    private final KrxApiProperties properties;
+    
+    @PostConstruct
+    public void verify() {
+        List<String> missing = properties.getApis().values().stream()
+                .flatMap(List::stream)
+                .map(KrxApiProperties.ApiDefinition::getId)
+                .filter(apiId -> !DECODERS.containsKey(apiId))
+                .toList();
+        if (!missing.isEmpty()) {
+            log.warn("No typed record decoder for configured APIs: {}", missing);
+        }
+    }
+    
+    public boolean supports(String apiId) {
+        return DECODERS.containsKey(apiId);
+    }
+    
+    /**
+     * 호출한 스레드 전용 디코더를 돌려준다. 받은 스레드에서 동기적으로만 쓰고 비동기 경계 너머로 들고 가지 않는다.
+     */
+    public Optional<KrxRecordDecoder<?>> decoderFor(String apiId) {
+        Supplier<KrxRecordDecoder<?>> supplier = DECODERS.get(apiId);
+        if (supplier == null) {
+            return Optional.empty();
+        }
+        return Optional.of(THREAD_DECODERS.get().computeIfAbsent(apiId, id -> supplier.get()));
+    }
+    
+    /** 스프링 컨텍스트 밖(벤치마크, 배치 도구)에서 쓰는 진입점. */
+    public static KrxRecordDecoder<?> newDecoder(String apiId) {
+        Supplier<KrxRecordDecoder<?>> supplier = DECODERS.get(apiId);
+        if (supplier == null) {
+            throw new IllegalArgumentException("No typed record decoder for API: " + apiId);
+        }
+        return supplier.get();
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> Optional<KrxRecordDecoder<T>> decoderFor(String apiId, Class<T> recordType) {
+        return decoderFor(apiId)
+                .filter(decoder -> decoder.recordType() == recordType)
+                .map(decoder -> (KrxRecordDecoder<T>) decoder);
+    }
+}
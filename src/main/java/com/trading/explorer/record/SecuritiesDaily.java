@@ -0,0 +1,66 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 증권상품 일별매매정보 (etf/etn/elw_bydd_trd).
+ * 주식과 같은 시세 필드에 ETF 의 NAV / ETN 의 지표가치, ELW 의 기초자산 필드가 붙는다. 해당 없는 필드는 NULL.
+ * NAV/지표가치/등락률은 {@link #SCALE} 자리 고정소수점.
+ */
+public record SecuritiesDaily(int basDd, String isuCd, String isuNm, String mktNm,
+                              long close, long change, long flucRt,
+                              long open, long high, long low,
+                              long volume, long value, long marketCap, long listedShares,
+                              long nav, String ulyNm, long ulyPrice, long ulyChange, long ulyFlucRt) {
+    
+    public static final int SCALE = 2;
+    
+    public static final class Decoder extends KrxRecordDecoder<SecuritiesDaily> {
+        
+        @Override
+        public Class<SecuritiesDaily> recordType() {
+            return SecuritiesDaily.class;
+        }
+        
+        @Override
+        protected SecuritiesDaily readRow(JsonParser p) throws IOException {
+            int basDd = 0;
+            String isuCd = null, isuNm = null, mktNm = null, ulyNm = null;
+            long close = NULL, change = NULL, flucRt = NULL, open = NULL, high = NULL, low = NULL;
+            long volume = NULL, value = NULL, marketCap = NULL, listedShares = NULL;
+            long nav = NULL, ulyPrice = NULL, ulyChange = NULL, ulyFlucRt = NULL;
+            
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "BAS_DD" -> basDd = date(p);
+                    case "ISU_CD" -> isuCd = text(p);
+                    case "ISU_NM" -> isuNm = text(p);
+                    case "MKT_NM" -> mktNm = text(p);
+                    case "TDD_CLSPRC" -> close = number(p);
+                    case "CMPPREVDD_PRC" -> change = number(p);
+                    case "FLUC_RT" -> flucRt = scaled(p, SCALE);
+                    case "TDD_OPNPRC" -> open = number(p);
+                    case "TDD_HGPRC" -> high = number(p);
+                    case "TDD_LWPRC" -> low = number(p);
+                    case "ACC_TRDVOL" -> volume = number(p);
+                    case "ACC_TRDVAL" -> value = number(p);
+                    case "MKTCAP" -> marketCap = number(p);
+                    case "LIST_SHRS" -> listedShares = number(p);
+                    case "NAV", "PER1SECU_INDIC_VAL" -> nav = scaled(p, SCALE);
+                    case "ULY_NM" -> ulyNm = text(p);
+                    case "ULY_PRC" -> ulyPrice = number(p);
+                    case "CMPPREVDD_PRC_ULY" -> ulyChange = number(p);
+                    case "FLUC_RT_ULY" -> ulyFlucRt = scaled(p, SCALE);
+                    default -> p.skipChildren();
+                }
+            }
+            return new SecuritiesDaily(basDd, isuCd, isuNm, mktNm, close, change, flucRt, open, high, low,
+                    volume, value, marketCap, listedShares, nav, ulyNm, ulyPrice, ulyChange, ulyFlucRt);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.trading.explorer.record;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 주식 종목 일별매매정보 (stk/ksq/knx/sw/sr_bydd_trd).
+ * 가격은 원 단위 정수, 등락률만 {@link #FLUC_RT_SCALE} 자리 고정소수점.
+ */
+public record StockDaily(int basDd, String isuCd, String isuNm, String mktNm, String sectTpNm,
+                         long close, long change, long flucRt,
+                         long open, long high, long low,
+                         long volume, long value, long marketCap, long listedShares) {
+    
+    public static final int FLUC_RT_SCALE = 2;
+    
+    public static final class Decoder extends KrxRecordDecoder<StockDaily> {
+        
+        @Override
+        public Class<StockDaily> recordType() {
+            return StockDaily.class;
+        }
+        
+        @Override
+        protected StockDaily readRow(JsonParser p) throws IOException {
+            int basDd = 0;
+            String isuCd = null, isuNm = null, mktNm = null, sectTpNm = null;
+            long close = NULL, change = NULL, flucRt = NULL, open = NULL, high = NULL, low = NULL;
+            long volume = NULL, value = NULL, marketCap = NULL, listedShares = NULL;
+            
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "BAS_DD" -> basDd = date(p);
+                    case "ISU_CD" -> isuCd = text(p);
+                    case "ISU_NM" -> isuNm = text(p);
+                    case "MKT_NM" -> mktNm = text(p);
+                    case "SECT_TP_NM" -> sectTpNm = text(p);
+                    case "TDD_CLSPRC" -> close = number(p);
+                    case "CMPPREVDD_PRC" -> change = number(p);
+                    case "FLUC_RT" -> flucRt = scaled(p, FLUC_RT_SCALE);
+                    case "TDD_OPNPRC" -> open = number(p);
+                    case "TDD_HGPRC" -> high = number(p);
+                    case "TDD_LWPRC" -> low = number(p);
+                    case "ACC_TRDVOL" -> volume = number(p);
+                    case "ACC_TRDVAL" -> value = number(p);
+                    case "MKTCAP" -> marketCap = number(p);
+                    case "LIST_SHRS" -> listedShares = number(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new StockDaily(basDd, isuCd, isuNm, mktNm, sectTpNm, close, change, flucRt,
+                    open, high, low, volume, value, marketCap, listedShares);
+        }
+    }
+}
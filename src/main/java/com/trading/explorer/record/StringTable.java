@@ -0,0 +1,46 @@
+package com.trading.explorer.record;
+
+/**
+ * 파서 문자 버퍼의 구간을 같은 내용의 String 으로 바꿔 주되, 이미 본 값이면 기존 인스턴스를 돌려준다.
+ * 종목코드/종목명/시장구분처럼 날마다 반복되는 값은 두 번째부터 할당이 없다.
+ * 고정 크기 direct-mapped 테이블이라 충돌 시 덮어쓰며, 스레드 안전하지 않다.
+ */
+final class StringTable {
+
+    private final String[] entries;
+    private final int mask;
+
+    StringTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        this.entries = new String[size];
+        this.mask = size - 1;
+    }
+
+    String get(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        String entry = entries[slot];
+        if (entry != null && matches(entry, chars, offset, length)) {
+            return entry;
+        }
+        entry = new String(chars, offset, length);
+        entries[slot] = entry;
+        return entry;
+    }
+
+    private static boolean matches(String entry, char[] chars, int offset, int length) {
+        if (entry.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (entry.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
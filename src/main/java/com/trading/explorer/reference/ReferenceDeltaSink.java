@@ -0,0 +1,64 @@
+package com.trading.explorer.reference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.persistence.ResponseSink;
+import com.trading.explorer.util.JsonFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ReferenceDeltaSink implements ResponseSink {
+    
+    private static final String RECORD_FIELD = "OutBlock_1";
+    
+    private final ReferenceSnapshotStore snapshotStore;
+    private final JsonFormatter jsonFormatter;
+    private final KrxApiProperties.Reference config;
+    
+    public ReferenceDeltaSink(ReferenceSnapshotStore snapshotStore, JsonFormatter jsonFormatter, KrxApiProperties properties) {
+        this.snapshotStore = snapshotStore;
+        this.jsonFormatter = jsonFormatter;
+        this.config = properties.getReference();
+    }
+    
+    @Override
+    public boolean accepts(ApiResponse response) {
+        return config.isDeltaApi(response.getApiId())
+                && ReferenceSnapshotStore.isStorable(response.getApiId(), response.getBizDate());
+    }
+    
+    /** 실패한 응답이 있으면 나머지를 쓴 뒤 던져, 스냅숏이 없는 영업일이 백필 완료로 기록되지 않게 한다 */
+    @Override
+    public void write(List<ApiResponse> batch) throws IOException {
+        IOException failure = null;
+        for (ApiResponse response : batch) {
+            JsonNode rows = jsonFormatter.parse(response).getRoot();
+            rows = rows != null ? rows.path(RECORD_FIELD) : null;
+            if (rows == null || !rows.isArray() || rows.isEmpty()) {
+                continue;
+            }
+            try {
+                ReferenceSnapshotStore.WriteResult result =
+                        snapshotStore.write(response.getApiId(), response.getBizDate(), rows);
+                log.debug("Reference snapshot {} {}: {}", response.getApiId(), response.getBizDate(), result);
+            } catch (IOException e) {
+                log.error("Failed to write reference snapshot for {} {}: {}",
+                        response.getApiId(), response.getBizDate(), e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.trading.explorer.reference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 종목기본정보처럼 매일 전체가 내려오지만 실제로는 일부만 바뀌는 기준 데이터를 base + delta 로 보관한다.
+ * <pre>
+ * {directory}/{apiId}/{bizdate}.base.ndjson   전체 행 (키 순)
+ * {directory}/{apiId}/{bizdate}.delta.ndjson  1행: {"prev": 직전 영업일, 건수}, 이후 {"op":"I|U|D","key":..,"row":..}
+ * </pre>
+ * 각 delta 는 직전 스냅숏(prev)을 가리키므로 어떤 날의 전체 뷰든 base 까지 거슬러 올라가 복원할 수 있다.
+ * 체인이 base-every 에 이르면 새 base 를 써서 복원 비용을 제한한다.
+ */
+@Slf4j
+@Component
+public class ReferenceSnapshotStore {
+    
+    private static final String BASE_SUFFIX = ".base.ndjson";
+    private static final String DELTA_SUFFIX = ".delta.ndjson";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Pattern API_ID = Pattern.compile("[a-z_]+");
+    private static final Pattern BIZ_DATE = Pattern.compile("\\d{8}");
+    
+    private final KrxApiProperties.Reference config;
+    private final Path baseDir;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    // apiId -> 가장 최근 스냅숏의 행 해시 (다음 delta 계산용)
+    private final Map<String, Snapshot> latest = new ConcurrentHashMap<>();
+    
+    public ReferenceSnapshotStore(KrxApiProperties properties) {
+        this.config = properties.getReference();
+        this.baseDir = Paths.get(config.getDirectory());
+        this.fsync = properties.getPersistence().isFsync();
+    }
+    
+    /**
+     * 하루치 전체 행을 받아 직전 스냅숏과 비교해 바뀐 행만 기록한다.
+     * 이미 기록된 날은 건너뛴다.
+     */
+    public synchronized WriteResult write(String apiId, String bizDate, JsonNode rows) throws IOException {
+        Path dir = apiDir(apiId);
+        checkDate(bizDate);
+        Files.createDirectories(dir);
+        if (Files.exists(dir.resolve(bizDate + BASE_SUFFIX)) || Files.exists(dir.resolve(bizDate + DELTA_SUFFIX))) {
+            return new WriteResult(Kind.SKIPPED, 0, 0, 0);
+        }
+        
+        Map<String, JsonNode> current = index(rows);
+        Map<String, Long> hashes = new HashMap<>(current.size() * 2);
+        current.forEach((key, row) -> hashes.put(key, hash(row)));
+        
+        // 직전 스냅숏은 이 날 바로 앞에 저장된 날이다. 백필처럼 날짜가 뒤섞여 들어와도
+        // delta 가 자신의 prev 를 기록하므로 이미 쓴 다른 날의 체인은 영향을 받지 않는다
+        String prevDate = lowerDate(apiId, bizDate);
+        Snapshot last = prevDate != null ? snapshotAt(apiId, prevDate) : null;
+        if (last == null || last.chainLength() + 1 >= config.getBaseEvery()) {
+            writeBase(dir.resolve(bizDate + BASE_SUFFIX), current);
+            remember(apiId, new Snapshot(bizDate, hashes, 0));
+            return new WriteResult(Kind.BASE, current.size(), 0, 0);
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<ObjectNode> changes = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            Long previous = last.hashes().get(entry.getKey());
+            if (previous == null || previous.longValue() != hashes.get(entry.getKey())) {
+                changes.add(change(previous == null ? "I" : "U", entry.getKey(), entry.getValue()));
+                if (previous == null) {
+                    inserted++;
+                } else {
+                    updated++;
+                }
+            }
+        }
+        int delisted = 0;
+        for (String key : new TreeSet<>(last.hashes().keySet())) {
+            if (!current.containsKey(key)) {
+                changes.add(change("D", key, null));
+                delisted++;
+            }
+        }
+        
+        ObjectNode header = objectMapper.createObjectNode()
+                .put("prev", last.bizDate())
+                .put("inserted", inserted)
+                .put("updated", updated)
+                .put("delisted", delisted);
+        writeLine(out, header);
+        for (ObjectNode change : changes) {
+            writeLine(out, change);
+        }
+        writeAtomically(dir.resolve(bizDate + DELTA_SUFFIX), out.toByteArray());
+        
+        remember(apiId, new Snapshot(bizDate, hashes, last.chainLength() + 1));
+        return new WriteResult(Kind.DELTA, inserted, updated, delisted);
+    }
+    
+    public List<String> listDates(String apiId) {
+        Path dir = apiDir(apiId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(BASE_SUFFIX) || name.endsWith(DELTA_SUFFIX))
+                    .map(name -> name.substring(0, name.indexOf('.')))
+                    .sorted()
+                    .distinct()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public List<Map<String, Object>> describe(String apiId) throws IOException {
+        Path dir = apiDir(apiId);
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        for (String bizDate : listDates(apiId)) {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("bizDate", bizDate);
+            Path base = dir.resolve(bizDate + BASE_SUFFIX);
+            if (Files.exists(base)) {
+                snapshot.put("kind", Kind.BASE);
+                snapshot.put("bytes", Files.size(base));
+            } else {
+                Path delta = dir.resolve(bizDate + DELTA_SUFFIX);
+                JsonNode header = readHeader(delta);
+                snapshot.put("kind", Kind.DELTA);
+                snapshot.put("bytes", Files.size(delta));
+                snapshot.put("prev", header.path("prev").asText());
+                snapshot.put("inserted", header.path("inserted").asInt());
+                snapshot.put("updated", header.path("updated").asInt());
+                snapshot.put("delisted", header.path("delisted").asInt());
+            }
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+    
+    /** bizDate 이하 가장 최근 스냅숏의 날짜. 없으면 null. */
+    public String floorDate(String apiId, String bizDate) {
+        String floor = null;
+        for (String date : listDates(apiId)) {
+            if (bizDate == null || date.compareTo(bizDate) <= 0) {
+                floor = date;
+            }
+        }
+        return floor;
+    }
+    
+    /** 저장된 날의 전체 뷰를 base + delta 체인으로 복원한다 (키 순). */
+    public TreeMap<String, JsonNode> view(String apiId, String bizDate) throws IOException {
+        Path dir = apiDir(apiId);
+        Deque<Path> deltas = new ArrayDeque<>();
+        String date = bizDate;
+        while (true) {
+            // delta 헤더의 prev 도 경로가 되므로 함께 확인한다
+            checkDate(date);
+            Path base = dir.resolve(date + BASE_SUFFIX);
+            if (Files.exists(base)) {
+                TreeMap<String, JsonNode> view = readBase(base);
+                while (!deltas.isEmpty()) {
+                    applyDelta(view, deltas.pop());
+                }
+                return view;
+            }
+            Path delta = dir.resolve(date + DELTA_SUFFIX);
+            if (!Files.exists(delta)) {
+                throw new IOException("Missing snapshot " + apiId + " " + date + " while rebuilding " + bizDate);
+            }
+            deltas.push(delta);
+            date = readHeader(delta).path("prev").asText();
+        }
+    }
+    
+    /** 두 날짜 사이에 추가/변경/상장폐지된 행. 날짜는 그 이하 가장 최근 스냅숏으로 맞춘다. */
+    public Map<String, Object> changes(String apiId, String since, String until) throws IOException {
+        String fromDate = floorDate(apiId, since);
+        String toDate = floorDate(apiId, until);
+        if (toDate == null) {
+            return null;
+        }
+        
+        Map<String, JsonNode> before = fromDate != null ? view(apiId, fromDate) : Map.of();
+        Map<String, JsonNode> after = view(apiId, toDate);
+        
+        List<JsonNode> inserted = new ArrayList<>();
+        List<Map<String, Object>> updated = new ArrayList<>();
+        List<JsonNode> delisted = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode previous = before.get(entry.getKey());
+            if (previous == null) {
+                inserted.add(entry.getValue());
+            } else if (!previous.equals(entry.getValue())) {
+                Map<String, Object> change = new HashMap<>();
+                change.put("key", entry.getKey());
+                change.put("changedFields", changedFields(previous, entry.getValue()));
+                change.put("before", previous);
+                change.put("after", entry.getValue());
+                updated.add(change);
+            }
+        }
+        for (Map.Entry<String, JsonNode> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey())) {
+                delisted.add(entry.getValue());
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("apiId", apiId);
+        result.put("since", fromDate);
+        result.put("until", toDate);
+        result.put("insertedCount", inserted.size());
+        result.put("updatedCount", updated.size());
+        result.put("delistedCount", delisted.size());
+        result.put("inserted", inserted);
+        result.put("updated", updated);
+        result.put("delisted", delisted);
+        return result;
+    }
+    
+    /** 스냅숏 경로에 그대로 쓸 수 있는 apiId 와 yyyyMMdd 영업일인지 */
+    public static boolean isStorable(String apiId, String bizDate) {
+        return apiId != null && API_ID.matcher(apiId).matches()
+                && bizDate != null && BIZ_DATE.matcher(bizDate).matches();
+    }
+    
+    private Path apiDir(String apiId) {
+        if (apiId == null || !API_ID.matcher(apiId).matches()) {
+            throw new IllegalArgumentException("Invalid apiId: " + apiId);
+        }
+        return baseDir.resolve(apiId);
+    }
+    
+    private static void checkDate(String bizDate) {
+        if (bizDate == null || !BIZ_DATE.matcher(bizDate).matches()) {
+            throw new IllegalArgumentException("bizDate must be yyyyMMdd: " + bizDate);
+        }
+    }
+    
+    private String lowerDate(String apiId, String bizDate) {
+        String lower = null;
+        for (String date : listDates(apiId)) {
+            if (date.compareTo(bizDate) < 0) {
+                lower = date;
+            }
+        }
+        return lower;
+    }
+    
+    private Snapshot snapshotAt(String apiId, String bizDate) throws IOException {
+        Snapshot snapshot = latest.get(apiId);
+        if (snapshot != null && snapshot.bizDate().equals(bizDate)) {
+            return snapshot;
+        }
+        
+        // 재기동 직후이거나 과거 날짜가 늦게 들어온 경우: 스냅숏을 복원해 해시를 다시 만든다
+        Map<String, Long> hashes = new HashMap<>();
+        view(apiId, bizDate).forEach((key, row) -> hashes.put(key, hash(row)));
+        int chainLength = 0;
+        Path dir = apiDir(apiId);
+        for (String date = bizDate; !Files.exists(dir.resolve(date + BASE_SUFFIX)); chainLength++) {
+            date = readHeader(dir.resolve(date + DELTA_SUFFIX)).path("prev").asText();
+        }
+        snapshot = new Snapshot(bizDate, hashes, chainLength);
+        remember(apiId, snapshot);
+        return snapshot;
+    }
+    
+    private void remember(String apiId, Snapshot snapshot) {
+        // 가장 최근 날짜의 해시만 들고 있는다 (매일 수집 시 복원 없이 바로 비교)
+        latest.merge(apiId, snapshot, (current, candidate) ->
+                candidate.bizDate().compareTo(current.bizDate()) >= 0 ? candidate : current);
+    }
+    
+    private Map<String, JsonNode> index(JsonNode rows) {
+        Map<String, JsonNode> indexed = new TreeMap<>();
+        for (JsonNode row : rows) {
+            String key = row.path(config.getKeyField()).asText(null);
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+            if (indexed.put(key, row) != null) {
+                log.warn("Duplicate {} {} in reference snapshot, keeping the last row", config.getKeyField(), key);
+            }
+        }
+        return indexed;
+    }
+    
+    /** 필드 순서와 무관한 64비트 FNV-1a 행 해시. */
+    static long hash(JsonNode row) {
+        List<String> names = new ArrayList<>();
+        row.fieldNames().forEachRemaining(names::add);
+        names.sort(null);
+        
+        long hash = FNV_OFFSET;
+        for (String name : names) {
+            hash = mix(hash, name);
+            hash = (hash ^ 0x1f) * FNV_PRIME;
+            hash = mix(hash, row.get(name).asText());
+            hash = (hash ^ 0x1e) * FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    private static List<String> changedFields(JsonNode before, JsonNode after) {
+        TreeSet<String> names = new TreeSet<>();
+        before.fieldNames().forEachRemaining(names::add);
+        after.fieldNames().forEachRemaining(names::add);
+        names.removeIf(name -> Objects.equals(before.get(name), after.get(name)));
+        return new ArrayList<>(names);
+    }
+    
+    private ObjectNode change(String op, String key, JsonNode row) {
+        ObjectNode change = objectMapper.createObjectNode().put("op", op).put("key", key);
+        if (row != null) {
+            change.set("row", row);
+        }
+        return change;
+    }
+    
+    private void writeBase(Path path, Map<String, JsonNode> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 256);
+        for (JsonNode row : rows.values()) {
+            writeLine(out, row);
+        }
+        writeAtomically(path, out.toByteArray());
+    }
+    
+    private void writeLine(ByteArrayOutputStream out, JsonNode node) throws IOException {
+        objectMapper.writeValue(out, node);
+        out.write('\n');
+    }
+    
+    private void writeAtomically(Path path, byte[] content) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, content);
+        if (fsync) {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    private TreeMap<String, JsonNode> readBase(Path path) throws IOException {
+        TreeMap<String, JsonNode> view = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode row = objectMapper.readTree(line);
+                view.put(row.path(config.getKeyField()).asText(), row);
+            }
+        }
+        return view;
+    }
+    
+    private void applyDelta(TreeMap<String, JsonNode> view, Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode change = objectMapper.readTree(line);
+                String key = change.path("key").asText();
+                if ("D".equals(change.path("op").asText())) {
+                    view.remove(key);
+                } else {
+                    view.put(key, change.get("row"));
+                }
+            }
+        }
+    }
+    
+    private JsonNode readHeader(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return objectMapper.readTree(reader.readLine());
+        }
+    }
+    
+    public enum Kind {
+        BASE, DELTA, SKIPPED
+    }
+    
+    public record WriteResult(Kind kind, int inserted, int updated, int delisted) {
+    }
+    
+    private record Snapshot(String bizDate, Map<String, Long> hashes, int chainLength) {
+    }
+}
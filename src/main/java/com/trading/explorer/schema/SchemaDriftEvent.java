@@ -0,0 +1,20 @@
+package com.trading.explorer.schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * apiId 의 응답 형태가 처음 보는 지문으로 바뀌었을 때 발행된다.
+ * changed 는 경로 -> "이전 타입 -> 새 타입" 이다.
+ */
+public record SchemaDriftEvent(
+        String apiId,
+        String bizDate,
+        String previousFingerprint,
+        String fingerprint,
+        List<String> added,
+        List<String> removed,
+        Map<String, String> changed,
+        LocalDateTime detectedAt) {
+}
@@ -0,0 +1,153 @@
+package com.trading.explorer.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 응답 형태의 지문. 파싱된 트리를 한 번 훑으며 (경로, 타입) 쌍을 중복 없이 모아 순서와 무관하게 섞는다.
+ * 배열 원소는 모두 같은 경로("[]")로 보므로 행 수나 행 순서가 달라도 지문은 같고,
+ * 어떤 행에만 있는 필드나 null 이 섞인 필드는 지문을 바꾼다.
+ */
+public final class SchemaFingerprint {
+    
+    private static final long ROOT = 0x9e3779b97f4a7c15L;
+    private static final long ARRAY_ELEMENT = 0x5bd1e9955bd1e995L;
+    
+    private SchemaFingerprint() {
+    }
+    
+    public static long of(JsonNode root) {
+        LongSet pairs = new LongSet();
+        walk(root, ROOT, pairs);
+        return pairs.combined();
+    }
+    
+    public static String hex(long fingerprint) {
+        return String.format("%016x", fingerprint);
+    }
+    
+    /**
+     * 경로별 타입 목록. 지문이 바뀌었을 때 무엇이 바뀌었는지 보여 주는 데만 쓴다.
+     * 경로는 "OutBlock_1[].ISU_CD" 형식이다.
+     */
+    public static Map<String, Set<String>> shape(JsonNode root) {
+        Map<String, Set<String>> shape = new TreeMap<>();
+        collect(root, "$", shape);
+        return shape;
+    }
+    
+    private static void collect(JsonNode node, String path, Map<String, Set<String>> shape) {
+        shape.computeIfAbsent(path, key -> new TreeSet<>()).add(typeName(node));
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                collect(field.getValue(), path.equals("$") ? field.getKey() : path + "." + field.getKey(), shape);
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                collect(element, path + "[]", shape);
+            }
+        }
+    }
+    
+    private static void walk(JsonNode node, long path, LongSet pairs) {
+        pairs.add(mix(path + typeCode(node)));
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                walk(field.getValue(), fieldPath(path, field.getKey()), pairs);
+            }
+        } else if (node.isArray()) {
+            long elementPath = elementPath(path);
+            for (JsonNode element : node) {
+                walk(element, elementPath, pairs);
+            }
+        }
+    }
+    
+    private static long fieldPath(long parent, String name) {
+        return mix(parent ^ ((long) name.length() << 32 | name.hashCode() & 0xffffffffL));
+    }
+    
+    private static long elementPath(long parent) {
+        return mix(parent ^ ARRAY_ELEMENT);
+    }
+    
+    private static String typeName(JsonNode node) {
+        if (node.isObject()) return "object";
+        if (node.isArray()) return "array";
+        if (node.isTextual()) return "string";
+        if (node.isNumber()) return "number";
+        if (node.isBoolean()) return "boolean";
+        if (node.isNull()) return "null";
+        return "unknown";
+    }
+    
+    private static long typeCode(JsonNode node) {
+        if (node.isObject()) return 1;
+        if (node.isArray()) return 2;
+        if (node.isTextual()) return 3;
+        if (node.isNumber()) return 4;
+        if (node.isBoolean()) return 5;
+        if (node.isNull()) return 6;
+        return 7;
+    }
+    
+    /** splitmix64 의 마무리 단계 */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+    
+    /** 0 을 빈 칸으로 쓰는 작은 open addressing 집합. 한 응답의 (경로, 타입) 쌍은 보통 수십 개다. */
+    private static final class LongSet {
+        
+        private long[] slots = new long[64];
+        private int size;
+        
+        void add(long value) {
+            if (value == 0) {
+                value = 1;
+            }
+            int mask = slots.length - 1;
+            int index = (int) value & mask;
+            while (slots[index] != 0) {
+                if (slots[index] == value) {
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+            if (++size * 2 > slots.length) {
+                grow();
+            }
+        }
+        
+        long combined() {
+            // 쌍의 순서와 무관하도록 합과 xor 를 섞는다
+            long sum = 0;
+            long xor = 0;
+            for (long slot : slots) {
+                sum += slot;
+                xor ^= slot;
+            }
+            return mix(sum ^ Long.rotateLeft(xor, 29) ^ size);
+        }
+        
+        private void grow() {
+            long[] previous = slots;
+            slots = new long[previous.length * 2];
+            size = 0;
+            Arrays.stream(previous).filter(slot -> slot != 0).forEach(this::add);
+        }
+    }
+}
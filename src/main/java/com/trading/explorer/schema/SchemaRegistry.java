@@ -0,0 +1,314 @@
+package com.trading.explorer.schema;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.util.JsonFormatter;
+import com.trading.explorer.util.ParsedResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * apiId 별 응답 형태 등록부. 구조 분석은 행 수, 샘플 값처럼 응답마다 다른 값을 담으므로 매번 새로 하고,
+ * 여기서는 지문별 형태(경로별 타입)만 기억한다. 이미 본 지문이면 형태를 다시 만들지 않는다.
+ * 처음 보는 지문이고 직전 형태와 다르면 {@link SchemaDriftEvent} 를 발행한다.
+ * <p>
+ * 지문과 경로별 타입은 {directory}/schemas.json 에 남겨 재기동 뒤에도 변화를 알아챈다.
+ */
+@Slf4j
+@Component
+public class SchemaRegistry {
+    
+    private static final String FILE_NAME = "schemas.json";
+    private static final int KNOWN_FINGERPRINTS = 32;
+    
+    private final KrxApiProperties.Schema config;
+    private final JsonFormatter jsonFormatter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KrxMetrics krxMetrics;
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private final Map<String, ApiSchema> schemas = new ConcurrentHashMap<>();
+    private final Deque<SchemaDriftEvent> drifts = new ArrayDeque<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong driftCount = new AtomicLong();
+    
+    public SchemaRegistry(KrxApiProperties properties, JsonFormatter jsonFormatter,
+                          ApplicationEventPublisher eventPublisher, KrxMetrics krxMetrics) {
+        this.config = properties.getSchema();
+        this.jsonFormatter = jsonFormatter;
+        this.eventPublisher = eventPublisher;
+        this.krxMetrics = krxMetrics;
+        this.file = Paths.get(config.getDirectory()).resolve(FILE_NAME);
+    }
+    
+    @PostConstruct
+    void load() {
+        if (!config.isEnabled() || !Files.exists(file)) {
+            return;
+        }
+        try {
+            Map<String, StoredSchema> stored = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+            });
+            stored.forEach((apiId, schema) -> schemas.put(apiId, new ApiSchema(apiId, schema)));
+            log.info("Loaded {} known response schemas from {}", stored.size(), file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable schema registry {}: {}", file, e.getMessage());
+        }
+    }
+    
+    /**
+     * 응답의 구조 분석에 지문을 더한 것. 돌려주는 맵은 고치지 않는다.
+     */
+    public Map<String, Object> analyze(ApiResponse response) {
+        if (!config.isEnabled() || !response.isSuccess() || response.getRawResponse() == null) {
+            return jsonFormatter.analyzeStructure(response);
+        }
+        
+        ParsedResponse parsed = jsonFormatter.parse(response);
+        if (!parsed.isValid()) {
+            // JSON 이 아니면 기존 분석이 오류 내용을 채워 준다
+            return jsonFormatter.analyzeStructure(response);
+        }
+        
+        long fingerprint = SchemaFingerprint.of(parsed.getRoot());
+        Map<String, Object> analysis = new HashMap<>(jsonFormatter.analyzeStructure(response));
+        analysis.put("fingerprint", SchemaFingerprint.hex(fingerprint));
+        analysis = Collections.unmodifiableMap(analysis);
+        
+        ApiSchema schema = schemas.computeIfAbsent(response.getApiId(), apiId -> new ApiSchema(apiId, null));
+        if (schema.isCached(fingerprint)) {
+            hits.incrementAndGet();
+            return analysis;
+        }
+        
+        misses.incrementAndGet();
+        Map<String, Set<String>> shape = SchemaFingerprint.shape(parsed.getRoot());
+        if (!hasValues(shape)) {
+            // 휴장일처럼 행이 하나도 없는 응답은 형태 변화로 보지 않는다
+            return analysis;
+        }
+        
+        Registration registration = schema.register(fingerprint, shape, response.getBizDate(), config.getVariants());
+        if (registration.drift() != null) {
+            onDrift(registration.drift());
+        }
+        if (registration.changed()) {
+            save();
+        }
+        return analysis;
+    }
+    
+    public List<SchemaDriftEvent> getDrifts(String apiId) {
+        synchronized (drifts) {
+            return drifts.stream()
+                    .filter(event -> apiId == null || event.apiId().equals(apiId))
+                    .toList();
+        }
+    }
+    
+    /** apiId 의 현재 형태. 모르는 API 면 null */
+    public Map<String, Object> describe(String apiId) {
+        ApiSchema schema = schemas.get(apiId);
+        return schema != null ? schema.describe(true) : null;
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> apis = new TreeMap<>();
+        schemas.forEach((apiId, schema) -> apis.put(apiId, schema.describe(false)));
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        long total = hits.get() + misses.get();
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hits.get() / total);
+        stats.put("drifts", driftCount.get());
+        stats.put("apis", apis);
+        return stats;
+    }
+    
+    private void onDrift(SchemaDriftEvent drift) {
+        driftCount.incrementAndGet();
+        krxMetrics.recordSchemaDrift(drift.apiId());
+        log.warn("Schema drift for {} ({}): {} -> {}, added={}, removed={}, changed={}",
+                drift.apiId(), drift.bizDate(), drift.previousFingerprint(), drift.fingerprint(),
+                drift.added(), drift.removed(), drift.changed());
+        synchronized (drifts) {
+            drifts.addFirst(drift);
+            while (drifts.size() > config.getDriftHistory()) {
+                drifts.removeLast();
+            }
+        }
+        eventPublisher.publishEvent(drift);
+    }
+    
+    private synchronized void save() {
+        Map<String, StoredSchema> stored = new TreeMap<>();
+        schemas.forEach((apiId, schema) -> {
+            StoredSchema snapshot = schema.snapshot();
+            if (snapshot != null) {
+                stored.put(apiId, snapshot);
+            }
+        });
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+            objectMapper.writeValue(temp.toFile(), stored);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save schema registry {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private static boolean hasValues(Map<String, Set<String>> shape) {
+        return shape.values().stream()
+                .flatMap(Set::stream)
+                .anyMatch(type -> !type.equals("object") && !type.equals("array"));
+    }
+    
+    private static SchemaDriftEvent diff(String apiId, String bizDate, StoredSchema previous,
+                                         long fingerprint, Map<String, Set<String>> shape) {
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        Map<String, String> changed = new TreeMap<>();
+        shape.forEach((path, types) -> {
+            Set<String> before = previous.getShape().get(path);
+            if (before == null) {
+                added.add(path);
+            } else if (!before.equals(types)) {
+                changed.put(path, String.join("|", before) + " -> " + String.join("|", types));
+            }
+        });
+        previous.getShape().keySet().stream()
+                .filter(path -> !shape.containsKey(path))
+                .forEach(removed::add);
+        return new SchemaDriftEvent(apiId, bizDate, previous.getFingerprint(), SchemaFingerprint.hex(fingerprint),
+                added, removed, changed, LocalDateTime.now());
+    }
+    
+    private record Registration(boolean changed, SchemaDriftEvent drift) {
+    }
+    
+    /** 한 API 의 현재 형태와 최근 지문별 형태 */
+    private static final class ApiSchema {
+        
+        private final String apiId;
+        private final Map<Long, Map<String, Set<String>>> shapes = new LinkedHashMap<>(16, 0.75f, true);
+        private StoredSchema current;
+        
+        ApiSchema(String apiId, StoredSchema stored) {
+            this.apiId = apiId;
+            this.current = stored;
+        }
+        
+        synchronized boolean isCached(long fingerprint) {
+            // containsKey 는 접근 순서를 갱신하지 않는다
+            return shapes.get(fingerprint) != null;
+        }
+        
+        synchronized Registration register(long fingerprint, Map<String, Set<String>> shape,
+                                           String bizDate, int variants) {
+            shapes.put(fingerprint, shape);
+            if (shapes.size() > Math.max(1, variants)) {
+                shapes.remove(shapes.keySet().iterator().next());
+            }
+            
+            String hex = SchemaFingerprint.hex(fingerprint);
+            if (current == null) {
+                current = StoredSchema.of(hex, bizDate, shape, new LinkedHashSet<>(List.of(hex)));
+                return new Registration(true, null);
+            }
+            if (current.getFingerprint().equals(hex)) {
+                return new Registration(false, null);
+            }
+            
+            // 전에 본 적 있는 형태로 돌아온 것은 변화로 치지 않는다 (예: 어떤 날만 null 이 섞이는 필드)
+            boolean known = current.getKnown().contains(hex);
+            SchemaDriftEvent drift = known ? null : diff(apiId, bizDate, current, fingerprint, shape);
+            Set<String> knownFingerprints = new LinkedHashSet<>(current.getKnown());
+            knownFingerprints.remove(hex);
+            knownFingerprints.add(hex);
+            while (knownFingerprints.size() > KNOWN_FINGERPRINTS) {
+                knownFingerprints.remove(knownFingerprints.iterator().next());
+            }
+            current = StoredSchema.of(hex, bizDate, shape, knownFingerprints);
+            return new Registration(true, drift);
+        }
+        
+        synchronized StoredSchema snapshot() {
+            return current;
+        }
+        
+        synchronized Map<String, Object> describe(boolean withShape) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("apiId", apiId);
+            result.put("cachedVariants", shapes.size());
+            if (current != null) {
+                result.put("fingerprint", current.getFingerprint());
+                result.put("since", current.getSince());
+                result.put("bizDate", current.getBizDate());
+                result.put("paths", current.getShape().size());
+                result.put("knownFingerprints", current.getKnown().size());
+                if (withShape) {
+                    result.put("shape", current.getShape());
+                }
+            }
+            return result;
+        }
+    }
+    
+    /** schemas.json 의 한 항목 */
+    @Data
+    static final class StoredSchema {
+        
+        private String fingerprint;
+        private String bizDate;
+        private LocalDateTime since;
+        private Map<String, Set<String>> shape = new TreeMap<>();
+        private Set<String> known = new LinkedHashSet<>();
+        
+        static StoredSchema of(String fingerprint, String bizDate, Map<String, Set<String>> shape, Set<String> known) {
+            StoredSchema schema = new StoredSchema();
+            schema.setFingerprint(fingerprint);
+            schema.setBizDate(bizDate);
+            schema.setSince(LocalDateTime.now());
+            schema.setShape(shape);
+            schema.setKnown(Objects.requireNonNull(known));
+            return schema;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.trading.explorer.series;
+
+import java.util.Arrays;
+
+/**
+ * 종목 하나의 일별 시계열. 날짜(yyyyMMdd int)와 가격/거래량(long)을 박싱 없이 병렬 배열에 날짜순으로 보관한다.
+ * 포인트당 4 + 8 x 6 = 52바이트.
+ */
+public final class InstrumentSeries {
+    
+    public static final int BYTES_PER_POINT = Integer.BYTES + Long.BYTES * 6;
+    
+    private final String isuCd;
+    private final int maxPoints;
+    
+    private int size;
+    private int[] dates;
+    private long[] open;
+    private long[] high;
+    private long[] low;
+    private long[] close;
+    private long[] volume;
+    private long[] value;
+    
+    public InstrumentSeries(String isuCd, int initialCapacity, int maxPoints) {
+        this.isuCd = isuCd;
+        this.maxPoints = maxPoints;
+        int capacity = Math.max(1, Math.min(initialCapacity, maxPoints));
+        this.dates = new int[capacity];
+        this.open = new long[capacity];
+        this.high = new long[capacity];
+        this.low = new long[capacity];
+        this.close = new long[capacity];
+        this.volume = new long[capacity];
+        this.value = new long[capacity];
+    }
+    
+    public String getIsuCd() {
+        return isuCd;
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    public synchronized void put(int date, long openPrice, long highPrice, long lowPrice,
+                                 long closePrice, long tradeVolume, long tradeValue) {
+        int index;
+        if (size == 0 || dates[size - 1] < date) {
+            index = size;
+        } else {
+            index = Arrays.binarySearch(dates, 0, size, date);
+            if (index >= 0) {
+                // 같은 날짜를 다시 받으면 덮어쓴다
+                set(index, date, openPrice, highPrice, lowPrice, closePrice, tradeVolume, tradeValue);
+                return;
+            }
+            index = -index - 1;
+        }
+        
+        if (size == maxPoints) {
+            if (index == 0) {
+                return; // 보관 범위보다 오래된 데이터
+            }
+            shiftLeft();
+            index--;
+        }
+        ensureCapacity(size + 1);
+        if (index < size) {
+            shiftRight(index);
+        }
+        set(index, date, openPrice, highPrice, lowPrice, closePrice, tradeVolume, tradeValue);
+        size++;
+    }
+    
+    public synchronized Slice slice(int fromDate, int toDate) {
+        int start = lowerBound(fromDate);
+        int end = lowerBound(toDate == Integer.MAX_VALUE ? toDate : toDate + 1);
+        if (end < start) {
+            end = start;
+        }
+        return new Slice(isuCd,
+                Arrays.copyOfRange(dates, start, end),
+                Arrays.copyOfRange(open, start, end),
+                Arrays.copyOfRange(high, start, end),
+                Arrays.copyOfRange(low, start, end),
+                Arrays.copyOfRange(close, start, end),
+                Arrays.copyOfRange(volume, start, end),
+                Arrays.copyOfRange(value, start, end));
+    }
+    
+    public synchronized void trimToSize() {
+        if (dates.length != size) {
+            resize(Math.max(1, size));
+        }
+    }
+    
+    public synchronized long retainedBytes() {
+        return (long) dates.length * BYTES_PER_POINT;
+    }
+    
+    private int lowerBound(int date) {
+        int index = Arrays.binarySearch(dates, 0, size, date);
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    private void set(int index, int date, long openPrice, long highPrice, long lowPrice,
+                     long closePrice, long tradeVolume, long tradeValue) {
+        dates[index] = date;
+        open[index] = openPrice;
+        high[index] = highPrice;
+        low[index] = lowPrice;
+        close[index] = closePrice;
+        volume[index] = tradeVolume;
+        value[index] = tradeValue;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required > dates.length) {
+            resize(Math.min(maxPoints, Math.max(required, dates.length + (dates.length >> 1))));
+        }
+    }
+    
+    private void resize(int capacity) {
+        dates = Arrays.copyOf(dates, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+        value = Arrays.copyOf(value, capacity);
+    }
+    
+    private void shiftRight(int index) {
+        int length = size - index;
+        System.arraycopy(dates, index, dates, index + 1, length);
+        System.arraycopy(open, index, open, index + 1, length);
+        System.arraycopy(high, index, high, index + 1, length);
+        System.arraycopy(low, index, low, index + 1, length);
+        System.arraycopy(close, index, close, index + 1, length);
+        System.arraycopy(volume, index, volume, index + 1, length);
+        System.arraycopy(value, index, value, index + 1, length);
+    }
+    
+    private void shiftLeft() {
+        int length = size - 1;
+        System.arraycopy(dates, 1, dates, 0, length);
+        System.arraycopy(open, 1, open, 0, length);
+        System.arraycopy(high, 1, high, 0, length);
+        System.arraycopy(low, 1, low, 0, length);
+        System.arraycopy(close, 1, close, 0, length);
+        System.arraycopy(volume, 1, volume, 0, length);
+        System.arraycopy(value, 1, value, 0, length);
+        size--;
+    }
+    
+    public record Slice(String isuCd, int[] dates, long[] open, long[] high, long[] low,
+                        long[] close, long[] volume, long[] value) {
+        
+        public int size() {
+            return dates.length;
+        }
+    }
+}
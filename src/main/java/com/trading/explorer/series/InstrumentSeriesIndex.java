@@ -0,0 +1,171 @@
+package com.trading.explorer.series;
+
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.store.ColumnarSegment;
+import com.trading.explorer.store.ColumnarSegmentWrittenEvent;
+import com.trading.explorer.store.ColumnarStore;
+import com.trading.explorer.util.KrxNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목코드(ISU_CD) -> 일별 시계열 인덱스.
+ * 기동 시 컬럼 저장소에서 한 번 적재하고, 이후 새 세그먼트가 기록될 때마다 해당 영업일만 반영한다.
+ * 반영이 끝나면 {@link InstrumentSeriesUpdatedEvent} 를 발행한다.
+ * 힙 사용량은 대략 (종목 수 x 보관 영업일 수 x 52바이트) 이며 max-days 로 상한이 정해진다.
+ * 예) KOSPI+KOSDAQ 약 2,700종목 x 2,520일 = 약 680만 포인트 = 약 354MB.
+ */
+@Slf4j
+@Component
+public class InstrumentSeriesIndex {
+    
+    private static final String CODE_COLUMN = "ISU_CD";
+    private static final int INITIAL_CAPACITY = 256;
+    
+    private final KrxApiProperties.Series config;
+    private final ColumnarStore columnarStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, InstrumentSeries> series = new ConcurrentHashMap<>();
+    
+    private volatile boolean loaded;
+    
+    public InstrumentSeriesIndex(KrxApiProperties properties, ColumnarStore columnarStore,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.config = properties.getSeries();
+        this.columnarStore = columnarStore;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromStore() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        // 적재는 기동을 막지 않도록 별도 스레드에서 진행한다
+        Schedulers.boundedElastic().schedule(() -> {
+            long start = System.nanoTime();
+            int segments = 0;
+            for (String apiId : config.getApis()) {
+                for (String bizDate : columnarStore.listDates(apiId)) {
+                    segments += apply(apiId, bizDate) != null ? 1 : 0;
+                }
+            }
+            series.values().forEach(InstrumentSeries::trimToSize);
+            loaded = true;
+            log.info("Instrument series index loaded: {} instruments from {} segments in {}ms",
+                    series.size(), segments, (System.nanoTime() - start) / 1_000_000);
+            eventPublisher.publishEvent(InstrumentSeriesUpdatedEvent.loaded(series.values()));
+        });
+    }
+    
+    @EventListener
+    public void onSegmentWritten(ColumnarSegmentWrittenEvent event) {
+        if (config.isEnabled() && config.getApis().contains(event.apiId())) {
+            List<InstrumentSeries> instruments = apply(event.apiId(), event.bizDate());
+            if (instruments != null) {
+                eventPublisher.publishEvent(new InstrumentSeriesUpdatedEvent(
+                        event.apiId(), Integer.parseInt(event.bizDate()), instruments));
+            }
+        }
+    }
+    
+    public Optional<InstrumentSeries> get(String isuCd) {
+        return Optional.ofNullable(series.get(isuCd));
+    }
+    
+    public Map<String, InstrumentSeries> getAll() {
+        return series;
+    }
+    
+    public Map<String, Object> getStats() {
+        long points = 0;
+        long retainedBytes = 0;
+        for (InstrumentSeries instrument : series.values()) {
+            points += instrument.size();
+            retainedBytes += instrument.retainedBytes();
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("loaded", loaded);
+        stats.put("apis", config.getApis());
+        stats.put("instruments", series.size());
+        stats.put("points", points);
+        stats.put("bytesPerPoint", InstrumentSeries.BYTES_PER_POINT);
+        stats.put("retainedBytes", retainedBytes);
+        stats.put("maxDays", config.getMaxDays());
+        return stats;
+    }
+    
+    /** 반영한 종목 목록. 세그먼트가 없거나 종목코드 컬럼이 없으면 null. */
+    private List<InstrumentSeries> apply(String apiId, String bizDate) {
+        ColumnarSegment segment = columnarStore.open(apiId, bizDate).orElse(null);
+        if (segment == null) {
+            return null;
+        }
+        ColumnarSegment.Column codes = segment.column(CODE_COLUMN);
+        if (codes == null || codes.getType() != ColumnarSegment.ColumnType.DICTIONARY) {
+            return null;
+        }
+        
+        int date = Integer.parseInt(bizDate);
+        PriceColumn open = new PriceColumn(segment.column("TDD_OPNPRC"));
+        PriceColumn high = new PriceColumn(segment.column("TDD_HGPRC"));
+        PriceColumn low = new PriceColumn(segment.column("TDD_LWPRC"));
+        PriceColumn close = new PriceColumn(segment.column("TDD_CLSPRC"));
+        PriceColumn volume = new PriceColumn(segment.column("ACC_TRDVOL"));
+        PriceColumn value = new PriceColumn(segment.column("ACC_TRDVAL"));
+        
+        // 사전 코드별로 시계열을 한 번만 찾아 둔다
+        String[] dictionary = codes.getDictionary();
+        InstrumentSeries[] byCode = new InstrumentSeries[dictionary.length];
+        List<InstrumentSeries> applied = new ArrayList<>(dictionary.length);
+        for (int row = 0; row < segment.getRowCount(); row++) {
+            int code = codes.getCode(row);
+            if (code < 0) {
+                continue;
+            }
+            InstrumentSeries instrument = byCode[code];
+            if (instrument == null) {
+                instrument = series.computeIfAbsent(dictionary[code],
+                        isuCd -> new InstrumentSeries(isuCd, INITIAL_CAPACITY, config.getMaxDays()));
+                byCode[code] = instrument;
+                applied.add(instrument);
+            }
+            instrument.put(date, open.get(row), high.get(row), low.get(row),
+                    close.get(row), volume.get(row), value.get(row));
+        }
+        return applied;
+    }
+    
+    /** 정수 단위(원, 주)로 환산해 읽는다. 컬럼이 없거나 값이 없으면 {@link KrxNumbers#NULL}. */
+    private static final class PriceColumn {
+        
+        private final ColumnarSegment.Column column;
+        private final long divisor;
+        
+        PriceColumn(ColumnarSegment.Column column) {
+            this.column = column != null && column.getType() == ColumnarSegment.ColumnType.DECIMAL ? column : null;
+            this.divisor = this.column != null ? KrxNumbers.pow10(this.column.getScale()) : 1;
+        }
+        
+        long get(int row) {
+            if (column == null) {
+                return KrxNumbers.NULL;
+            }
+            long raw = column.getLong(row);
+            return raw == KrxNumbers.NULL || divisor == 1 ? raw : Math.round((double) raw / divisor);
+        }
+    }
+}
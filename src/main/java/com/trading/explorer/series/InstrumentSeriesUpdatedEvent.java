@@ -0,0 +1,18 @@
+package com.trading.explorer.series;
+
+import java.util.Collection;
+
+/**
+ * 시계열 인덱스에 영업일 하나가 반영되었거나({@code date > 0}), 기동 시 적재가 끝났다({@code date == 0}).
+ * instruments 는 이번에 값이 들어간 종목들이다.
+ */
+public record InstrumentSeriesUpdatedEvent(String apiId, int date, Collection<InstrumentSeries> instruments) {
+    
+    public static InstrumentSeriesUpdatedEvent loaded(Collection<InstrumentSeries> instruments) {
+        return new InstrumentSeriesUpdatedEvent(null, 0, instruments);
+    }
+    
+    public boolean isLoad() {
+        return date == 0;
+    }
+}
@@ -1,19 +1,34 @@
 package com.trading.explorer.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.archive.ArchiveTee;
 import com.trading.explorer.client.KrxApiClient;
+import com.trading.explorer.client.KrxResponseCache;
+import com.trading.explorer.client.resilience.KrxResilience;
+import com.trading.explorer.client.throttle.KrxRequestThrottle;
+import com.trading.explorer.client.transport.KrxTransportMetrics;
 import com.trading.explorer.client.dto.ApiResponse;
 import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.persistence.ResponsePersistenceService;
+import com.trading.explorer.record.KrxRecordDecoder;
+import com.trading.explorer.record.KrxRecordDecoders;
+import com.trading.explorer.schema.SchemaRegistry;
 import com.trading.explorer.util.JsonFormatter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,8 +37,17 @@ import java.util.stream.Collectors;
 public class ApiExplorerService {
     
     private final KrxApiClient krxApiClient;
+    private final KrxResponseCache responseCache;
+    private final KrxRequestThrottle requestThrottle;
+    private final KrxTransportMetrics transportMetrics;
     private final KrxApiProperties properties;
     private final JsonFormatter jsonFormatter;
+    private final ResponsePersistenceService responsePersistence;
+    private final KrxMetrics krxMetrics;
+    private final KrxRecordDecoders recordDecoders;
+    private final ArchiveTee archiveTee;
+    private final KrxResilience resilience;
+    private final SchemaRegistry schemaRegistry;
     
     public Mono<Map<String, Object>> exploreAllApis() {
         log.info("Starting exploration of all KRX APIs");
@@ -34,10 +58,9 @@ public class ApiExplorerService {
                 .collect(Collectors.toList());
         
         return Flux.fromIterable(allApis)
-                .delayElements(Duration.ofMillis(500)) // API 호출 간격 조절
                 .flatMap(api -> {
                     log.debug("Exploring API: {} ({})", api.getId(), api.getName());
-                    return krxApiClient.callApiWithDefaultDate(api.getId())
+                    return callAndPersist(api.getId())
                             .map(response -> Map.entry(api.getId(), createApiResult(api, response)))
                             .doOnNext(entry -> {
                                 if (entry.getValue() instanceof Map<?, ?>) {
@@ -73,10 +96,9 @@ public class ApiExplorerService {
         }
         
         return Flux.fromIterable(categoryApis)
-                .delayElements(Duration.ofMillis(300))
                 .flatMap(api -> {
                     log.debug("Exploring API: {} ({})", api.getId(), api.getName());
-                    return krxApiClient.callApiWithDefaultDate(api.getId())
+                    return callAndPersist(api.getId())
                             .map(response -> Map.entry(api.getId(), createApiResult(api, response)));
                 })
                 .collectMap(Map.Entry::getKey, Map.Entry::getValue)
@@ -93,24 +115,159 @@ public class ApiExplorerService {
                 });
     }
     
+    /**
+     * 각 API 가 끝나는 대로 결과를 하나씩 방출하고, 마지막에 누적 요약을 방출한다.
+     * 결과를 모아 두지 않으므로 탐색 대상 수와 무관하게 서버 메모리가 일정하다.
+     */
+    public Flux<Map<String, Object>> streamAllApis() {
+        log.info("Starting streaming exploration of all KRX APIs");
+        
+        List<KrxApiProperties.ApiDefinition> allApis = properties.getApis().values()
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        
+        return streamApiResults(allApis);
+    }
+    
+    public Flux<Map<String, Object>> streamByCategory(String category) {
+        log.info("Starting streaming exploration for category: {}", category);
+        
+        List<KrxApiProperties.ApiDefinition> categoryApis = properties.getApis().get(category);
+        
+        if (categoryApis == null || categoryApis.isEmpty()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("type", "error");
+            error.put("error", "Category not found or empty: " + category);
+            error.put("availableCategories", properties.getApis().keySet());
+            return Flux.just(error);
+        }
+        
+        return streamApiResults(categoryApis);
+    }
+    
+    private Flux<Map<String, Object>> streamApiResults(List<KrxApiProperties.ApiDefinition> apis) {
+        return Flux.defer(() -> {
+            SummaryAccumulator summary = new SummaryAccumulator(apis.size());
+            
+            return Flux.fromIterable(apis)
+                    .flatMap(api -> callAndPersist(api.getId())
+                            .map(response -> {
+                                Map<String, Object> result = createApiResult(api, response);
+                                result.put("type", "result");
+                                summary.add(response.isSuccess());
+                                return result;
+                            }))
+                    .concatWith(Mono.fromSupplier(() -> {
+                        Map<String, Object> trailer = summary.toMap();
+                        trailer.put("type", "summary");
+                        log.info("Streaming exploration completed: {}", trailer);
+                        return trailer;
+                    }));
+        });
+    }
+    
     public Mono<ApiResponse> exploreSingleApi(String apiId, String bizDate) {
         log.info("Exploring single API: {} with date: {}", apiId, bizDate);
         
         if (bizDate != null && !bizDate.isEmpty()) {
             return krxApiClient.callApiWithDate(apiId, bizDate)
-                    .doOnNext(response -> {
-                        if (response.isSuccess()) {
-                            jsonFormatter.saveToFile(apiId, response.getRawResponse());
-                        }
-                    });
+                    .flatMap(this::parseAndPersist);
         } else {
             return krxApiClient.callApiWithDefaultDate(apiId)
-                    .doOnNext(response -> {
-                        if (response.isSuccess()) {
-                            jsonFormatter.saveToFile(apiId, response.getRawResponse());
-                        }
-                    });
+                    .flatMap(this::parseAndPersist);
+        }
+    }
+    
+    private Mono<ApiResponse> callAndPersist(String apiId) {
+        return krxApiClient.callApiWithDefaultDate(apiId)
+                .flatMap(this::parseAndPersist);
+    }
+    
+    /**
+     * 새로 받은 응답만 저장 파이프라인에 넣는다. 캐시 적중은 처음 받았을 때 이미 저장됐다.
+     * 큐가 차서 기다려야 하면 이벤트 루프가 아닌 boundedElastic 에서 기다린다.
+     */
+    private Mono<ApiResponse> parseAndPersist(ApiResponse response) {
+        if (!response.isSuccess() || response.isCached()) {
+            return Mono.just(response);
+        }
+        // 저장 워커와 컨트롤러가 같은 파싱 결과를 재사용하도록 먼저 한 번 파싱해 둔다
+        parse(response);
+        return responsePersistence.enqueue(response)
+                .thenReturn(response);
+    }
+    
+    private void parse(ApiResponse response) {
+        if (response.getParsed() == null) {
+            krxMetrics.time(KrxMetrics.PARSE, response.getApiId(), () -> jsonFormatter.parse(response));
+        }
+    }
+    
+    public Flux<JsonNode> streamSingleApiRecords(String apiId, String bizDate) {
+        log.info("Streaming records of single API: {} with date: {}", apiId, bizDate);
+        
+        return krxApiClient.streamRecordsWithDate(apiId, bizDate);
+    }
+    
+    /**
+     * 원문 passthrough. 캐시에 받아 둔 응답이 있으면 그 본문을, 없으면 KRX 응답 버퍼를 변환 없이 그대로 흘려보낸다.
+     * 같은 버퍼를 아카이브에만 함께 넘기고, 파싱/저장 파이프라인/캐시는 거치지 않는다.
+     */
+    public Flux<DataBuffer> passthroughSingleApi(String apiId, String bizDate) {
+        log.info("Passing through raw response of single API: {} with date: {}", apiId, bizDate);
+        
+        Map<String, String> params = new HashMap<>();
+        params.put("bizdate", krxApiClient.resolveBizDate(bizDate));
+        
+        Optional<ApiResponse> cached = responseCache.getIfPresent(apiId, params);
+        if (cached.isPresent() && cached.get().isSuccess()) {
+            byte[] body = cached.get().getRawResponse().getBytes(StandardCharsets.UTF_8);
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body));
         }
+        return archiveTee.tee(apiId, params.get("bizdate"), krxApiClient.streamRaw(apiId, params));
+    }
+    
+    /** 캐시된 응답 본문을 API 별 타입 레코드로 디코딩해 흘려보낸다. */
+    public Flux<Object> streamSingleApiTyped(String apiId, String bizDate) {
+        log.info("Streaming typed records of single API: {} with date: {}", apiId, bizDate);
+        
+        if (!recordDecoders.supports(apiId)) {
+            return Flux.error(new IllegalArgumentException("No typed record decoder for API: " + apiId));
+        }
+        
+        return exploreSingleApi(apiId, bizDate)
+                .flatMapMany(response -> {
+                    if (!response.isSuccess()) {
+                        return Flux.error(new IllegalStateException(response.getErrorMessage()));
+                    }
+                    return Flux.create(sink -> {
+                        // 디코더는 스레드 전용이므로 실제로 디코딩하는 스레드에서 꺼낸다
+                        KrxRecordDecoder<?> decoder = recordDecoders.decoderFor(apiId).orElseThrow();
+                        decoder.decode(response.getRawResponse(), sink::next);
+                        sink.complete();
+                    });
+                });
+    }
+    
+    public Map<String, Object> getCacheStats() {
+        return responseCache.getStats();
+    }
+    
+    public Map<String, Object> getPersistenceStats() {
+        return responsePersistence.getStats();
+    }
+    
+    public Map<String, Object> getThrottleStats() {
+        return requestThrottle.getStats();
+    }
+    
+    public Map<String, Object> getResilienceStats() {
+        return resilience.getStats();
+    }
+    
+    public Map<String, Object> getTransportStats() {
+        return transportMetrics.getStats();
     }
     
     private Map<String, Object> createApiResult(KrxApiProperties.ApiDefinition api, ApiResponse response) {
@@ -125,10 +282,9 @@ public class ApiExplorerService {
         
         if (response.isSuccess()) {
             result.put("responseSize", response.getRawResponse().length());
-            result.put("structure", jsonFormatter.analyzeStructure(response.getRawResponse()));
-            
-            // 응답을 파일로 저장
-            jsonFormatter.saveToFile(api.getId(), response.getRawResponse());
+            parse(response);
+            result.put("structure", krxMetrics.time(KrxMetrics.ANALYZE, api.getId(),
+                    () -> schemaRegistry.analyze(response)));
         } else {
             result.put("errorMessage", response.getErrorMessage());
         }
@@ -137,24 +293,52 @@ public class ApiExplorerService {
     }
     
     private Map<String, Object> createSummary(Map<String, Object> results) {
-        long successCount = results.values().stream()
-                .mapToLong(result -> {
-                    if (result instanceof Map<?, ?>) {
-                        Map<?, ?> map = (Map<?, ?>) result;
-                        return Boolean.TRUE.equals(map.get("success")) ? 1L : 0L;
-                    }
-                    return 0L;
-                })
-                .sum();
+        SummaryAccumulator summary = new SummaryAccumulator(results.size());
+        results.values().forEach(result -> summary.add(
+                result instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get("success"))));
         
-        long failureCount = results.size() - successCount;
+        Map<String, Object> summaryMap = summary.toMap();
+        summaryMap.remove("totalApis");
+        summaryMap.remove("elapsedMs");
+        return summaryMap;
+    }
+    
+    /**
+     * 결과가 하나씩 도착할 때마다 갱신되는 탐색 요약.
+     * flatMap 안에서는 응답을 받은 각 이벤트 루프 스레드가 동시에 add 를 부르므로 카운터는 LongAdder 로 둔다.
+     */
+    private static final class SummaryAccumulator {
+        
+        private final int totalApis;
+        private final long startNanos = System.nanoTime();
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failure = new LongAdder();
+        
+        SummaryAccumulator(int totalApis) {
+            this.totalApis = totalApis;
+        }
         
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("total", results.size());
-        summary.put("success", successCount);
-        summary.put("failure", failureCount);
-        summary.put("successRate", results.size() > 0 ? (double) successCount / results.size() : 0.0);
+        void add(boolean succeeded) {
+            if (succeeded) {
+                success.increment();
+            } else {
+                failure.increment();
+            }
+        }
         
-        return summary;
+        Map<String, Object> toMap() {
+            long succeeded = success.sum();
+            long failed = failure.sum();
+            long total = succeeded + failed;
+            
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("totalApis", totalApis);
+            summary.put("total", total);
+            summary.put("success", succeeded);
+            summary.put("failure", failed);
+            summary.put("successRate", total > 0 ? (double) succeeded / total : 0.0);
+            summary.put("elapsedMs", (System.nanoTime() - startNanos) / 1_000_000);
+            return summary;
+        }
     }
-}
\ No newline at end of file
+}
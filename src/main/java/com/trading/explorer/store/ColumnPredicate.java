@@ -0,0 +1,113 @@
+package com.trading.explorer.store;
+
+import com.trading.explorer.util.KrxNumbers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * "ACC_TRDVOL>1000000", "MKT_NM=KOSPI" 형태의 단순 비교 조건.
+ * 세그먼트마다 컬럼 타입에 맞는 행 판별식으로 한 번 컴파일해 원시 값 위에서 바로 비교한다.
+ */
+public final class ColumnPredicate {
+    
+    private static final Pattern EXPRESSION = Pattern.compile("^\\s*([A-Za-z0-9_]+)\\s*(>=|<=|!=|=|>|<)\\s*(.*?)\\s*$");
+    // KrxNumbers.NULL(Long.MIN_VALUE) 은 값이 없는 칸을 뜻하므로 리터럴로 쓸 수 있는 범위에서 뺀다
+    private static final BigDecimal MIN = BigDecimal.valueOf(Long.MIN_VALUE + 1);
+    private static final BigDecimal MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    
+    private final String column;
+    private final String operator;
+    private final String literal;
+    
+    private ColumnPredicate(String column, String operator, String literal) {
+        this.column = column;
+        this.operator = operator;
+        this.literal = literal;
+    }
+    
+    public static ColumnPredicate parse(String expression) {
+        Matcher matcher = EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported predicate: " + expression);
+        }
+        return new ColumnPredicate(matcher.group(1), matcher.group(2), matcher.group(3));
+    }
+    
+    public String getColumn() {
+        return column;
+    }
+    
+    /**
+     * @throws IllegalArgumentException 숫자 리터럴이 컬럼 스케일로 옮겼을 때 long 범위를 벗어나는 경우
+     */
+    public IntPredicate compile(ColumnarSegment segment) {
+        ColumnarSegment.Column target = segment.column(column);
+        if (target == null) {
+            return row -> false;
+        }
+        return target.getType() == ColumnarSegment.ColumnType.DECIMAL
+                ? compileDecimal(target)
+                : compileDictionary(target);
+    }
+    
+    private IntPredicate compileDecimal(ColumnarSegment.Column target) {
+        BigDecimal value;
+        try {
+            value = new BigDecimal(literal.replace(",", "")).movePointRight(target.getScale());
+        } catch (NumberFormatException e) {
+            return row -> false;
+        }
+        
+        // 리터럴을 컬럼 스케일의 정수 경계로 옮겨 행마다 long 비교만 하도록 한다
+        BigDecimal floorValue = value.setScale(0, RoundingMode.FLOOR);
+        BigDecimal ceilValue = value.setScale(0, RoundingMode.CEILING);
+        if (floorValue.compareTo(MIN) < 0 || ceilValue.compareTo(MAX) > 0) {
+            throw new IllegalArgumentException("Numeric literal out of range for " + column + ": " + literal);
+        }
+        boolean integral = value.stripTrailingZeros().scale() <= 0;
+        long floor = floorValue.longValue();
+        long ceil = ceilValue.longValue();
+        
+        IntPredicate notNull = row -> target.getLong(row) != KrxNumbers.NULL;
+        return switch (operator) {
+            case ">" -> row -> notNull.test(row) && target.getLong(row) > floor;
+            case ">=" -> row -> notNull.test(row) && target.getLong(row) >= ceil;
+            case "<" -> row -> notNull.test(row) && target.getLong(row) < ceil;
+            case "<=" -> row -> notNull.test(row) && target.getLong(row) <= floor;
+            case "=" -> integral ? row -> target.getLong(row) == floor : row -> false;
+            case "!=" -> integral ? row -> notNull.test(row) && target.getLong(row) != floor : notNull;
+            default -> throw new IllegalStateException("Unexpected operator: " + operator);
+        };
+    }
+    
+    private IntPredicate compileDictionary(ColumnarSegment.Column target) {
+        // 사전 항목마다 한 번만 비교하고, 행 단위로는 코드로 조회만 한다
+        String[] dictionary = target.getDictionary();
+        boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            int comparison = dictionary[code].compareTo(literal);
+            matches[code] = switch (operator) {
+                case ">" -> comparison > 0;
+                case ">=" -> comparison >= 0;
+                case "<" -> comparison < 0;
+                case "<=" -> comparison <= 0;
+                case "=" -> comparison == 0;
+                case "!=" -> comparison != 0;
+                default -> throw new IllegalStateException("Unexpected operator: " + operator);
+            };
+        }
+        return row -> {
+            int code = target.getCode(row);
+            return code != ColumnarSegment.NULL_CODE && matches[code];
+        };
+    }
+    
+    @Override
+    public String toString() {
+        return column + operator + literal;
+    }
+}
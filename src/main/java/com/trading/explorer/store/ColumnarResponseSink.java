@@ -0,0 +1,67 @@
+package com.trading.explorer.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.persistence.ResponseSink;
+import com.trading.explorer.util.JsonFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ColumnarResponseSink implements ResponseSink {
+    
+    private static final String RECORD_FIELD = "OutBlock_1";
+    
+    private final ColumnarStore columnarStore;
+    private final JsonFormatter jsonFormatter;
+    private final boolean enabled;
+    private final KrxApiProperties.Reference reference;
+    
+    public ColumnarResponseSink(ColumnarStore columnarStore, JsonFormatter jsonFormatter, KrxApiProperties properties) {
+        this.columnarStore = columnarStore;
+        this.jsonFormatter = jsonFormatter;
+        this.enabled = properties.getStore().isEnabled();
+        this.reference = properties.getReference();
+    }
+    
+    @Override
+    public boolean accepts(ApiResponse response) {
+        return enabled && !reference.isDeltaApi(response.getApiId())
+                && ColumnarStore.isStorable(response.getApiId(), response.getBizDate());
+    }
+    
+    /**
+     * 한 응답이 실패해도 나머지는 쓰고, 실패가 있었으면 끝에 던져 배치 전체를 실패로 돌린다
+     * (백필이 세그먼트 없는 영업일을 완료로 기록하지 않도록).
+     */
+    @Override
+    public void write(List<ApiResponse> batch) throws IOException {
+        IOException failure = null;
+        for (ApiResponse response : batch) {
+            JsonNode rows = jsonFormatter.parse(response).getRoot();
+            rows = rows != null ? rows.path(RECORD_FIELD) : null;
+            if (rows == null || !rows.isArray() || rows.isEmpty()) {
+                continue;
+            }
+            try {
+                columnarStore.write(response.getApiId(), response.getBizDate(), rows);
+            } catch (IOException e) {
+                log.error("Failed to write columnar segment for {} {}: {}",
+                        response.getApiId(), response.getBizDate(), e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
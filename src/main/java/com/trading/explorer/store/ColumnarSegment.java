@@ -0,0 +1,179 @@
+package com.trading.explorer.store;
+
+import com.trading.explorer.util.KrxNumbers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 메모리 매핑된 컬럼 세그먼트 하나 ((apiId, bizdate) 하나).
+ * 헤더만 먼저 읽고, 각 컬럼 데이터는 실제로 접근할 때에만 해당 페이지가 올라온다.
+ */
+public final class ColumnarSegment {
+    
+    public enum ColumnType {
+        DECIMAL,
+        DICTIONARY
+    }
+    
+    static final int MAGIC = 0x4B525843; // "KRXC"
+    static final int VERSION = 1;
+    static final int FIXED_HEADER_SIZE = 16;
+    static final int COLUMN_HEADER_SIZE = 2 + 1 + 1 + 8 * 4;
+    static final int NULL_CODE = -1;
+    
+    private final int rowCount;
+    private final Map<String, Column> columns;
+    
+    private ColumnarSegment(int rowCount, Map<String, Column> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+    
+    public static ColumnarSegment open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫은 뒤에도 유효하다
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a columnar segment: " + file);
+        }
+        int rowCount = buffer.getInt(8);
+        int columnCount = buffer.getInt(12);
+        
+        Map<String, Column> columns = new LinkedHashMap<>();
+        int position = FIXED_HEADER_SIZE;
+        for (int c = 0; c < columnCount; c++) {
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position));
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(position + 2, nameBytes);
+            position += 2 + nameLength;
+            
+            ColumnType type = ColumnType.values()[buffer.get(position)];
+            int scale = buffer.get(position + 1);
+            long dataOffset = buffer.getLong(position + 2);
+            long dataLength = buffer.getLong(position + 10);
+            long dictOffset = buffer.getLong(position + 18);
+            long dictLength = buffer.getLong(position + 26);
+            position += COLUMN_HEADER_SIZE - 2;
+            
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            ByteBuffer data = buffer.slice((int) dataOffset, (int) dataLength).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer dictionary = dictLength > 0
+                    ? buffer.slice((int) dictOffset, (int) dictLength).order(ByteOrder.LITTLE_ENDIAN)
+                    : null;
+            columns.put(name, new Column(name, type, scale, data, dictionary));
+        }
+        return new ColumnarSegment(rowCount, Collections.unmodifiableMap(columns));
+    }
+    
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    public Map<String, Column> getColumns() {
+        return columns;
+    }
+    
+    public Column column(String name) {
+        return columns.get(name);
+    }
+    
+    public static final class Column {
+        
+        private final String name;
+        private final ColumnType type;
+        private final int scale;
+        private final LongBuffer decimals;
+        private final IntBuffer codes;
+        private final ByteBuffer dictionaryBytes;
+        private volatile String[] dictionary;
+        
+        private Column(String name, ColumnType type, int scale, ByteBuffer data, ByteBuffer dictionaryBytes) {
+            this.name = name;
+            this.type = type;
+            this.scale = scale;
+            this.decimals = type == ColumnType.DECIMAL ? data.asLongBuffer() : null;
+            this.codes = type == ColumnType.DICTIONARY ? data.asIntBuffer() : null;
+            this.dictionaryBytes = dictionaryBytes;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public ColumnType getType() {
+            return type;
+        }
+        
+        public int getScale() {
+            return scale;
+        }
+        
+        public boolean isNull(int row) {
+            return type == ColumnType.DECIMAL ? decimals.get(row) == KrxNumbers.NULL : codes.get(row) == NULL_CODE;
+        }
+        
+        /** 고정소수점 값 (실제 값 x 10^scale). 값이 없으면 {@link KrxNumbers#NULL}. */
+        public long getLong(int row) {
+            return decimals.get(row);
+        }
+        
+        public int getCode(int row) {
+            return codes.get(row);
+        }
+        
+        public String[] getDictionary() {
+            String[] result = dictionary;
+            if (result == null && dictionaryBytes != null) {
+                int count = dictionaryBytes.getInt(0);
+                result = new String[count];
+                int position = Integer.BYTES;
+                for (int i = 0; i < count; i++) {
+                    int length = dictionaryBytes.getInt(position);
+                    byte[] bytes = new byte[length];
+                    dictionaryBytes.get(position + Integer.BYTES, bytes);
+                    result[i] = new String(bytes, StandardCharsets.UTF_8);
+                    position += Integer.BYTES + length;
+                }
+                dictionary = result;
+            }
+            return result != null ? result : new String[0];
+        }
+        
+        public String getString(int row) {
+            if (type == ColumnType.DECIMAL) {
+                Object value = getValue(row);
+                return value != null ? value.toString() : null;
+            }
+            int code = codes.get(row);
+            return code == NULL_CODE ? null : getDictionary()[code];
+        }
+        
+        public Object getValue(int row) {
+            if (type == ColumnType.DICTIONARY) {
+                return getString(row);
+            }
+            long value = decimals.get(row);
+            if (value == KrxNumbers.NULL) {
+                return null;
+            }
+            return scale == 0 ? (Object) value : BigDecimal.valueOf(value, scale);
+        }
+    }
+}
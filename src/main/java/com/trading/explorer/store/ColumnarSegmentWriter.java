@@ -0,0 +1,252 @@
+package com.trading.explorer.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trading.explorer.util.KrxNumbers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OutBlock_1 행들을 컬럼 단위 세그먼트 파일로 기록한다.
+ * 숫자 컬럼은 고정소수점 long, 그 외 컬럼은 사전(dictionary) 인코딩된 int 코드로 저장된다.
+ */
+final class ColumnarSegmentWriter {
+    
+    private static final int MAX_SCALE = 6;
+    
+    private ColumnarSegmentWriter() {
+    }
+    
+    static void write(Path file, JsonNode rows) throws IOException {
+        int rowCount = rows.size();
+        Set<String> names = new LinkedHashSet<>();
+        for (JsonNode row : rows) {
+            row.fieldNames().forEachRemaining(names::add);
+        }
+        
+        List<EncodedColumn> columns = new ArrayList<>(names.size());
+        for (String name : names) {
+            String[] values = new String[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                JsonNode value = rows.get(i).get(name);
+                values[i] = value == null || value.isNull() ? null : value.asText();
+            }
+            columns.add(encode(name, values));
+        }
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeSegment(channel, rowCount, columns);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private static EncodedColumn encode(String name, String[] values) {
+        int scale = numericScale(name, values);
+        if (scale >= 0) {
+            long[] data = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                data[i] = KrxNumbers.parseScaled(values[i], scale);
+            }
+            return EncodedColumn.decimal(name, scale, data);
+        }
+        
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] data = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            // KRX 는 값이 없는 칸을 "-" 로 보내므로 숫자 컬럼과 똑같이 null 로 둔다
+            if (KrxNumbers.isBlank(values[i])) {
+                data[i] = ColumnarSegment.NULL_CODE;
+                continue;
+            }
+            data[i] = codes.computeIfAbsent(values[i], value -> {
+                dictionary.add(value);
+                return dictionary.size() - 1;
+            });
+        }
+        return EncodedColumn.dictionary(name, dictionary, data);
+    }
+    
+    private static int numericScale(String name, String[] values) {
+        // 종목코드 등 *_CD 컬럼은 숫자처럼 보여도 문자열로 둔다
+        if (name.endsWith("_CD")) {
+            return -1;
+        }
+        
+        int scale = 0;
+        int integerDigits = 0;
+        boolean any = false;
+        for (String value : values) {
+            if (KrxNumbers.isBlank(value)) {
+                continue;
+            }
+            int fraction = KrxNumbers.fractionDigits(value);
+            if (fraction < 0 || fraction > MAX_SCALE) {
+                return -1;
+            }
+            any = true;
+            scale = Math.max(scale, fraction);
+            integerDigits = Math.max(integerDigits, integerDigits(value));
+        }
+        return any && integerDigits + scale <= 18 ? scale : -1;
+    }
+    
+    private static int integerDigits(String value) {
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                break;
+            }
+            if (c >= '0' && c <= '9') {
+                digits++;
+            }
+        }
+        return digits;
+    }
+    
+    private static void writeSegment(FileChannel channel, int rowCount, List<EncodedColumn> columns) throws IOException {
+        // 헤더 크기를 먼저 계산해 각 컬럼 데이터의 오프셋을 정한다
+        List<byte[]> nameBytes = new ArrayList<>(columns.size());
+        long headerSize = ColumnarSegment.FIXED_HEADER_SIZE;
+        for (EncodedColumn column : columns) {
+            byte[] bytes = column.name.getBytes(StandardCharsets.UTF_8);
+            nameBytes.add(bytes);
+            headerSize += ColumnarSegment.COLUMN_HEADER_SIZE + bytes.length;
+        }
+        
+        long offset = align(headerSize);
+        long[] dataOffsets = new long[columns.size()];
+        long[] dictOffsets = new long[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            EncodedColumn column = columns.get(c);
+            dataOffsets[c] = offset;
+            offset = align(offset + column.dataLength());
+            dictOffsets[c] = offset;
+            offset = align(offset + column.dictionaryLength());
+        }
+        
+        ByteBuffer header = ByteBuffer.allocate((int) align(headerSize)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(ColumnarSegment.MAGIC)
+              .putInt(ColumnarSegment.VERSION)
+              .putInt(rowCount)
+              .putInt(columns.size());
+        for (int c = 0; c < columns.size(); c++) {
+            EncodedColumn column = columns.get(c);
+            header.putShort((short) nameBytes.get(c).length)
+                  .put(nameBytes.get(c))
+                  .put((byte) column.type.ordinal())
+                  .put((byte) column.scale)
+                  .putLong(dataOffsets[c])
+                  .putLong(column.dataLength())
+                  .putLong(dictOffsets[c])
+                  .putLong(column.dictionaryLength());
+        }
+        header.position(header.capacity());
+        header.flip();
+        writeFully(channel, header, 0);
+        
+        for (int c = 0; c < columns.size(); c++) {
+            EncodedColumn column = columns.get(c);
+            writeFully(channel, column.dataBuffer(), dataOffsets[c]);
+            if (column.dictionaryLength() > 0) {
+                writeFully(channel, column.dictionaryBuffer(), dictOffsets[c]);
+            }
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+    
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+    
+    private static final class EncodedColumn {
+        
+        private final String name;
+        private final ColumnarSegment.ColumnType type;
+        private final int scale;
+        private final long[] decimals;
+        private final int[] codes;
+        private final List<byte[]> dictionary;
+        
+        private EncodedColumn(String name, ColumnarSegment.ColumnType type, int scale,
+                              long[] decimals, int[] codes, List<byte[]> dictionary) {
+            this.name = name;
+            this.type = type;
+            this.scale = scale;
+            this.decimals = decimals;
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+        
+        static EncodedColumn decimal(String name, int scale, long[] data) {
+            return new EncodedColumn(name, ColumnarSegment.ColumnType.DECIMAL, scale, data, null, List.of());
+        }
+        
+        static EncodedColumn dictionary(String name, List<String> dictionary, int[] codes) {
+            List<byte[]> entries = new ArrayList<>(dictionary.size());
+            for (String value : dictionary) {
+                entries.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return new EncodedColumn(name, ColumnarSegment.ColumnType.DICTIONARY, 0, null, codes, entries);
+        }
+        
+        long dataLength() {
+            return decimals != null ? (long) decimals.length * Long.BYTES : (long) codes.length * Integer.BYTES;
+        }
+        
+        long dictionaryLength() {
+            if (type != ColumnarSegment.ColumnType.DICTIONARY) {
+                return 0;
+            }
+            long length = Integer.BYTES;
+            for (byte[] entry : dictionary) {
+                length += Integer.BYTES + entry.length;
+            }
+            return length;
+        }
+        
+        ByteBuffer dataBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocate((int) dataLength()).order(ByteOrder.LITTLE_ENDIAN);
+            if (decimals != null) {
+                buffer.asLongBuffer().put(decimals);
+            } else {
+                buffer.asIntBuffer().put(codes);
+            }
+            return buffer;
+        }
+        
+        ByteBuffer dictionaryBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocate((int) dictionaryLength()).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(dictionary.size());
+            for (byte[] entry : dictionary) {
+                buffer.putInt(entry.length).put(entry);
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.trading.explorer.store;
+
+public record ColumnarSegmentWrittenEvent(String apiId, String bizDate) {
+}
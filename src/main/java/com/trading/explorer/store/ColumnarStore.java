@@ -0,0 +1,176 @@
+package com.trading.explorer.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * (apiId, bizdate) 별 컬럼 세그먼트 저장소. 파일 위치: {directory}/{apiId}/{bizdate}.col
+ */
+@Slf4j
+@Component
+public class ColumnarStore {
+    
+    static final String SEGMENT_SUFFIX = ".col";
+    private static final Pattern API_ID = Pattern.compile("[a-z_]+");
+    private static final Pattern BIZ_DATE = Pattern.compile("\\d{8}");
+    
+    private final Path baseDir;
+    private final Cache<Path, ColumnarSegment> openSegments;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public ColumnarStore(KrxApiProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        this.baseDir = Paths.get(properties.getStore().getDirectory());
+        this.openSegments = Caffeine.newBuilder()
+                .maximumSize(properties.getStore().getMaxOpenSegments())
+                .build();
+    }
+    
+    public void write(String apiId, String bizDate, JsonNode rows) throws IOException {
+        Path file = segmentPath(apiId, bizDate);
+        ColumnarSegmentWriter.write(file, rows);
+        openSegments.invalidate(file);
+        log.debug("Columnar segment written: {} ({} rows)", file, rows.size());
+        eventPublisher.publishEvent(new ColumnarSegmentWrittenEvent(apiId, bizDate));
+    }
+    
+    public boolean contains(String apiId, String bizDate) {
+        return Files.exists(segmentPath(apiId, bizDate));
+    }
+    
+    public Optional<ColumnarSegment> open(String apiId, String bizDate) {
+        Path file = segmentPath(apiId, bizDate);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(openSegments.get(file, path -> {
+            try {
+                return ColumnarSegment.open(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+    
+    public List<String> listDates(String apiId) {
+        Path dir = apiDir(apiId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - SEGMENT_SUFFIX.length()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public List<String> listDates(String apiId, String from, String to) {
+        return listDates(apiId).stream()
+                .filter(date -> (from == null || date.compareTo(from) >= 0) && (to == null || date.compareTo(to) <= 0))
+                .toList();
+    }
+    
+    public List<Map<String, Object>> query(String apiId, String from, String to, List<String> columns,
+                                           List<ColumnPredicate> predicates, int limit) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String bizDate : listDates(apiId, from, to)) {
+            ColumnarSegment segment = open(apiId, bizDate).orElse(null);
+            if (segment == null) {
+                continue;
+            }
+            
+            // 조건 컬럼만 먼저 훑어 통과한 행 번호를 모은 뒤, 그 행의 투영 컬럼만 읽는다
+            IntPredicate filter = row -> true;
+            for (ColumnPredicate predicate : predicates) {
+                filter = filter.and(predicate.compile(segment));
+            }
+            
+            List<ColumnarSegment.Column> projection = new ArrayList<>();
+            for (String name : columns == null || columns.isEmpty() ? segment.getColumns().keySet() : columns) {
+                ColumnarSegment.Column column = segment.column(name);
+                if (column != null) {
+                    projection.add(column);
+                }
+            }
+            
+            for (int row = 0; row < segment.getRowCount(); row++) {
+                if (!filter.test(row)) {
+                    continue;
+                }
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("bizDate", bizDate);
+                for (ColumnarSegment.Column column : projection) {
+                    values.put(column.getName(), column.getValue(row));
+                }
+                rows.add(values);
+                if (rows.size() >= limit) {
+                    return rows;
+                }
+            }
+        }
+        return rows;
+    }
+    
+    public Map<String, Object> describe(String apiId, String bizDate) {
+        return open(apiId, bizDate).map(segment -> {
+            Map<String, Object> columns = new LinkedHashMap<>();
+            segment.getColumns().forEach((name, column) -> columns.put(name, Map.of(
+                "type", column.getType(),
+                "scale", column.getScale(),
+                "dictionarySize", column.getType() == ColumnarSegment.ColumnType.DICTIONARY
+                        ? column.getDictionary().length : 0
+            )));
+            
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("apiId", apiId);
+            result.put("bizDate", bizDate);
+            result.put("rowCount", segment.getRowCount());
+            result.put("columns", columns);
+            return result;
+        }).orElse(null);
+    }
+    
+    /** 세그먼트 경로에 그대로 쓸 수 있는 apiId 와 yyyyMMdd 영업일인지 */
+    public static boolean isStorable(String apiId, String bizDate) {
+        return apiId != null && API_ID.matcher(apiId).matches()
+                && bizDate != null && BIZ_DATE.matcher(bizDate).matches();
+    }
+    
+    // 요청 파라미터가 그대로 들어오므로 경로를 만들기 전에 형식을 확인한다
+    private Path apiDir(String apiId) {
+        if (apiId == null || !API_ID.matcher(apiId).matches()) {
+            throw new IllegalArgumentException("Invalid apiId: " + apiId);
+        }
+        return baseDir.resolve(apiId);
+    }
+    
+    private Path segmentPath(String apiId, String bizDate) {
+        if (bizDate == null || !BIZ_DATE.matcher(bizDate).matches()) {
+            throw new IllegalArgumentException("bizDate must be yyyyMMdd: " + bizDate);
+        }
+        return apiDir(apiId).resolve(bizDate + SEGMENT_SUFFIX);
+    }
+}
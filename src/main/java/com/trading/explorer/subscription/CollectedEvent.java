@@ -0,0 +1,138 @@
+package com.trading.explorer.subscription;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 새로 수집된 (apiId, bizDate) 응답 알림.
+ * 전송 형식(SSE/JSON) x 내용(요약/전체) 조합마다 처음 요청될 때 한 번만 직렬화하고, 모든 구독자가 같은 byte[] 를 감싸 보낸다.
+ */
+public final class CollectedEvent {
+    
+    public enum Format {
+        /** {@code id/event/data} 필드를 갖춘 SSE 이벤트 한 건 */
+        SSE,
+        /** WebSocket 텍스트 프레임에 그대로 싣는 JSON */
+        JSON
+    }
+    
+    public enum Payload {
+        /** 메타데이터와 조회 경로만 */
+        SUMMARY,
+        /** KRX 응답 원문을 data 로 포함 */
+        FULL
+    }
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private final long sequence;
+    private final String apiId;
+    private final String bizDate;
+    private final String category;
+    private final Integer rows;
+    private final String fetchedAt;
+    private final long publishedAt;
+    private final String rawResponse;
+    private final LongAdder serializations;
+    private final AtomicReferenceArray<byte[]> frames =
+            new AtomicReferenceArray<>(Format.values().length * Payload.values().length);
+    
+    CollectedEvent(long sequence, String apiId, String bizDate, String category, Integer rows,
+                   String fetchedAt, long publishedAt, String rawResponse, LongAdder serializations) {
+        this.sequence = sequence;
+        this.apiId = apiId;
+        this.bizDate = bizDate;
+        this.category = category;
+        this.rows = rows;
+        this.fetchedAt = fetchedAt;
+        this.publishedAt = publishedAt;
+        this.rawResponse = rawResponse;
+        this.serializations = serializations;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public String getApiId() {
+        return apiId;
+    }
+    
+    public String getBizDate() {
+        return bizDate;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public byte[] frame(Format format, Payload payload) {
+        int slot = format.ordinal() * Payload.values().length + payload.ordinal();
+        byte[] frame = frames.get(slot);
+        if (frame == null) {
+            synchronized (this) {
+                frame = frames.get(slot);
+                if (frame == null) {
+                    frame = serialize(format, payload);
+                    frames.set(slot, frame);
+                    serializations.increment();
+                }
+            }
+        }
+        return frame;
+    }
+    
+    private byte[] serialize(Format format, Payload payload) {
+        ByteArrayBuilder out = new ByteArrayBuilder(payload == Payload.FULL ? rawResponse.length() + 512 : 512);
+        if (format == Format.SSE) {
+            out.write(("id: " + sequence + "\nevent: collected\ndata: ").getBytes(StandardCharsets.UTF_8));
+        }
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("type", "collected");
+            json.writeNumberField("sequence", sequence);
+            json.writeStringField("apiId", apiId);
+            json.writeStringField("bizDate", bizDate);
+            json.writeStringField("category", category);
+            if (rows != null) {
+                json.writeNumberField("rows", rows);
+            }
+            json.writeNumberField("responseSize", rawResponse.length());
+            json.writeStringField("fetchedAt", fetchedAt);
+            json.writeNumberField("publishedAt", publishedAt);
+            json.writeStringField("href", "/api/explore/single/" + apiId + "?bizDate=" + bizDate);
+            if (payload == Payload.FULL) {
+                json.writeFieldName("data");
+                writeData(json, format);
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (format == Format.SSE) {
+            out.write('\n');
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+    
+    private void writeData(JsonGenerator json, Format format) throws IOException {
+        String data = rawResponse.strip();
+        if (!data.startsWith("{") && !data.startsWith("[")) {
+            json.writeString(rawResponse);
+            return;
+        }
+        // 원문의 줄바꿈은 토큰 사이 공백뿐이다 (문자열 안의 줄바꿈은 이스케이프됨). SSE 의 data 는 한 줄이어야 한다
+        if (format == Format.SSE && (data.indexOf('\n') >= 0 || data.indexOf('\r') >= 0)) {
+            data = data.replace('\r', ' ').replace('\n', ' ');
+        }
+        json.writeRawValue(data);
+    }
+}
@@ -0,0 +1,32 @@
+package com.trading.explorer.subscription;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 구독 대상. apiId 나 카테고리 중 하나라도 맞으면 받고, 둘 다 비어 있으면 모든 이벤트를 받는다.
+ */
+public record SubscriptionFilter(Set<String> apiIds, Set<String> categories) {
+    
+    /** 쉼표로 구분한 목록 (null 이면 비어 있음) */
+    public static SubscriptionFilter parse(String apis, String categories) {
+        return new SubscriptionFilter(split(apis), split(categories));
+    }
+    
+    public boolean matches(CollectedEvent event) {
+        return apiIds.isEmpty() && categories.isEmpty()
+                || apiIds.contains(event.getApiId())
+                || categories.contains(event.getCategory());
+    }
+    
+    private static Set<String> split(String values) {
+        if (values == null) {
+            return Set.of();
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,184 @@
+package com.trading.explorer.subscription;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 새로 수집된 데이터를 SSE/WebSocket 구독자에게 알린다.
+ * <ul>
+ *   <li>응답 저장 파이프라인({@link SubscriptionResponseSink}) 에서 받은 응답 중 (apiId, bizDate) 별로 내용이 바뀐 것만 이벤트로 낸다</li>
+ *   <li>이벤트는 구독자 수와 무관하게 형식/내용 조합마다 한 번만 직렬화되고({@link CollectedEvent#frame}), 구독자에게는 같은 byte[] 를 감싼 버퍼가 간다</li>
+ *   <li>구독자마다 buffer-size 만큼 쌓아 두고, 넘치면 overflow 정책에 따라 새 이벤트나 가장 오래된 이벤트를 버린다.
+ *       느린 구독자는 자기 이벤트만 잃고 다른 구독자나 수집에는 영향이 없다</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class SubscriptionHub {
+    
+    private static final byte[] SSE_OPEN = ": subscribed\nretry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final String DATA_BLOCK = "OutBlock_1";
+    
+    private final KrxApiProperties.Subscription config;
+    private final Map<String, String> categories = new HashMap<>();
+    private final Sinks.Many<CollectedEvent> events = Sinks.many().multicast().directBestEffort();
+    private final Cache<String, Long> lastContent;
+    
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LongAdder serializations = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    public SubscriptionHub(KrxApiProperties properties) {
+        this.config = properties.getSubscription();
+        if (properties.getApis() != null) {
+            properties.getApis().forEach((category, apis) ->
+                    apis.forEach(api -> categories.put(api.getId(), category)));
+        }
+        this.lastContent = Caffeine.newBuilder()
+                .maximumSize(config.getDedupeEntries())
+                .build();
+    }
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    /**
+     * 응답 저장 워커 스레드 하나에서만 호출된다. 같은 (apiId, bizDate) 를 같은 내용으로 다시 받았거나
+     * 빈 응답(휴장일)이면 알리지 않는다.
+     */
+    public void publish(ApiResponse response) {
+        String bizDate = response.getBizDate();
+        String raw = response.getRawResponse();
+        if (bizDate == null || raw == null) {
+            return;
+        }
+        Integer rows = rows(response);
+        if (rows != null && rows == 0) {
+            return;
+        }
+        
+        // String.hashCode 는 인스턴스에 캐시되므로 캐시 적중으로 다시 들어온 응답은 비교 비용이 거의 없다
+        long content = (long) raw.length() << 32 | raw.hashCode() & 0xffffffffL;
+        Long previous = lastContent.asMap().put(response.getApiId() + ":" + bizDate, content);
+        if (previous != null && previous == content) {
+            unchanged.incrementAndGet();
+            return;
+        }
+        
+        CollectedEvent event = new CollectedEvent(sequence.incrementAndGet(), response.getApiId(), bizDate,
+                categories.get(response.getApiId()), rows,
+                response.getTimestamp() != null ? response.getTimestamp().toString() : null,
+                System.currentTimeMillis(), raw, serializations);
+        published.incrementAndGet();
+        Sinks.EmitResult result = events.tryEmitNext(event);
+        log.debug("Published collected event #{} {} {} to {} subscribers: {}",
+                event.getSequence(), event.getApiId(), bizDate, subscribers.get(), result);
+    }
+    
+    /**
+     * 구독 자리를 잡고 session 을 실행한다. 자리는 반환된 Mono 를 구독할 때 잡고, 그 Mono 가 끝나거나 취소되면 돌려준다.
+     * session 안의 이벤트 Flux 가 한 번도 구독되지 않고 끝나도 자리가 남지 않는다. 자리가 없으면 rejected 를 실행한다.
+     */
+    public Mono<Void> withReservation(Supplier<Mono<Void>> session, Supplier<Mono<Void>> rejected) {
+        return Mono.defer(() -> {
+            if (!tryReserve()) {
+                return rejected.get();
+            }
+            return Mono.defer(session).doFinally(signal -> release());
+        });
+    }
+    
+    /** 구독 수가 max-subscribers 에 닿았으면 false */
+    boolean tryReserve() {
+        int current;
+        do {
+            current = subscribers.get();
+            if (current >= config.getMaxSubscribers()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+        } while (!subscribers.compareAndSet(current, current + 1));
+        return true;
+    }
+    
+    void release() {
+        subscribers.decrementAndGet();
+    }
+    
+    /** {@link #withReservation} 의 session 안에서 구독한다 */
+    public Flux<CollectedEvent> subscribe(SubscriptionFilter filter, KrxApiProperties.SubscriberOverflow overflow) {
+        return events.asFlux()
+                .filter(filter::matches)
+                .onBackpressureBuffer(config.getBufferSize(), event -> dropped.increment(),
+                        overflow == KrxApiProperties.SubscriberOverflow.DROP
+                                ? BufferOverflowStrategy.DROP_LATEST
+                                : BufferOverflowStrategy.DROP_OLDEST)
+                .doOnNext(event -> delivered.increment());
+    }
+    
+    /**
+     * SSE 스트림. 모든 버퍼는 이벤트의 공유 byte[] 를 복사 없이 감싼다.
+     * 하트비트와 합칠 때 prefetch 를 1 로 두어 구독자 버퍼 밖에서 이벤트가 더 쌓이지 않게 한다.
+     */
+    public Flux<DataBuffer> sse(SubscriptionFilter filter, KrxApiProperties.SubscriberOverflow overflow,
+                                CollectedEvent.Payload payload, DataBufferFactory bufferFactory) {
+        Flux<DataBuffer> frames = subscribe(filter, overflow)
+                .map(event -> bufferFactory.wrap(event.frame(CollectedEvent.Format.SSE, payload)));
+        Flux<DataBuffer> heartbeats = Flux.interval(config.getHeartbeat())
+                .onBackpressureDrop()
+                .map(tick -> bufferFactory.wrap(SSE_HEARTBEAT));
+        return Flux.merge(1, frames, heartbeats)
+                .startWith(bufferFactory.wrap(SSE_OPEN));
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("subscribers", subscribers.get());
+        stats.put("maxSubscribers", config.getMaxSubscribers());
+        stats.put("rejected", rejected.get());
+        stats.put("published", published.get());
+        stats.put("unchanged", unchanged.get());
+        stats.put("serializations", serializations.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("bufferSize", config.getBufferSize());
+        stats.put("overflow", config.getOverflow());
+        stats.put("lastSequence", sequence.get());
+        return stats;
+    }
+    
+    private static Integer rows(ApiResponse response) {
+        if (response.getParsed() == null || !response.getParsed().isValid()) {
+            return null;
+        }
+        JsonNode block = response.getParsed().getRoot().path(DATA_BLOCK);
+        return block.isArray() ? block.size() : null;
+    }
+}
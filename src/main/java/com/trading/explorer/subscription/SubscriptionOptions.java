@@ -0,0 +1,28 @@
+package com.trading.explorer.subscription;
+
+import com.trading.explorer.config.KrxApiProperties;
+
+import java.util.Locale;
+
+/** 구독 요청 파라미터 해석. 알 수 없는 값은 IllegalArgumentException. */
+public final class SubscriptionOptions {
+    
+    private SubscriptionOptions() {
+    }
+    
+    public static CollectedEvent.Payload payload(String value) {
+        return value == null ? CollectedEvent.Payload.SUMMARY : parse(CollectedEvent.Payload.class, value, "payload");
+    }
+    
+    public static KrxApiProperties.SubscriberOverflow overflow(String value, KrxApiProperties.Subscription config) {
+        return value == null ? config.getOverflow() : parse(KrxApiProperties.SubscriberOverflow.class, value, "overflow");
+    }
+    
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + name + ": " + value);
+        }
+    }
+}
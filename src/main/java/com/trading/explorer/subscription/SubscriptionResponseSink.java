@@ -0,0 +1,28 @@
+package com.trading.explorer.subscription;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.persistence.ResponseSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 조회/prefetch/백필 어느 경로로 받았든 저장 파이프라인을 지나는 응답을 구독자에게 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriptionResponseSink implements ResponseSink {
+    
+    private final SubscriptionHub hub;
+    
+    @Override
+    public boolean accepts(ApiResponse response) {
+        return hub.isEnabled();
+    }
+    
+    @Override
+    public void write(List<ApiResponse> batch) {
+        batch.forEach(hub::publish);
+    }
+}
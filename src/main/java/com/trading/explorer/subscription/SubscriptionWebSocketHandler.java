@@ -0,0 +1,65 @@
+package com.trading.explorer.subscription;
+
+import com.trading.explorer.config.KrxApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code krx.subscription.websocket-path?apis=..&categories=..&payload=summary|full&overflow=drop|latest}.
+ * 이벤트마다 JSON 텍스트 프레임 하나를 보내며, 클라이언트가 보내는 메시지는 무시한다.
+ */
+@Slf4j
+@Component
+public class SubscriptionWebSocketHandler implements WebSocketHandler {
+    
+    private final SubscriptionHub hub;
+    private final KrxApiProperties.Subscription config;
+    
+    public SubscriptionWebSocketHandler(SubscriptionHub hub, KrxApiProperties properties) {
+        this.hub = hub;
+        this.config = properties.getSubscription();
+    }
+    
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams();
+        SubscriptionFilter filter = SubscriptionFilter.parse(params.getFirst("apis"), params.getFirst("categories"));
+        CollectedEvent.Payload payload;
+        KrxApiProperties.SubscriberOverflow overflow;
+        try {
+            payload = SubscriptionOptions.payload(params.getFirst("payload"));
+            overflow = SubscriptionOptions.overflow(params.getFirst("overflow"), config);
+        } catch (IllegalArgumentException e) {
+            return session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        }
+        if (!hub.isEnabled()) {
+            return session.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+        
+        return hub.withReservation(() -> {
+            log.info("WebSocket subscription opened: {} {} payload={} overflow={}",
+                    session.getId(), filter, payload, overflow);
+            
+            Flux<WebSocketMessage> events = hub.subscribe(filter, overflow)
+                    .map(event -> new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                            session.bufferFactory().wrap(event.frame(CollectedEvent.Format.JSON, payload))));
+            Flux<WebSocketMessage> pings = Flux.interval(config.getHeartbeat())
+                    .onBackpressureDrop()
+                    .map(tick -> session.pingMessage(factory -> factory.allocateBuffer(0)));
+            
+            // 클라이언트가 닫으면 수신 쪽이 끝나므로 그때 송신도 멈춘다
+            return session.send(Flux.merge(1, events, pings).takeUntilOther(session.receive().then()))
+                    .doFinally(signal -> log.info("WebSocket subscription closed: {} ({})", session.getId(), signal));
+        }, () -> session.close(CloseStatus.SERVICE_OVERLOAD));
+    }
+}
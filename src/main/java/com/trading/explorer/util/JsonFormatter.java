@@ -4,15 +4,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.trading.explorer.client.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Slf4j
@@ -20,62 +15,89 @@ import java.util.*;
 public class JsonFormatter {
     
     private final ObjectMapper objectMapper;
-    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     
     public JsonFormatter() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
     }
     
-    public String prettyPrint(String jsonString) {
+    public ParsedResponse parse(ApiResponse response) {
+        ParsedResponse parsed = response.getParsed();
+        if (parsed == null) {
+            parsed = parse(response.getRawResponse());
+            response.setParsed(parsed);
+        }
+        return parsed;
+    }
+    
+    public ParsedResponse parse(String jsonString) {
         try {
-            Object jsonObject = objectMapper.readValue(jsonString, Object.class);
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonObject);
+            return new ParsedResponse(objectMapper.readTree(jsonString), null);
         } catch (JsonProcessingException e) {
-            log.warn("Failed to pretty print JSON, returning original: {}", e.getMessage());
-            return jsonString;
+            return new ParsedResponse(null, e.getMessage());
         }
     }
     
-    public void saveToFile(String apiId, String response) {
+    public String prettyPrint(String jsonString) {
+        return prettyPrint(parse(jsonString), jsonString);
+    }
+    
+    public String prettyPrint(ApiResponse response) {
+        return prettyPrint(parse(response), response.getRawResponse());
+    }
+    
+    private String prettyPrint(ParsedResponse parsed, String original) {
+        String prettyJson = parsed.getPrettyJson();
+        if (prettyJson != null) {
+            return prettyJson;
+        }
+        
+        if (!parsed.isValid()) {
+            log.warn("Failed to pretty print JSON, returning original: {}", parsed.getParseError());
+            return original;
+        }
+        
         try {
-            // logs/responses 디렉터리 생성
-            Path responseDir = Paths.get("logs", "responses");
-            Files.createDirectories(responseDir);
-            
-            // 파일명 생성: {apiId}_{timestamp}.json
-            String timestamp = LocalDateTime.now().format(FILE_DATE_FORMAT);
-            String filename = String.format("%s_%s.json", apiId, timestamp);
-            Path filePath = responseDir.resolve(filename);
-            
-            // Pretty formatted JSON으로 저장
-            String prettyJson = prettyPrint(response);
-            Files.write(filePath, prettyJson.getBytes());
-            
-            log.debug("API response saved to file: {}", filePath);
-        } catch (IOException e) {
-            log.error("Failed to save API response to file for {}: {}", apiId, e.getMessage());
+            prettyJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(parsed.getRoot());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to pretty print JSON, returning original: {}", e.getMessage());
+            return original;
         }
+        parsed.setPrettyJson(prettyJson);
+        return prettyJson;
     }
     
     public Map<String, Object> analyzeStructure(String jsonString) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(jsonString);
-            
-            Map<String, Object> analysis = new HashMap<>();
-            analysis.put("type", getNodeType(rootNode));
-            analysis.put("fields", analyzeFields(rootNode));
-            analysis.put("sampleSize", getSampleSize(rootNode));
-            analysis.put("depth", calculateDepth(rootNode));
-            
+        return analyzeStructure(parse(jsonString));
+    }
+    
+    public Map<String, Object> analyzeStructure(ApiResponse response) {
+        return analyzeStructure(parse(response));
+    }
+    
+    private Map<String, Object> analyzeStructure(ParsedResponse parsed) {
+        Map<String, Object> analysis = parsed.getStructure();
+        if (analysis != null) {
             return analysis;
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to analyze JSON structure: {}", e.getMessage());
-            return Map.of("error", "Invalid JSON format: " + e.getMessage());
         }
+        
+        if (parsed.getRoot() == null) {
+            log.warn("Failed to analyze JSON structure: {}", parsed.getParseError());
+            return Map.of("error", "Invalid JSON format: " + parsed.getParseError());
+        }
+        
+        JsonNode rootNode = parsed.getRoot();
+        analysis = new HashMap<>();
+        analysis.put("type", getNodeType(rootNode));
+        analysis.put("fields", analyzeFields(rootNode));
+        analysis.put("sampleSize", getSampleSize(rootNode));
+        analysis.put("depth", calculateDepth(rootNode));
+        
+        parsed.setStructure(analysis);
+        return analysis;
     }
     
-    private String getNodeType(JsonNode node) {
+    private static String getNodeType(JsonNode node) {
         if (node.isObject()) return "object";
         if (node.isArray()) return "array";
         if (node.isTextual()) return "string";
@@ -86,48 +108,61 @@ public class JsonFormatter {
     }
     
     private Map<String, Object> analyzeFields(JsonNode node) {
-        Map<String, Object> fields = new HashMap<>();
-        
+        PathStats root = new PathStats();
+        root.add(node);
         if (node.isObject()) {
-            Iterator<Map.Entry<String, JsonNode>> fieldIterator = node.fields();
-            while (fieldIterator.hasNext()) {
-                Map.Entry<String, JsonNode> field = fieldIterator.next();
-                String fieldName = field.getKey();
-                JsonNode fieldValue = field.getValue();
-                
-                Map<String, Object> fieldInfo = new HashMap<>();
-                fieldInfo.put("type", getNodeType(fieldValue));
-                
-                if (fieldValue.isTextual()) {
-                    String textValue = fieldValue.asText();
-                    fieldInfo.put("sampleValue", textValue.length() > 50 ? 
-                        textValue.substring(0, 50) + "..." : textValue);
-                    fieldInfo.put("length", textValue.length());
-                } else if (fieldValue.isNumber()) {
-                    fieldInfo.put("sampleValue", fieldValue.asText());
-                } else if (fieldValue.isArray()) {
-                    fieldInfo.put("arraySize", fieldValue.size());
-                    if (fieldValue.size() > 0) {
-                        fieldInfo.put("elementType", getNodeType(fieldValue.get(0)));
-                        if (fieldValue.get(0).isObject()) {
-                            fieldInfo.put("elementFields", analyzeFields(fieldValue.get(0)));
-                        }
+            return analyzeObjects(root);
+        }
+        Map<String, Object> fields = new HashMap<>();
+        if (node.isArray()) {
+            PathStats elements = root.elements;
+            Map<String, Object> arrayInfo = new HashMap<>();
+            arrayInfo.put("size", node.size());
+            arrayInfo.put("elementType", elements != null ? elements.type() : "empty");
+            // 키 이름은 기존 응답과 맞춘다. 내용은 첫 원소가 아니라 모든 원소를 합친 것
+            arrayInfo.put("firstElementFields", elements != null && elements.objects > 0 ? analyzeObjects(elements) : "N/A");
+            fields.put("arrayInfo", arrayInfo);
+        }
+        return fields;
+    }
+    
+    /**
+     * 여러 객체(배열의 모든 행)의 필드를 합쳐 설명한다. 일부 행에만 있는 필드는 optional,
+     * 행마다 타입이 다른 필드는 "string|null" 처럼 합친 타입으로 표시한다.
+     */
+    private Map<String, Object> analyzeObjects(PathStats objects) {
+        Map<String, Object> fields = new HashMap<>();
+        objects.fields.forEach((fieldName, field) -> {
+            Map<String, Object> fieldInfo = new HashMap<>();
+            fieldInfo.put("type", field.type());
+            fieldInfo.put("presentCount", field.count);
+            fieldInfo.put("optional", field.count < objects.objects);
+            
+            JsonNode sample = field.sample;
+            if (sample != null && sample.isTextual()) {
+                String textValue = sample.asText();
+                fieldInfo.put("sampleValue", textValue.length() > 50 ?
+                    textValue.substring(0, 50) + "..." : textValue);
+                fieldInfo.put("length", field.maxLength);
+            } else if (sample != null && sample.isNumber()) {
+                fieldInfo.put("sampleValue", sample.asText());
+            }
+            
+            if (field.arrays > 0) {
+                fieldInfo.put("arraySize", field.maxArraySize);
+                if (field.elements != null) {
+                    fieldInfo.put("elementType", field.elements.type());
+                    if (field.elements.objects > 0) {
+                        fieldInfo.put("elementFields", analyzeObjects(field.elements));
                     }
-                } else if (fieldValue.isObject()) {
-                    fieldInfo.put("nestedFields", analyzeFields(fieldValue));
                 }
-                
-                fields.put(fieldName, fieldInfo);
             }
-        } else if (node.isArray()) {
-            fields.put("arrayInfo", Map.of(
-                "size", node.size(),
-                "elementType", node.size() > 0 ? getNodeType(node.get(0)) : "empty",
-                "firstElementFields", node.size() > 0 && node.get(0).isObject() ? 
-                    analyzeFields(node.get(0)) : "N/A"
-            ));
-        }
-        
+            if (field.objects > 0) {
+                fieldInfo.put("nestedFields", analyzeObjects(field));
+            }
+            
+            fields.put(fieldName, fieldInfo);
+        });
         return fields;
     }
     
@@ -157,4 +192,52 @@ public class JsonFormatter {
         }
         return 1;
     }
+    
+    /**
+     * 같은 경로의 값들(예: 모든 행의 같은 필드)을 트리를 한 번 훑으며 모은 것.
+     * 배열 원소는 원소 위치와 관계없이 하나의 elements 로 합친다.
+     */
+    private static final class PathStats {
+        
+        private final Set<String> types = new TreeSet<>();
+        private final Map<String, PathStats> fields = new LinkedHashMap<>();
+        private PathStats elements;
+        private JsonNode sample;
+        private int count;
+        private int objects;
+        private int arrays;
+        private int maxArraySize;
+        private int maxLength;
+        
+        void add(JsonNode node) {
+            count++;
+            types.add(getNodeType(node));
+            if (sample == null && !node.isNull()) {
+                sample = node;
+            }
+            if (node.isTextual()) {
+                maxLength = Math.max(maxLength, node.asText().length());
+            } else if (node.isObject()) {
+                objects++;
+                Iterator<Map.Entry<String, JsonNode>> fieldIterator = node.fields();
+                while (fieldIterator.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fieldIterator.next();
+                    fields.computeIfAbsent(field.getKey(), key -> new PathStats()).add(field.getValue());
+                }
+            } else if (node.isArray()) {
+                arrays++;
+                maxArraySize = Math.max(maxArraySize, node.size());
+                for (JsonNode element : node) {
+                    if (elements == null) {
+                        elements = new PathStats();
+                    }
+                    elements.add(element);
+                }
+            }
+        }
+        
+        String type() {
+            return String.join("|", types);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.trading.explorer.util;
+
+import java.nio.CharBuffer;
+
+/**
+ * KRX 숫자 문자열("1,234,500", "-3.25", "-") 을 고정소수점 long 으로 다룬다.
+ * 값이 없으면 {@link #NULL} 을 돌려준다.
+ */
+public final class KrxNumbers {
+
+    public static final long NULL = Long.MIN_VALUE;
+
+    private static final int MAX_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private KrxNumbers() {
+    }
+
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.length();
+        return length == 0 || (length == 1 && value.charAt(0) == '-');
+    }
+
+    /**
+     * 숫자로 해석할 수 있으면 소수점 이하 자릿수를, 아니면 -1 을 돌려준다.
+     * 앞자리 0 으로 시작하는 값("005930")은 코드로 보고 숫자로 취급하지 않는다.
+     */
+    public static int fractionDigits(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+
+        int digits = 0;
+        int fraction = -1;
+        int integerStart = i;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (c == ',' && fraction < 0 && digits > 0) {
+                continue;
+            } else if (c == '.' && fraction < 0 && digits > 0) {
+                fraction = 0;
+            } else {
+                return -1;
+            }
+        }
+
+        if (digits == 0 || digits > MAX_DIGITS || fraction == 0) {
+            return -1;
+        }
+        if (value.charAt(integerStart) == '0' && integerStart + 1 < length
+                && Character.isDigit(value.charAt(integerStart + 1))) {
+            return -1;
+        }
+        return Math.max(fraction, 0);
+    }
+
+    public static long parseScaled(CharSequence value, int scale) {
+        if (isBlank(value)) {
+            return NULL;
+        }
+        return parseScaled(value, 0, value.length(), scale);
+    }
+
+    /**
+     * @throws NumberFormatException 숫자가 아니거나 스케일을 맞춘 값이 {@value #MAX_DIGITS} 자리를 넘는 경우
+     */
+    public static long parseScaled(CharSequence value, int offset, int length, int scale) {
+        long result = 0;
+        int digits = 0;
+        boolean negative = false;
+        int fraction = -1;
+        int end = offset + length;
+
+        for (int i = offset; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fraction >= 0) {
+                    if (fraction == scale) {
+                        continue; // 스케일을 넘는 자릿수는 버린다
+                    }
+                    fraction++;
+                }
+                if (result != 0 || c != '0') {
+                    digits++;
+                }
+                result = result * 10 + (c - '0');
+            } else if (c == '.') {
+                fraction = 0;
+            } else if (c == '-' && i == offset) {
+                negative = true;
+            } else if (c != ',' && c != '+') {
+                throw new NumberFormatException("Not a KRX number: " + value.subSequence(offset, end));
+            }
+        }
+
+        int missing = scale - Math.max(fraction, 0);
+        // 18 자리까지는 long 에 들어가므로 자릿수만 세어 넘침을 막는다
+        if (digits + Math.max(missing, 0) > MAX_DIGITS) {
+            throw new NumberFormatException("KRX number out of range: " + value.subSequence(offset, end));
+        }
+        if (missing > 0) {
+            result *= POWERS_OF_TEN[missing];
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Jackson 파서의 문자 버퍼({@code getTextCharacters()})에서 바로 읽는다. 중간 String 을 만들지 않는다.
+     */
+    public static long parseScaled(char[] chars, int offset, int length, int scale) {
+        if (length == 0 || (length == 1 && chars[offset] == '-')) {
+            return NULL;
+        }
+        return parseScaled(CharBuffer.wrap(chars), offset, length, scale);
+    }
+
+    public static long pow10(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+}
@@ -0,0 +1,43 @@
+package com.trading.explorer.util;
+
+/**
+ * 파싱하지 않은 KRX 응답 본문에 대한 가벼운 검사.
+ */
+public final class KrxResponses {
+
+    private static final String RECORD_FIELD = "\"OutBlock_1\"";
+
+    private KrxResponses() {
+    }
+
+    /**
+     * {@code OutBlock_1} 이 빈 배열이면 true. 휴장일이거나 KRX 가 아직 게시하지 않은 날의 응답이다.
+     * 필드가 없거나 배열이 아니면 false.
+     */
+    public static boolean hasEmptyRecordBlock(String raw) {
+        if (raw == null) {
+            return false;
+        }
+        int index = raw.indexOf(RECORD_FIELD);
+        if (index < 0) {
+            return false;
+        }
+        index = skipWhitespace(raw, index + RECORD_FIELD.length());
+        if (index >= raw.length() || raw.charAt(index) != ':') {
+            return false;
+        }
+        index = skipWhitespace(raw, index + 1);
+        if (index >= raw.length() || raw.charAt(index) != '[') {
+            return false;
+        }
+        index = skipWhitespace(raw, index + 1);
+        return index < raw.length() && raw.charAt(index) == ']';
+    }
+
+    private static int skipWhitespace(String raw, int index) {
+        while (index < raw.length() && Character.isWhitespace(raw.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,49 @@
+package com.trading.explorer.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * 한 응답을 한 번만 파싱한 결과. 구조 분석과 pretty-print 결과는 처음 요청될 때 채워져 재사용된다.
+ */
+public class ParsedResponse {
+    
+    private final JsonNode root;
+    private final String parseError;
+    private volatile Map<String, Object> structure;
+    private volatile String prettyJson;
+    
+    ParsedResponse(JsonNode root, String parseError) {
+        this.root = root;
+        this.parseError = parseError;
+    }
+    
+    public JsonNode getRoot() {
+        return root;
+    }
+    
+    public boolean isValid() {
+        return root != null && !root.isMissingNode();
+    }
+    
+    String getParseError() {
+        return parseError;
+    }
+    
+    Map<String, Object> getStructure() {
+        return structure;
+    }
+    
+    void setStructure(Map<String, Object> structure) {
+        this.structure = structure;
+    }
+    
+    String getPrettyJson() {
+        return prettyJson;
+    }
+    
+    void setPrettyJson(String prettyJson) {
+        this.prettyJson = prettyJson;
+    }
+}
@@ -0,0 +1,91 @@
+package com.trading.explorer.archive;
+
+import com.trading.explorer.config.KrxApiProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseArchiveTest {
+
+    private static final String API_ID = "stk_bydd_trd";
+
+    @TempDir
+    Path directory;
+
+    private KrxApiProperties properties;
+    private ResponseArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new KrxApiProperties();
+        properties.getArchive().setDirectory(directory.toString());
+        // 압축되지 않는 본문 하나가 세그먼트 하나를 채운다
+        properties.getArchive().setSegmentSize(DataSize.ofBytes(1024));
+        archive = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+    }
+
+    @Test
+    void unindexedSegmentLeftByACrashAfterARollIsDiscarded() throws IOException {
+        byte[] first = body(1);
+        ArchiveEntry stored = archive.store(API_ID, "20240102", 1L, first);
+        archive.close();
+
+        // 새 세그먼트에 본문을 쓰고 인덱스를 쓰기 전에 중단된 상태
+        Path orphan = segment(1);
+        Files.write(orphan, new byte[5000]);
+
+        archive = open();
+        assertThat(orphan).doesNotExist();
+
+        byte[] second = body(2);
+        ArchiveEntry rolled = archive.store(API_ID, "20240103", 2L, second);
+        assertThat(rolled.segment()).isEqualTo(1);
+        assertThat(rolled.offset()).isZero();
+        assertThat(Files.size(segment(1))).isEqualTo(rolled.length());
+        assertThat(archive.read(stored)).isEqualTo(first);
+        assertThat(archive.read(rolled)).isEqualTo(second);
+    }
+
+    @Test
+    void activeSegmentIsTruncatedToTheLastIndexedBody() throws IOException {
+        ArchiveEntry stored = archive.store(API_ID, "20240102", 1L, body(1));
+        archive.close();
+
+        Files.write(segment(0), new byte[100], StandardOpenOption.APPEND);
+
+        archive = open();
+        assertThat(Files.size(segment(0))).isEqualTo(stored.offset() + stored.length());
+    }
+
+    private ResponseArchive open() throws IOException {
+        ResponseArchive opened = new ResponseArchive(properties);
+        opened.open();
+        return opened;
+    }
+
+    private Path segment(int segment) {
+        return directory.resolve("segments").resolve(String.format(Locale.ROOT, "%06d.gz", segment));
+    }
+
+    private static byte[] body(long seed) {
+        byte[] body = new byte[600];
+        new Random(seed).nextBytes(body);
+        return body;
+    }
+}
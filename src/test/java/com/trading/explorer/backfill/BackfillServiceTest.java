@@ -0,0 +1,208 @@
+package com.trading.explorer.backfill;
+
+import com.trading.explorer.calendar.KrxTradingCalendar;
+import com.trading.explorer.client.KrxApiClient;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.cluster.ClusterCoordinator;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.persistence.ResponsePersistenceService;
+import com.trading.explorer.persistence.ResponseSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackfillServiceTest {
+
+    private static final String API_ID = "stk_bydd_trd";
+    private static final String ROWS = "{\"OutBlock_1\":[{\"ISU_CD\":\"KR7005930003\",\"TDD_CLSPRC\":\"70,000\"}]}";
+    private static final String NO_ROWS = "{\"OutBlock_1\": [ ]}";
+
+    @TempDir
+    Path directory;
+
+    private KrxApiProperties properties;
+    private KrxApiClient client;
+    private ClusterCoordinator cluster;
+    private RecordingSink sink;
+    private ResponsePersistenceService persistence;
+    private BackfillCheckpointStore checkpoints;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KrxApiProperties();
+        KrxApiProperties.ApiDefinition api = new KrxApiProperties.ApiDefinition();
+        api.setId(API_ID);
+        properties.setApis(Map.of("stock", List.of(api)));
+        properties.getBackfill().setDirectory(directory.resolve("backfill").toString());
+        properties.getBackfill().setParallelism(1);
+
+        client = mock(KrxApiClient.class);
+        cluster = mock(ClusterCoordinator.class);
+        when(cluster.claim(anyString(), anyString(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2));
+
+        sink = new RecordingSink();
+        persistence = new ResponsePersistenceService(properties, List.of(sink), new SimpleMeterRegistry());
+        persistence.start();
+        checkpoints = new BackfillCheckpointStore(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sink.gate.countDown();
+        persistence.stop();
+        checkpoints.close();
+    }
+
+    @Test
+    void checkpointIsWrittenOnlyAfterTheSinkBatch() throws Exception {
+        BackfillService service = newService(checkpoints);
+        LocalDate day = LocalDate.of(2024, 1, 2);
+        BackfillJob job = job(day, day);
+        sink.gate = new CountDownLatch(1);
+
+        CompletableFuture<Void> recorded = service.record(job, new BackfillService.Unit(API_ID, day), success(ROWS))
+                .toFuture();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sink.writing);
+        assertThat(checkpoints.isDone(API_ID, day)).isFalse();
+
+        sink.gate.countDown();
+        recorded.get(5, TimeUnit.SECONDS);
+        assertThat(checkpoints.isDone(API_ID, day)).isTrue();
+        assertThat(job.getCompleted()).hasValue(1);
+    }
+
+    @Test
+    void failedSinkWriteLeavesTheDayForTheNextRun() {
+        BackfillService service = newService(checkpoints);
+        LocalDate day = LocalDate.of(2024, 1, 2);
+        BackfillJob job = job(day, day);
+        sink.fail = true;
+
+        service.record(job, new BackfillService.Unit(API_ID, day), success(ROWS)).block(Duration.ofSeconds(5));
+
+        assertThat(checkpoints.isDone(API_ID, day)).isFalse();
+        assertThat(job.getFailed()).hasValue(1);
+        assertThat(job.getLastError()).contains("disk full");
+    }
+
+    @Test
+    void emptyRecordBlockIsNotCheckpointed() {
+        BackfillService service = newService(checkpoints);
+        LocalDate day = LocalDate.of(2024, 1, 2);
+        BackfillJob job = job(day, day);
+
+        service.record(job, new BackfillService.Unit(API_ID, day), success(NO_ROWS)).block(Duration.ofSeconds(5));
+
+        assertThat(checkpoints.isDone(API_ID, day)).isFalse();
+        assertThat(job.getEmpty()).hasValue(1);
+        assertThat(job.getCompleted()).hasValue(0);
+        assertThat(sink.written).isEmpty();
+    }
+
+    @Test
+    void resumedRunSkipsCheckpointedDays() throws IOException {
+        when(client.callApiUncached(eq(API_ID), anyMap()))
+                .thenAnswer(invocation -> Mono.just(success(ROWS)));
+        BackfillRequest request = request("20240102", "20240105");
+
+        BackfillJob first = newService(checkpoints).start(request);
+        await().atMost(Duration.ofSeconds(10)).until(() -> first.getStatus() != BackfillJob.Status.RUNNING);
+        assertThat(first.getStatus()).isEqualTo(BackfillJob.Status.COMPLETED);
+        assertThat(first.getCompleted()).hasValue(4);
+        checkpoints.close();
+
+        // 재시작: 체크포인트 파일만 다시 읽는다
+        BackfillCheckpointStore reloaded = new BackfillCheckpointStore(properties);
+        reloaded.load();
+        BackfillJob second = newService(reloaded).start(request);
+        await().atMost(Duration.ofSeconds(10)).until(() -> second.getStatus() != BackfillJob.Status.RUNNING);
+        reloaded.close();
+
+        assertThat(second.getStatus()).isEqualTo(BackfillJob.Status.COMPLETED);
+        assertThat(second.getSkipped()).hasValue(4);
+        assertThat(second.getCompleted()).hasValue(0);
+        verify(client, times(4)).callApiUncached(eq(API_ID), anyMap());
+    }
+
+    @Test
+    void missingOrMalformedDatesAreRejected() {
+        BackfillService service = newService(checkpoints);
+
+        assertThatThrownBy(() -> service.start(request(null, "20240105")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("from");
+        assertThatThrownBy(() -> service.start(request("2024-01-02", "20240105")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("yyyyMMdd");
+    }
+
+    private BackfillService newService(BackfillCheckpointStore store) {
+        return new BackfillService(client, properties, new KrxTradingCalendar(properties), store, persistence, cluster);
+    }
+
+    private static BackfillJob job(LocalDate from, LocalDate to) {
+        return new BackfillJob("test", List.of(API_ID), from, to, 1, LocalDateTime.now());
+    }
+
+    private static BackfillRequest request(String from, String to) {
+        BackfillRequest request = new BackfillRequest();
+        request.setApiIds(List.of(API_ID));
+        request.setFrom(from);
+        request.setTo(to);
+        return request;
+    }
+
+    private static ApiResponse success(String body) {
+        return ApiResponse.success(API_ID, body, 1);
+    }
+
+    private static final class RecordingSink implements ResponseSink {
+
+        private final List<ApiResponse> written = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean writing;
+        private volatile boolean fail;
+
+        @Override
+        public void write(List<ApiResponse> batch) throws IOException {
+            writing = true;
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                throw new IOException("disk full");
+            }
+            written.addAll(batch);
+        }
+    }
+}
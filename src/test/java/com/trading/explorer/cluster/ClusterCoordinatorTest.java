@@ -0,0 +1,124 @@
+package com.trading.explorer.cluster;
+
+import com.trading.explorer.config.KrxApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ClusterCoordinatorTest {
+
+    private static final String UNIT = "stk_bydd_trd_20240102";
+    private static final Duration SHORT_TTL = Duration.ofMillis(50);
+
+    @TempDir
+    Path directory;
+
+    private KrxApiProperties properties;
+    private FileLeaseStore store;
+    private ClusterCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KrxApiProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setDirectory(directory.toString());
+        properties.getCluster().setNodeId("node-a");
+        store = new FileLeaseStore(properties);
+    }
+
+    @Test
+    void staleOwnerCannotCompleteOrReleaseATakenOverLease() throws InterruptedException {
+        Lease stale = store.tryAcquire(UNIT, "node-a", SHORT_TTL).orElseThrow();
+        Thread.sleep(SHORT_TTL.toMillis() * 2);
+        Lease takeover = store.tryAcquire(UNIT, "node-b", Duration.ofMinutes(1)).orElseThrow();
+
+        assertThat(store.complete(stale)).isFalse();
+        assertThat(store.release(stale)).isFalse();
+        assertThat(store.renew(stale, Duration.ofMinutes(1))).isEmpty();
+        assertThat(store.isDone(UNIT)).isFalse();
+
+        // 넘겨받은 쪽의 임대는 그대로 남아 있어 갱신/완료할 수 있다
+        Lease renewed = store.renew(takeover, Duration.ofMinutes(1)).orElseThrow();
+        assertThat(store.complete(renewed)).isTrue();
+        assertThat(store.isDone(UNIT)).isTrue();
+    }
+
+    @Test
+    void reacquiredLeaseOfTheSameOwnerIsANewGeneration() throws InterruptedException {
+        Lease first = store.tryAcquire(UNIT, "node-a", SHORT_TTL).orElseThrow();
+        Thread.sleep(SHORT_TTL.toMillis() * 2);
+        Lease second = store.tryAcquire(UNIT, "node-a", Duration.ofMinutes(1)).orElseThrow();
+
+        assertThat(store.complete(first)).isFalse();
+        assertThat(store.isDone(UNIT)).isFalse();
+        assertThat(store.complete(second)).isTrue();
+    }
+
+    @Test
+    void heartbeatDropsALostLeaseAndCancelsItsWork() {
+        properties.getCluster().setLeaseTtl(SHORT_TTL);
+        coordinator = new ClusterCoordinator(properties, store);
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Optional<String>> result = coordinator
+                .claim("stk_bydd_trd", "20240102", Mono.<String>never().doOnCancel(() -> cancelled.set(true)),
+                        value -> true)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture();
+        await().atMost(Duration.ofSeconds(5)).until(() -> heldLeases().contains(UNIT));
+
+        // 이 노드가 멈춘 사이 임대가 만료되어 다른 노드가 넘겨받는다
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> store.tryAcquire(UNIT, "node-b", Duration.ofMinutes(1)).isPresent());
+        coordinator.heartbeat();
+
+        await().atMost(Duration.ofSeconds(5)).untilTrue(cancelled);
+        assertThat(result).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(Optional.empty());
+        assertThat(heldLeases()).isEmpty();
+        assertThat(coordinator.getStats()).containsEntry("lostLeases", 1L);
+        assertThat(store.isDone(UNIT)).isFalse();
+    }
+
+    @Test
+    void workFinishedAfterATakeoverIsNotMarkedDone() throws InterruptedException {
+        properties.getCluster().setLeaseTtl(SHORT_TTL);
+        coordinator = new ClusterCoordinator(properties, store);
+
+        CompletableFuture<String> gate = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> result = coordinator
+                .claim("stk_bydd_trd", "20240102", Mono.fromFuture(gate), value -> true)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture();
+        await().atMost(Duration.ofSeconds(5)).until(() -> heldLeases().contains(UNIT));
+
+        Thread.sleep(SHORT_TTL.toMillis() * 2);
+        Lease takeover = store.tryAcquire(UNIT, "node-b", Duration.ofMinutes(1)).orElseThrow();
+        gate.complete("rows");
+
+        assertThat(result).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(Optional.of("rows"));
+        assertThat(store.isDone(UNIT)).isFalse();
+        assertThat(coordinator.getStats()).containsEntry("lostLeases", 1L);
+        assertThat(store.renew(takeover, Duration.ofMinutes(1))).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> heldLeases() {
+        Map<String, Object> stats = coordinator.getStats();
+        return (Set<String>) stats.get("heldLeases");
+    }
+}
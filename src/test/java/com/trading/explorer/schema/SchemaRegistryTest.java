@@ -0,0 +1,123 @@
+package com.trading.explorer.schema;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.util.JsonFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SchemaRegistryTest {
+
+    private static final String API_ID = "stk_bydd_trd";
+    private static final String TWO_ROWS = "{\"OutBlock_1\":["
+            + "{\"ISU_CD\":\"KR7005930003\",\"TDD_CLSPRC\":\"70,000\"},"
+            + "{\"ISU_CD\":\"KR7000660001\",\"TDD_CLSPRC\":\"130,000\"}]}";
+    private static final String THREE_ROWS = "{\"OutBlock_1\":["
+            + "{\"ISU_CD\":\"KR7035420009\",\"TDD_CLSPRC\":\"200,000\"},"
+            + "{\"ISU_CD\":\"KR7005380001\",\"TDD_CLSPRC\":\"250,000\"},"
+            + "{\"ISU_CD\":\"KR7051910008\",\"TDD_CLSPRC\":\"1,400,000\"}]}";
+    private static final String WITH_SECTOR = "{\"OutBlock_1\":["
+            + "{\"ISU_CD\":\"KR7005930003\",\"TDD_CLSPRC\":\"70,000\",\"SECT_TP_NM\":\"우량기업부\"},"
+            + "{\"ISU_CD\":\"KR7000660001\",\"TDD_CLSPRC\":\"130,000\"}]}";
+
+    @TempDir
+    Path directory;
+
+    private KrxApiProperties properties;
+    private ApplicationEventPublisher eventPublisher;
+    private SchemaRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KrxApiProperties();
+        properties.getSchema().setDirectory(directory.toString());
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        registry = new SchemaRegistry(properties, new JsonFormatter(), eventPublisher,
+                new KrxMetrics(new SimpleMeterRegistry(), properties));
+    }
+
+    @Test
+    void sameShapeIsACacheHitButStatsComeFromEachResponse() {
+        Map<String, Object> first = registry.analyze(success("20240102", TWO_ROWS));
+        Map<String, Object> second = registry.analyze(success("20240103", THREE_ROWS));
+
+        assertThat(second.get("fingerprint")).isEqualTo(first.get("fingerprint"));
+        assertThat(registry.getStats())
+                .containsEntry("hits", 1L)
+                .containsEntry("misses", 1L);
+
+        assertThat(field(first, "ISU_CD"))
+                .containsEntry("presentCount", 2)
+                .containsEntry("sampleValue", "KR7005930003");
+        assertThat(field(second, "ISU_CD"))
+                .containsEntry("presentCount", 3)
+                .containsEntry("sampleValue", "KR7035420009");
+        assertThat(field(second, "TDD_CLSPRC")).containsEntry("length", 9);
+        assertThat(rows(second)).containsEntry("arraySize", 3);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void newFieldIsADriftAndIsReportedAsOptional() {
+        registry.analyze(success("20240102", TWO_ROWS));
+        Map<String, Object> analysis = registry.analyze(success("20240103", WITH_SECTOR));
+
+        assertThat(field(analysis, "SECT_TP_NM"))
+                .containsEntry("presentCount", 1)
+                .containsEntry("optional", true);
+        assertThat(field(analysis, "ISU_CD")).containsEntry("optional", false);
+        assertThat(registry.getDrifts(API_ID)).singleElement()
+                .satisfies(drift -> assertThat(drift.added()).containsExactly("OutBlock_1[].SECT_TP_NM"));
+        verify(eventPublisher, times(1)).publishEvent(any(SchemaDriftEvent.class));
+
+        // 전에 본 형태로 돌아오면 캐시 적중이고 변화로 치지 않는다
+        registry.analyze(success("20240104", THREE_ROWS));
+        assertThat(registry.getStats()).containsEntry("hits", 1L);
+        assertThat(registry.getDrifts(API_ID)).hasSize(1);
+    }
+
+    @Test
+    void rootArrayKeepsTheFirstElementFieldsKey() {
+        Map<String, Object> analysis = registry.analyze(success("20240102",
+                "[{\"ISU_CD\":\"KR7005930003\"},{\"ISU_CD\":\"KR7000660001\",\"MKT_NM\":\"KOSPI\"}]"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> arrayInfo = (Map<String, Object>) ((Map<String, Object>) analysis.get("fields")).get("arrayInfo");
+        assertThat(arrayInfo)
+                .containsEntry("size", 2)
+                .containsEntry("elementType", "object")
+                .containsKey("firstElementFields");
+    }
+
+    private static ApiResponse success(String bizDate, String body) {
+        ApiResponse response = ApiResponse.success(API_ID, body, 1);
+        response.setBizDate(bizDate);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> rows(Map<String, Object> analysis) {
+        Map<String, Object> fields = (Map<String, Object>) analysis.get("fields");
+        return (Map<String, Object>) fields.get("OutBlock_1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> field(Map<String, Object> analysis, String name) {
+        Map<String, Object> elementFields = (Map<String, Object>) rows(analysis).get("elementFields");
+        return (Map<String, Object>) elementFields.get(name);
+    }
+}
@@ -0,0 +1,105 @@
+package com.trading.explorer.service;
+
+import com.trading.explorer.archive.ArchiveTee;
+import com.trading.explorer.client.KrxApiClient;
+import com.trading.explorer.client.KrxResponseCache;
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.client.resilience.KrxResilience;
+import com.trading.explorer.client.throttle.KrxRequestThrottle;
+import com.trading.explorer.client.transport.KrxTransportMetrics;
+import com.trading.explorer.config.KrxApiProperties;
+import com.trading.explorer.metrics.KrxMetrics;
+import com.trading.explorer.persistence.ResponsePersistenceService;
+import com.trading.explorer.record.KrxRecordDecoders;
+import com.trading.explorer.schema.SchemaRegistry;
+import com.trading.explorer.util.JsonFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiExplorerServiceTest {
+
+    private static final int API_COUNT = 400;
+    private static final String ROWS = "{\"OutBlock_1\":[{\"ISU_CD\":\"KR7005930003\",\"TDD_CLSPRC\":\"70,000\"}]}";
+
+    private KrxApiProperties properties;
+    private KrxApiClient client;
+    private ApiExplorerService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KrxApiProperties();
+        List<KrxApiProperties.ApiDefinition> apis = new ArrayList<>();
+        for (int i = 0; i < API_COUNT; i++) {
+            KrxApiProperties.ApiDefinition api = new KrxApiProperties.ApiDefinition();
+            api.setId("api_" + i);
+            api.setName("API " + i);
+            api.setCategory("stock");
+            apis.add(api);
+        }
+        properties.setApis(Map.of("stock", apis));
+
+        client = mock(KrxApiClient.class);
+        ResponsePersistenceService persistence = mock(ResponsePersistenceService.class);
+        when(persistence.enqueue(any())).thenReturn(Mono.just(true));
+        SchemaRegistry schemaRegistry = mock(SchemaRegistry.class);
+        when(schemaRegistry.analyze(any())).thenReturn(Map.of());
+
+        service = new ApiExplorerService(client, mock(KrxResponseCache.class), mock(KrxRequestThrottle.class),
+                mock(KrxTransportMetrics.class), properties, new JsonFormatter(), persistence,
+                new KrxMetrics(new SimpleMeterRegistry(), properties), mock(KrxRecordDecoders.class),
+                mock(ArchiveTee.class), mock(KrxResilience.class), schemaRegistry);
+    }
+
+    @Test
+    void streamingSummaryCountsEveryResultWhenResponsesArriveConcurrently() {
+        // 응답마다 다른 boundedElastic 스레드에서 완료되어 flatMap 안의 요약 갱신이 겹친다
+        when(client.callApiWithDefaultDate(anyString())).thenAnswer(invocation -> {
+            String apiId = invocation.getArgument(0);
+            int index = Integer.parseInt(apiId.substring("api_".length()));
+            ApiResponse response = index % 4 == 0
+                    ? ApiResponse.failure(apiId, "boom", 500, 1)
+                    : ApiResponse.success(apiId, ROWS, 1);
+            return Mono.just(response).publishOn(Schedulers.boundedElastic());
+        });
+
+        List<Map<String, Object>> events = service.streamAllApis()
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(events).hasSize(API_COUNT + 1);
+        assertThat(events.subList(0, API_COUNT)).allSatisfy(event -> assertThat(event).containsEntry("type", "result"));
+
+        Map<String, Object> summary = events.get(API_COUNT);
+        assertThat(summary)
+                .containsEntry("type", "summary")
+                .containsEntry("totalApis", API_COUNT)
+                .containsEntry("total", (long) API_COUNT)
+                .containsEntry("success", (long) API_COUNT * 3 / 4)
+                .containsEntry("failure", (long) API_COUNT / 4)
+                .containsEntry("successRate", 0.75);
+    }
+
+    @Test
+    void emptyCategoryStreamsAnErrorInsteadOfASummary() {
+        List<Map<String, Object>> events = service.streamByCategory("bond")
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(events).singleElement()
+                .satisfies(event -> assertThat(event).containsEntry("type", "error"));
+    }
+}
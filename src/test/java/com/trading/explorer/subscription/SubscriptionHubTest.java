@@ -0,0 +1,161 @@
+package com.trading.explorer.subscription;
+
+import com.trading.explorer.client.dto.ApiResponse;
+import com.trading.explorer.config.KrxApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SubscriptionHubTest {
+
+    private static final String API_ID = "stk_bydd_trd";
+
+    private KrxApiProperties properties;
+    private SubscriptionHub hub;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KrxApiProperties();
+        properties.getSubscription().setBufferSize(4);
+        hub = new SubscriptionHub(properties);
+    }
+
+    @Test
+    void reservationsNeverExceedTheLimitUnderContention() throws InterruptedException {
+        properties.getSubscription().setMaxSubscribers(100);
+        int threads = 8;
+        int attempts = 1000;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < attempts; j++) {
+                    if (hub.tryReserve()) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved).hasValue(100);
+        assertThat(hub.getStats())
+                .containsEntry("subscribers", 100)
+                .containsEntry("rejected", (long) threads * attempts - 100);
+    }
+
+    @Test
+    void finishedSessionGivesItsReservationBack() {
+        properties.getSubscription().setMaxSubscribers(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        Disposable session = hub.withReservation(() -> {
+            hub.subscribe(SubscriptionFilter.parse(null, null), KrxApiProperties.SubscriberOverflow.LATEST)
+                    .subscribe(subscriber);
+            return Mono.never();
+        }, Mono::empty).subscribe();
+        assertThat(hub.getStats()).containsEntry("subscribers", 1);
+
+        AtomicBoolean rejected = new AtomicBoolean();
+        hub.withReservation(Mono::empty, () -> Mono.fromRunnable(() -> rejected.set(true))).block();
+        assertThat(rejected).isTrue();
+
+        session.dispose();
+        subscriber.dispose();
+        assertThat(hub.getStats()).containsEntry("subscribers", 0);
+    }
+
+    @Test
+    void reservationIsReturnedWhenTheEventStreamIsNeverSubscribed() {
+        properties.getSubscription().setMaxSubscribers(1);
+        // 응답을 쓰기 전에 연결이 끊긴 경우: 이벤트 Flux 는 만들어지기만 하고 구독되지 않는다
+        hub.withReservation(() -> {
+            hub.subscribe(SubscriptionFilter.parse(null, null), KrxApiProperties.SubscriberOverflow.LATEST);
+            return Mono.empty();
+        }, Mono::empty).block();
+        assertThat(hub.getStats()).containsEntry("subscribers", 0);
+
+        hub.withReservation(() -> Mono.error(new IllegalStateException("closed")), Mono::empty)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        assertThat(hub.getStats()).containsEntry("subscribers", 0);
+
+        // 구독하지 않으면 자리를 잡지 않는다
+        hub.withReservation(Mono::never, Mono::empty);
+        assertThat(hub.getStats()).containsEntry("subscribers", 0);
+    }
+
+    @Test
+    void slowSubscriberKeepsOnlyTheLatestEvents() {
+        RecordingSubscriber subscriber = subscribe(KrxApiProperties.SubscriberOverflow.LATEST);
+        publishDays(10);
+
+        subscriber.request(10);
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.sequences.size() == 4);
+        assertThat(subscriber.sequences).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(hub.getStats()).containsEntry("dropped", 6L);
+        subscriber.dispose();
+    }
+
+    @Test
+    void slowSubscriberWithDropKeepsTheOldestEvents() {
+        RecordingSubscriber subscriber = subscribe(KrxApiProperties.SubscriberOverflow.DROP);
+        publishDays(10);
+
+        subscriber.request(10);
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.sequences.size() == 4);
+        assertThat(subscriber.sequences).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(hub.getStats()).containsEntry("dropped", 6L);
+        subscriber.dispose();
+    }
+
+    private RecordingSubscriber subscribe(KrxApiProperties.SubscriberOverflow overflow) {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        hub.subscribe(SubscriptionFilter.parse(null, null), overflow).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void publishDays(int days) {
+        for (int day = 1; day <= days; day++) {
+            ApiResponse response = ApiResponse.success(API_ID, "{\"OutBlock_1\":[{\"ISU_CD\":\"" + day + "\"}]}", 1);
+            response.setBizDate(String.format(Locale.ROOT, "202401%02d", day));
+            hub.publish(response);
+        }
+    }
+
+    /** 처음에는 아무것도 요청하지 않는 느린 구독자 */
+    private static final class RecordingSubscriber extends BaseSubscriber<CollectedEvent> {
+
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(CollectedEvent event) {
+            sequences.add(event.getSequence());
+        }
+    }
+}